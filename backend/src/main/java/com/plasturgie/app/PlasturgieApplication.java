@@ -8,6 +8,7 @@ import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.util.Arrays;
 
@@ -15,6 +16,7 @@ import java.util.Arrays;
 @EntityScan("com.plasturgie.app.model")
 @EnableJpaRepositories("com.plasturgie.app.repository")
 @EnableJpaAuditing
+@EnableScheduling
 public class PlasturgieApplication {
     
     private static final Logger logger = LoggerFactory.getLogger(PlasturgieApplication.class);
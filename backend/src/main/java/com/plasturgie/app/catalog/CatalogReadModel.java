@@ -0,0 +1,156 @@
+package com.plasturgie.app.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plasturgie.app.dto.CourseListDTO;
+import com.plasturgie.app.dto.InstructorListDTO;
+import com.plasturgie.app.event.CourseChangedEvent;
+import com.plasturgie.app.event.SearchableEntityChangedEvent;
+import com.plasturgie.app.exception.ResourceNotFoundException;
+import com.plasturgie.app.model.enums.SearchDocumentType;
+import com.plasturgie.app.service.CourseService;
+import com.plasturgie.app.service.InstructorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serves the public catalog reads (course list and details, instructor list and details) from a
+ * {@link CatalogSnapshot} held in memory, so they never touch the database. Writers build a new
+ * snapshot and swap it in: after a service commits a change to a course (or to what its listing shows)
+ * or to an instructor, only the affected entries are re-read. Updates are serialized; reads only load
+ * the volatile reference. A periodic full rebuild picks up changes made outside the services.
+ * <p>
+ * The full course and instructor lists are also kept as {@link PrerenderedJson}, rendered on the first
+ * request after the snapshot version changes, so serving them costs no serialization at all.
+ */
+@Component
+public class CatalogReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogReadModel.class);
+
+    private final CourseService courseService;
+    private final InstructorService instructorService;
+    private final ObjectMapper objectMapper;
+
+    private volatile CatalogSnapshot snapshot;
+    private long lastVersion; // guarded by this
+    private final AtomicReference<PrerenderedJson> coursesJson = new AtomicReference<>();
+    private final AtomicReference<PrerenderedJson> instructorsJson = new AtomicReference<>();
+
+    @Autowired
+    public CatalogReadModel(CourseService courseService, InstructorService instructorService, ObjectMapper objectMapper) {
+        this.courseService = courseService;
+        this.instructorService = instructorService;
+        this.objectMapper = objectMapper;
+    }
+
+    public CatalogSnapshot current() {
+        CatalogSnapshot current = snapshot;
+        // Only before the first load, e.g. a request served while the application is still starting
+        return current != null ? current : rebuild();
+    }
+
+    public PrerenderedJson coursesJson() {
+        CatalogSnapshot current = current();
+        return rendered(coursesJson, "courses", current.getVersion(), current.getCourses());
+    }
+
+    public PrerenderedJson instructorsJson() {
+        CatalogSnapshot current = current();
+        return rendered(instructorsJson, "instructors", current.getVersion(), current.getInstructors());
+    }
+
+    // Requests arriving together after a change wait for a single rendering instead of each doing it
+    private PrerenderedJson rendered(AtomicReference<PrerenderedJson> cache, String name, long version, Object value) {
+        PrerenderedJson cached = cache.get();
+        if (cached != null && cached.getVersion() >= version) {
+            return cached;
+        }
+        synchronized (cache) {
+            cached = cache.get();
+            if (cached != null && cached.getVersion() >= version) {
+                return cached;
+            }
+            PrerenderedJson json = PrerenderedJson.render(objectMapper, name, version, value);
+            cache.set(json);
+            return json;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.snapshot.full-rebuild-interval-ms:3600000}",
+               initialDelayString = "${app.catalog.snapshot.full-rebuild-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    public synchronized CatalogSnapshot rebuild() {
+        long start = System.currentTimeMillis();
+        CatalogSnapshot rebuilt = CatalogSnapshot.of(++lastVersion, courseService.getAllCoursesForList(),
+                instructorService.getAllInstructorsForList());
+        snapshot = rebuilt;
+        logger.info("Catalog snapshot v{} built with {} courses and {} instructors in {} ms", rebuilt.getVersion(),
+                rebuilt.getCourses().size(), rebuilt.getInstructors().size(), System.currentTimeMillis() - start);
+        return rebuilt;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public synchronized void onCourseChanged(CourseChangedEvent event) {
+        if (snapshot != null) {
+            refreshCourses(Collections.singletonList(event.getCourseId()));
+        }
+    }
+
+    // Instructor names and ratings are shown in the listings of their courses too
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public synchronized void onEntityChanged(SearchableEntityChangedEvent event) {
+        if (snapshot == null || event.getType() != SearchDocumentType.INSTRUCTOR) {
+            return;
+        }
+        Long instructorId = event.getId();
+        InstructorListDTO instructor;
+        try {
+            instructor = instructorService.getInstructorListDTOById(instructorId);
+        } catch (ResourceNotFoundException e) {
+            instructor = null;
+        }
+        snapshot = snapshot.withInstructors(++lastVersion, Collections.singletonMap(instructorId, instructor));
+
+        List<Long> courseIds = new ArrayList<>();
+        for (CourseListDTO course : snapshot.getCourses()) {
+            if (course.getInstructors().stream().anyMatch(taught -> instructorId.equals(taught.getInstructorId()))) {
+                courseIds.add(course.getCourseId());
+            }
+        }
+        if (!courseIds.isEmpty()) {
+            refreshCourses(courseIds);
+        }
+    }
+
+    private void refreshCourses(List<Long> courseIds) {
+        Map<Long, CourseListDTO> changes = new HashMap<>();
+        courseIds.forEach(courseId -> changes.put(courseId, null));
+        courseService.getCoursesForListByIds(courseIds).forEach(course -> changes.put(course.getCourseId(), course));
+        snapshot = snapshot.withCourses(++lastVersion, changes);
+    }
+}
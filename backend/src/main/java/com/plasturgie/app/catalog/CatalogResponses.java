@@ -0,0 +1,111 @@
+package com.plasturgie.app.catalog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Serves a {@link PrerenderedJson} as raw bytes: picks the encoding from Accept-Encoding (gzip, then
+ * deflate, then identity), tags it with the catalog version and answers a matching If-None-Match with
+ * 304 Not Modified. Clients must revalidate, so a changed catalog is visible on the next request.
+ */
+public final class CatalogResponses {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogResponses.class);
+
+    private static final String GZIP = "gzip";
+    private static final String DEFLATE = "deflate";
+
+    private CatalogResponses() {
+    }
+
+    public static ResponseEntity<byte[]> json(PrerenderedJson json, HttpHeaders requestHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(CacheControl.noCache());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+
+        String acceptEncoding = requestHeaders.getFirst(HttpHeaders.ACCEPT_ENCODING);
+        String encoding = accepts(acceptEncoding, GZIP) ? GZIP : accepts(acceptEncoding, DEFLATE) ? DEFLATE : null;
+        headers.setETag("\"" + json.getEtagBase() + (encoding != null ? "-" + encoding : "") + "\"");
+
+        if (notModified(json, requestHeaders)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = json.getIdentity();
+        if (GZIP.equals(encoding)) {
+            body = json.getGzip();
+        } else if (DEFLATE.equals(encoding)) {
+            body = json.getDeflate();
+        }
+        if (encoding != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        headers.setContentLength(body.length);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    // Any encoding of the same catalog version matches: the client already has that content
+    private static boolean notModified(PrerenderedJson json, HttpHeaders requestHeaders) {
+        List<String> ifNoneMatch;
+        try {
+            ifNoneMatch = requestHeaders.getIfNoneMatch();
+        } catch (IllegalArgumentException e) {
+            logger.debug("Ignoring malformed If-None-Match header: {}", e.getMessage());
+            return false;
+        }
+        for (String candidate : ifNoneMatch) {
+            String tag = candidate.trim();
+            if ("*".equals(tag)) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            tag = tag.replace("\"", "");
+            if (tag.equals(json.getEtagBase()) || tag.equals(json.getEtagBase() + "-" + GZIP)
+                    || tag.equals(json.getEtagBase() + "-" + DEFLATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // RFC 7231 5.3.4: a coding is acceptable if listed (or matched by "*") with a non-zero q value
+    private static boolean accepts(String acceptEncoding, String coding) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return false;
+        }
+        Double wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.trim().split(";");
+            String name = params[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals(coding)) {
+                return quality > 0;
+            }
+            if (name.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        return wildcard != null && wildcard > 0;
+    }
+}
@@ -0,0 +1,102 @@
+package com.plasturgie.app.catalog;
+
+import com.plasturgie.app.dto.CourseListDTO;
+import com.plasturgie.app.dto.InstructorListDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the public catalog: every course listing (newest first) and every instructor, with
+ * lookups by id. A change produces a new snapshot with a higher version; readers keep the one they got.
+ * The DTOs are shared by all readers and must not be modified.
+ */
+public final class CatalogSnapshot {
+
+    private static final Comparator<CourseListDTO> NEWEST_FIRST = Comparator
+            .comparing(CourseListDTO::getCreatedAt, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+            .thenComparing(CourseListDTO::getCourseId, Comparator.reverseOrder());
+    private static final Comparator<InstructorListDTO> BY_ID = Comparator.comparing(InstructorListDTO::getId);
+
+    private final long version;
+    private final List<CourseListDTO> courses;
+    private final Map<Long, CourseListDTO> coursesById;
+    private final List<InstructorListDTO> instructors;
+    private final Map<Long, InstructorListDTO> instructorsById;
+
+    private CatalogSnapshot(long version, Map<Long, CourseListDTO> coursesById, Map<Long, InstructorListDTO> instructorsById) {
+        this.version = version;
+        this.coursesById = Collections.unmodifiableMap(coursesById);
+        this.instructorsById = Collections.unmodifiableMap(instructorsById);
+        List<CourseListDTO> sortedCourses = new ArrayList<>(coursesById.values());
+        sortedCourses.sort(NEWEST_FIRST);
+        this.courses = Collections.unmodifiableList(sortedCourses);
+        List<InstructorListDTO> sortedInstructors = new ArrayList<>(instructorsById.values());
+        sortedInstructors.sort(BY_ID);
+        this.instructors = Collections.unmodifiableList(sortedInstructors);
+    }
+
+    static CatalogSnapshot of(long version, Collection<CourseListDTO> courses, Collection<InstructorListDTO> instructors) {
+        Map<Long, CourseListDTO> coursesById = new HashMap<>();
+        courses.forEach(course -> coursesById.put(course.getCourseId(), course));
+        Map<Long, InstructorListDTO> instructorsById = new HashMap<>();
+        instructors.forEach(instructor -> instructorsById.put(instructor.getId(), instructor));
+        return new CatalogSnapshot(version, coursesById, instructorsById);
+    }
+
+    /**
+     * @param changes course id -> new listing, or null when the course no longer exists
+     */
+    CatalogSnapshot withCourses(long version, Map<Long, CourseListDTO> changes) {
+        Map<Long, CourseListDTO> updated = new HashMap<>(coursesById);
+        applyChanges(updated, changes);
+        return new CatalogSnapshot(version, updated, instructorsById);
+    }
+
+    /**
+     * @param changes instructor id -> new listing, or null when the instructor no longer exists
+     */
+    CatalogSnapshot withInstructors(long version, Map<Long, InstructorListDTO> changes) {
+        Map<Long, InstructorListDTO> updated = new HashMap<>(instructorsById);
+        applyChanges(updated, changes);
+        return new CatalogSnapshot(version, coursesById, updated);
+    }
+
+    private static <T> void applyChanges(Map<Long, T> target, Map<Long, T> changes) {
+        changes.forEach((id, value) -> {
+            if (value == null) {
+                target.remove(id);
+            } else {
+                target.put(id, value);
+            }
+        });
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<CourseListDTO> getCourses() {
+        return courses;
+    }
+
+    // null when there is no such course
+    public CourseListDTO getCourse(Long courseId) {
+        return coursesById.get(courseId);
+    }
+
+    public List<InstructorListDTO> getInstructors() {
+        return instructors;
+    }
+
+    // null when there is no such instructor
+    public InstructorListDTO getInstructor(Long instructorId) {
+        return instructorsById.get(instructorId);
+    }
+}
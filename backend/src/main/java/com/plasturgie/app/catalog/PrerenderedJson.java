@@ -0,0 +1,105 @@
+package com.plasturgie.app.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A JSON response body rendered once, together with its gzip and deflate encodings, for one version
+ * of the catalog. Compression runs at the highest level since its cost is paid once per version
+ * rather than per request. The entity tag is derived from the content, so it stays valid across
+ * restarts and is the same on every instance serving the same catalog.
+ */
+public final class PrerenderedJson {
+
+    private final long version;
+    private final String etagBase;
+    private final byte[] identity;
+    private final byte[] gzip;
+    private final byte[] deflate;
+
+    private PrerenderedJson(long version, String etagBase, byte[] identity, byte[] gzip, byte[] deflate) {
+        this.version = version;
+        this.etagBase = etagBase;
+        this.identity = identity;
+        this.gzip = gzip;
+        this.deflate = deflate;
+    }
+
+    /**
+     * @param name identifies the resource in the entity tag, e.g. "courses"
+     */
+    static PrerenderedJson render(ObjectMapper objectMapper, String name, long version, Object value) {
+        byte[] identity;
+        try {
+            identity = objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render " + name + " of catalog version " + version, e);
+        }
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream(identity.length / 4 + 64);
+        try (OutputStream out = new GZIPOutputStream(gzipped) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(identity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // HTTP "deflate" is the zlib format (RFC 1950), which is what DeflaterOutputStream writes
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream(identity.length / 4 + 64);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (OutputStream out = new DeflaterOutputStream(deflated, deflater)) {
+            out.write(identity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return new PrerenderedJson(version, name + "-" + contentHash(identity), identity, gzipped.toByteArray(),
+                deflated.toByteArray());
+    }
+
+    private static String contentHash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder(32);
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // Opaque tag without quotes; each encoding gets its own suffix since the bytes differ
+    public String getEtagBase() {
+        return etagBase;
+    }
+
+    public byte[] getIdentity() {
+        return identity;
+    }
+
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    public byte[] getDeflate() {
+        return deflate;
+    }
+}
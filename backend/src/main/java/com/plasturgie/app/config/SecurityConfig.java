@@ -1,9 +1,17 @@
 package com.plasturgie.app.config;
 
+import com.plasturgie.app.ratelimit.RateLimitFilter;
+import com.plasturgie.app.ratelimit.RateLimiter;
 import com.plasturgie.app.security.CustomUserDetailsService;
 import com.plasturgie.app.security.JwtAuthenticationFilter;
 import com.plasturgie.app.security.JwtTokenProvider;
+import com.plasturgie.app.security.RouteTable;
+import com.plasturgie.app.security.TimedPasswordEncoder;
+import com.plasturgie.app.security.TokenVersionCache;
+import com.plasturgie.app.security.ValidatedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod; // *** ADD THIS IMPORT ***
@@ -22,6 +30,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
 
 import java.util.Arrays;
 import java.util.List; // *** ADD THIS IMPORT if using List.of for origins ***
@@ -41,10 +50,62 @@ public class SecurityConfig {
     @Autowired
     private JwtTokenProvider tokenProvider; // Used by JwtAuthenticationFilter
 
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
+    @Autowired
+    private ValidatedTokenCache validatedTokenCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    // Raising it rehashes each user's password at their next login (CustomUserDetailsService.updatePassword)
+    @Value("${app.security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
         // Assuming JwtAuthenticationFilter constructor takes tokenProvider and userDetailsService
-        return new JwtAuthenticationFilter(tokenProvider, userDetailsService);
+        return new JwtAuthenticationFilter(tokenProvider, userDetailsService, tokenVersionCache, validatedTokenCache,
+                routeTable());
+    }
+
+    // Runs right after CORS, so a 429 still carries the CORS headers the browser needs to read it
+    @Bean
+    public RateLimitFilter rateLimitFilter() {
+        return new RateLimitFilter(rateLimiter);
+    }
+
+    // Shared by the authorization rules below and JwtAuthenticationFilter (which skips NONE routes)
+    @Bean
+    public RouteTable routeTable() {
+        return RouteTable.builder()
+                // --- PUBLIC ENDPOINTS (No Authentication Required) ---
+                .permitAll("/api/auth/**")
+                .permitAll("/public/**") // If you have a generic /public path
+                .hasRole("/actuator/metrics/**", "ADMIN")
+                .permitAll("/actuator/**") // If using Spring Boot Actuator and want it public
+
+                // *** THIS IS THE CRITICAL FIX FOR IMAGES ***
+                .permitAll(HttpMethod.GET, "/api/courses/{id}/image")
+                // You might want other GET requests for courses to be public too:
+                .permitAll(HttpMethod.GET, "/api/courses")       // List all courses
+                .permitAll(HttpMethod.GET, "/api/courses/{id}")  // Get specific course details
+                .permitAll(HttpMethod.GET, "/api/courses/by-category/**")
+                .permitAll(HttpMethod.GET, "/api/courses/by-mode/**")
+                .permitAll(HttpMethod.GET, "/api/courses/search")
+                // Add other GET endpoints you want public (e.g., for instructors list)
+                .permitAll(HttpMethod.GET, "/api/instructors")
+                // Before {id}, which matches it too: the JWT filter must run for the current instructor's profile
+                .authenticated(HttpMethod.GET, "/api/instructors/me")
+                .permitAll(HttpMethod.GET, "/api/instructors/{id}")
+                // Anonymous callers only get courses and instructors (filtered in the controllers)
+                .permitAllWithOptionalAuthentication(HttpMethod.GET, "/api/search")
+                .permitAllWithOptionalAuthentication(HttpMethod.GET, "/api/suggest")
+                .build();
     }
 
     @Bean
@@ -54,7 +115,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), meterRegistry);
     }
 
     @Bean
@@ -72,9 +133,10 @@ public class SecurityConfig {
                 "http://192.168.233.19:8081"// Backend itself, good for some tests or tools
                 // Add any other origins that need access, like deployed frontend URLs
         ));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*")); // Allows all headers
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", "Content-Disposition")); // Expose common headers
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", "Content-Disposition",
+                "Location", "Upload-Offset", "Upload-Length")); // Expose common headers (+ resumable upload headers)
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L); // 1 hour
 
@@ -105,31 +167,25 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                     .sessionCreationPolicy(SessionCreationPolicy.STATELESS) // No sessions for JWT
                 )
-                .authorizeHttpRequests(authorize -> authorize // Use authorizeHttpRequests (newer) or authorizeRequests
-                    // --- PUBLIC ENDPOINTS (No Authentication Required) ---
-                    .antMatchers("/api/auth/**").permitAll()
-                    .antMatchers("/public/**").permitAll() // If you have a generic /public path
-                    .antMatchers("/actuator/**").permitAll() // If using Spring Boot Actuator and want it public
-
-                    // *** THIS IS THE CRITICAL FIX FOR IMAGES ***
-                    .antMatchers(HttpMethod.GET, "/api/courses/{id}/image").permitAll()
-                    // You might want other GET requests for courses to be public too:
-                    .antMatchers(HttpMethod.GET, "/api/courses").permitAll()       // List all courses
-                    .antMatchers(HttpMethod.GET, "/api/courses/{id}").permitAll()  // Get specific course details
-                    .antMatchers(HttpMethod.GET, "/api/courses/by-category/**").permitAll()
-                    .antMatchers(HttpMethod.GET, "/api/courses/by-mode/**").permitAll()
-                    .antMatchers(HttpMethod.GET, "/api/courses/search").permitAll()
-                    // Add other GET endpoints you want public (e.g., for instructors list)
-                    .antMatchers(HttpMethod.GET, "/api/instructors").permitAll()
-                    .antMatchers(HttpMethod.GET, "/api/instructors/{id}").permitAll()
-
+                .authorizeHttpRequests(authorize -> { // Use authorizeHttpRequests (newer) or authorizeRequests
+                    // Public and role-restricted routes, see routeTable()
+                    for (RouteTable.Route route : routeTable().getRoutes()) {
+                        if (route.getAuthentication() != RouteTable.Authentication.REQUIRED) {
+                            authorize.requestMatchers(route.getMatcher()).permitAll();
+                        } else if (route.getRole() != null) {
+                            authorize.requestMatchers(route.getMatcher()).hasRole(route.getRole());
+                        } else {
+                            authorize.requestMatchers(route.getMatcher()).authenticated();
+                        }
+                    }
 
                     // --- PROTECTED ENDPOINTS (Require Authentication) ---
                     // Methods like POST, PUT, DELETE on /api/courses/v2, /api/courses, etc.,
                     // will be protected by .anyRequest().authenticated() if not listed above.
                     // Your @PreAuthorize annotations will then provide finer-grained role-based access control.
-                    .anyRequest().authenticated() // All other requests require authentication
-                )
+                    authorize.anyRequest().authenticated(); // All other requests require authentication
+                })
+                .addFilterAfter(rateLimitFilter(), CorsFilter.class)
                 // Add the custom JWT filter before the standard UsernamePasswordAuthenticationFilter
                 .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
 
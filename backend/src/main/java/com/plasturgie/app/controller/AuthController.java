@@ -4,7 +4,9 @@ import com.plasturgie.app.dto.AuthRequest;
 import com.plasturgie.app.dto.AuthResponse;
 import com.plasturgie.app.dto.UserDTO;
 import com.plasturgie.app.model.User;
+import com.plasturgie.app.ratelimit.RateLimiter;
 import com.plasturgie.app.security.JwtTokenProvider;
+import com.plasturgie.app.security.PasswordHashingExecutor;
 import com.plasturgie.app.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,7 +16,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,6 +23,7 @@ import javax.validation.Valid;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -37,14 +39,27 @@ public class AuthController {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
     @Autowired
     private Environment environment;
 
     @Value("${spring.application.name}")
     private String applicationName;
 
+    // Login and registration hash passwords on PasswordHashingExecutor, not on the request thread
     @PostMapping(value = "/login", produces = "application/json")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody AuthRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody AuthRequest loginRequest) {
+        // Per account, before any hashing; the per-IP limit is RateLimitFilter's
+        rateLimiter.acquire(rateLimiter.getLoginPerAccount(), loginRequest.getUsername());
+        return passwordHashingExecutor.submit(() -> login(loginRequest));
+    }
+
+    private ResponseEntity<?> login(AuthRequest loginRequest) {
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -53,8 +68,7 @@ public class AuthController {
                     )
             );
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-
+            // Stateless: the token is the session, nothing is kept in the (pool thread's) security context
             String jwt = tokenProvider.generateToken(authentication);
             User user = userService.findByUsername(loginRequest.getUsername());
 
@@ -82,7 +96,11 @@ public class AuthController {
     }
 
     @PostMapping(value = "/register", produces = "application/json")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody UserDTO userDTO) {
+    public CompletableFuture<ResponseEntity<?>> registerUser(@Valid @RequestBody UserDTO userDTO) {
+        return passwordHashingExecutor.submit(() -> register(userDTO));
+    }
+
+    private ResponseEntity<?> register(UserDTO userDTO) {
         try {
             User newUser = userService.registerUser(userDTO);
             Map<String, String> response = new HashMap<>();
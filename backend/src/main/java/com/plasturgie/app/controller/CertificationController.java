@@ -5,6 +5,7 @@ import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.User;
 import com.plasturgie.app.security.UserPrincipal;
 import com.plasturgie.app.service.CertificationService;
+import com.plasturgie.app.service.CourseMembershipService;
 import com.plasturgie.app.service.CourseService;
 import com.plasturgie.app.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +32,9 @@ public class CertificationController {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private CourseMembershipService courseMembershipService;
+
     @PostMapping
     @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
     public ResponseEntity<Certification> createCertification(
@@ -56,9 +60,7 @@ public class CertificationController {
                                currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
         
         if (!isAuthorized && currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_INSTRUCTOR"))) {
-            Course course = certification.getCourse();
-            isAuthorized = course.getInstructors().stream()
-                    .anyMatch(i -> i.getUser().getUserId().equals(currentUser.getId()));
+            isAuthorized = courseMembershipService.isInstructorOf(currentUser.getId(), certification.getCourse().getCourseId());
         }
         
         if (!isAuthorized) {
@@ -94,20 +96,18 @@ public class CertificationController {
             @PathVariable Long courseId,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
-        Course course = courseService.getCourseById(courseId);
-        
-        // Check if the current user is an instructor for this course or an admin
+        // Check if the current user is an instructor for this course or an admin (before loading the course)
         boolean isAuthorized = currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
         
         if (!isAuthorized && currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_INSTRUCTOR"))) {
-            isAuthorized = course.getInstructors().stream()
-                    .anyMatch(i -> i.getUser().getUserId().equals(currentUser.getId()));
+            isAuthorized = courseMembershipService.isInstructorOf(currentUser.getId(), courseId);
         }
         
         if (!isAuthorized) {
             return ResponseEntity.status(403).build();
         }
         
+        Course course = courseService.getCourseById(courseId);
         List<Certification> certifications = certificationService.getCertificationsByCourse(course);
         return ResponseEntity.ok(certifications);
     }
@@ -160,9 +160,7 @@ public class CertificationController {
         boolean isAuthorized = currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
         
         if (!isAuthorized && currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_INSTRUCTOR"))) {
-            Course course = certification.getCourse();
-            isAuthorized = course.getInstructors().stream()
-                    .anyMatch(i -> i.getUser().getUserId().equals(currentUser.getId()));
+            isAuthorized = courseMembershipService.isInstructorOf(currentUser.getId(), certification.getCourse().getCourseId());
         }
         
         if (!isAuthorized) {
@@ -0,0 +1,34 @@
+package com.plasturgie.app.controller;
+
+import com.plasturgie.app.service.CourseStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/courses")
+@PreAuthorize("hasRole('ADMIN')")
+public class CourseAdminController {
+
+    private final CourseStatsService courseStatsService;
+
+    @Autowired
+    public CourseAdminController(CourseStatsService courseStatsService) {
+        this.courseStatsService = courseStatsService;
+    }
+
+    /**
+     * Recomputes review count, rating and participants of every course from the reviews and
+     * enrollments tables. Only needed to correct drift; the services keep the statistics current.
+     */
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildStats() {
+        return ResponseEntity.ok(Collections.singletonMap("updated", courseStatsService.rebuildAll()));
+    }
+}
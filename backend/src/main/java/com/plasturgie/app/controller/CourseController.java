@@ -1,23 +1,38 @@
 package com.plasturgie.app.controller;
 
+import com.plasturgie.app.catalog.CatalogReadModel;
+import com.plasturgie.app.catalog.CatalogResponses;
+import com.plasturgie.app.dto.CourseFieldSelection;
 import com.plasturgie.app.dto.CourseInputDTO;
 import com.plasturgie.app.dto.CourseListDTO; // Ensure this DTO matches what mapCourseToCourseListDTO produces
+import com.plasturgie.app.dto.CourseSearchCriteria;
+import com.plasturgie.app.media.MediaCachePolicy;
+import com.plasturgie.app.media.MediaDescriptor;
+import com.plasturgie.app.media.MediaResponses;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.Instructor;
+import com.plasturgie.app.model.enums.CourseSort;
+import com.plasturgie.app.model.enums.ImageVariantSize;
 import com.plasturgie.app.model.enums.Mode;
 import com.plasturgie.app.model.enums.Role;
+import com.plasturgie.app.repository.MediaRepository.MediaSlot;
 import com.plasturgie.app.security.UserPrincipal;
+import com.plasturgie.app.service.CourseMembershipService;
+import com.plasturgie.app.service.CourseSearchService;
 import com.plasturgie.app.service.CourseService;
+import com.plasturgie.app.service.ImageVariantService;
 import com.plasturgie.app.service.InstructorService; // If needed for specific controller logic
+import com.plasturgie.app.service.MediaService;
 import com.plasturgie.app.exception.ResourceNotFoundException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -26,10 +41,15 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -45,6 +65,28 @@ public class CourseController {
     @Autowired
     private InstructorService instructorService; // Keep if used, e.g., in legacy create
 
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private MediaCachePolicy mediaCachePolicy;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private CourseSearchService courseSearchService;
+
+    @Autowired
+    private CatalogReadModel catalogReadModel;
+
+    @Autowired
+    private CourseMembershipService courseMembershipService;
+
+    // Keeps GET /api/courses without paging parameters returning the whole catalog as a plain list
+    @Value("${app.catalog.legacy-unpaged-list:true}")
+    private boolean legacyUnpagedList;
+
     // Re-evaluate if this hasRole is needed directly in controller if service handles auth
     // private boolean hasRole(UserPrincipal principal, Role roleEnum) {
     //     if (principal == null || principal.getAuthorities() == null || roleEnum == null) {
@@ -114,11 +156,9 @@ public class CourseController {
             // The service method updateCourse SHOULD take UserPrincipal for authorization
             // courseService.updateCourse(id, courseDetails, imageFile, currentUser);
             // For now, assuming legacy service method doesn't have it, so pre-check (less ideal)
-            Course existingCourse = courseService.getCourseById(id); // Fetch to check ownership if service doesn't
             boolean isAdmin = currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
             if(!isAdmin && currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_INSTRUCTOR"))) {
-                Instructor currentInstructor = instructorService.findByUserId(currentUser.getId());
-                if (existingCourse.getInstructors().stream().noneMatch(i -> i.getInstructorId().equals(currentInstructor.getInstructorId()))) {
+                if (!courseMembershipService.isInstructorOf(currentUser.getId(), id)) {
                     throw new AccessDeniedException("Instructor not authorized for this legacy course update.");
                 }
             }
@@ -175,41 +215,106 @@ public class CourseController {
 
     // --- IMAGE SERVING ENDPOINT ---
     @GetMapping("/{id}/image")
-    public ResponseEntity<byte[]> getCourseImage(@PathVariable Long id) {
-        // ... (this endpoint remains the same, it's public) ...
+    public ResponseEntity<StreamingResponseBody> getCourseImage(@PathVariable Long id,
+                                                                @RequestParam(value = "size", required = false) String size,
+                                                                HttpServletRequest request) {
+        // Public endpoint; resolves only the image metadata, the bytes are streamed from the blob store.
+        ImageVariantSize variantSize;
         try {
-            Course course = courseService.getCourseById(id); 
-            if (course.getImageData() != null && course.getImageData().length > 0 && course.getImageContentType() != null) {
-                HttpHeaders headers = new HttpHeaders();
-                try {
-                    MediaType mediaType = MediaType.parseMediaType(course.getImageContentType());
-                    headers.setContentType(mediaType);
-                    return new ResponseEntity<>(course.getImageData(), headers, HttpStatus.OK);
-                } catch (InvalidMediaTypeException e) { /* log and return error */ }
-            }
+            variantSize = ImageVariantSize.fromParam(size);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<MediaDescriptor> image = mediaService.describe(MediaSlot.COURSE_IMAGE, id, null);
+        if (!image.isPresent() || image.get().isEmpty() || image.get().getContentType() == null) {
             return ResponseEntity.notFound().build();
-        } catch (ResourceNotFoundException e) { return ResponseEntity.notFound().build(); }
-          catch (Exception e) { return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build(); }
+        }
+        MediaDescriptor original = image.get();
+        // Until the variant is rendered the original is served, marked for revalidation so it is not cached as the variant
+        MediaDescriptor descriptor = variantSize != null
+                ? imageVariantService.describeVariant(original, variantSize).orElse(original)
+                : original;
+        String cacheControl = variantSize != null && descriptor == original
+                ? MediaCachePolicy.REVALIDATE
+                : mediaCachePolicy.forSlot(MediaSlot.COURSE_IMAGE);
+        return MediaResponses.ranged(descriptor, request, mediaService.localFile(descriptor).orElse(null),
+                cacheControl,
+                (offset, length, out) -> mediaService.stream(MediaSlot.COURSE_IMAGE, id, descriptor, offset, length, out));
     }
  
     // --- GET Endpoints ---
     @GetMapping
-    public ResponseEntity<List<CourseListDTO>> getAllCoursesPublic() {
+    public ResponseEntity<?> getAllCoursesPublic(
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "expand", required = false) String expand,
+            @RequestHeader HttpHeaders requestHeaders) {
         // This endpoint is for public listing or for admins if no specific admin endpoint.
         // Instructors should use a dedicated endpoint for "their" courses.
-        List<CourseListDTO> courses = courseService.getAllCoursesForList();
-        return ResponseEntity.ok(courses);
+        try {
+            // e.g. ?fields=compact or ?fields=title,price,rating&expand=instructors
+            CourseFieldSelection selection = CourseFieldSelection.parse(fields, expand);
+            if (legacyUnpagedList && sort == null && cursor == null && limit == null) {
+                if (selection.isAll()) {
+                    // Pre-rendered JSON of the catalog snapshot, compressed and tagged with its ETag
+                    return CatalogResponses.json(catalogReadModel.coursesJson(), requestHeaders);
+                }
+                return ResponseEntity.ok(catalogReadModel.current().getCourses().stream()
+                        .map(selection::apply)
+                        .collect(Collectors.toList()));
+            }
+            return ResponseEntity.ok(courseService.getCoursesPage(CourseSort.fromParam(sort), cursor, limit, selection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Faceted search: repeat category/mode/level for alternatives, e.g. ?category=Extrusion&category=Injection&mode=ONLINE
+    @GetMapping("/search")
+    public ResponseEntity<?> searchCourses(
+            @RequestParam(value = "category", required = false) List<String> categories,
+            @RequestParam(value = "mode", required = false) List<String> modes,
+            @RequestParam(value = "level", required = false) List<String> levels,
+            @RequestParam(value = "certificationEligible", required = false) Boolean certificationEligible,
+            @RequestParam(value = "minPrice", required = false) BigDecimal minPrice,
+            @RequestParam(value = "maxPrice", required = false) BigDecimal maxPrice,
+            @RequestParam(value = "startFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startFrom,
+            @RequestParam(value = "startTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startTo,
+            @RequestParam(value = "q", required = false) String text,
+            @RequestParam(value = "offset", required = false) Integer offset,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        CourseSearchCriteria criteria = new CourseSearchCriteria();
+        if (categories != null) criteria.setCategories(categories);
+        if (modes != null) criteria.setModes(modes);
+        if (levels != null) criteria.setLevels(levels);
+        criteria.setCertificationEligible(certificationEligible);
+        criteria.setMinPrice(minPrice);
+        criteria.setMaxPrice(maxPrice);
+        criteria.setStartFrom(startFrom);
+        criteria.setStartTo(startTo);
+        criteria.setText(text);
+        try {
+            return ResponseEntity.ok(courseSearchService.search(criteria, offset, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CourseListDTO> getCourseDetailsById(@PathVariable Long id) {
-        // Public detail view
-         try {
-            CourseListDTO courseDTO = courseService.getCourseDetailsForListDTO(id);
-            return ResponseEntity.ok(courseDTO);
-        } catch (ResourceNotFoundException e) {
-             return ResponseEntity.notFound().build();
-         }
+    public ResponseEntity<?> getCourseDetailsById(@PathVariable Long id,
+                                                  @RequestParam(value = "fields", required = false) String fields,
+                                                  @RequestParam(value = "expand", required = false) String expand) {
+        // Public detail view, served from the in-memory catalog snapshot
+        CourseFieldSelection selection;
+        try {
+            selection = CourseFieldSelection.parse(fields, expand);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        CourseListDTO courseDTO = catalogReadModel.current().getCourse(id);
+        return courseDTO != null ? ResponseEntity.ok(selection.apply(courseDTO)) : ResponseEntity.notFound().build();
     }
 
     @GetMapping("/by-instructor/{instructorId}")
@@ -231,25 +336,23 @@ public class CourseController {
         }
     }
 
-    // ... (getCoursesByCategory, getCoursesByMode, searchCourses remain public or access controlled by PreAuthorize if needed)
     @GetMapping("/by-category/{category}")
     public ResponseEntity<List<CourseListDTO>> getCoursesByCategory(@PathVariable String category) {
-        // Assuming CourseService.getCoursesByCategory now returns List<CourseListDTO> or you map here
-        List<Course> courses = courseService.getCoursesByCategory(category);
-        // Manual mapping if service returns entities:
-        // List<CourseListDTO> dtos = courses.stream().map(c -> courseService.mapCourseToCourseListDTO(c)).collect(Collectors.toList());
-        // If getCoursesByCategory is updated to return DTOs, this is simpler. For now, assuming mapping if needed.
-        // This is just an example. Ideally, service methods for lists return DTOs.
-        // To keep it simple, let's assume a way to get DTOs.
-        // If your service returns List<Course>, you'd need to map them to CourseListDTO here or change service.
-        // For now, to avoid breaking your existing service signature:
-         List<CourseListDTO> courseDTOs = courses.stream()
-                                           .map(course -> courseService.getCourseDetailsForListDTO(course.getCourseId())) // Re-fetch as DTO
-                                           .collect(Collectors.toList());
-        return ResponseEntity.ok(courseDTOs);
+        return ResponseEntity.ok(courseService.getCoursesByCategoryForList(category));
+    }
+
+    @GetMapping("/by-mode/{mode}")
+    public ResponseEntity<?> getCoursesByMode(@PathVariable String mode) {
+        Mode parsedMode;
+        try {
+            parsedMode = Mode.valueOf(mode.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Unknown mode: " + mode);
+        }
+        return ResponseEntity.ok(courseService.getCoursesByModeForList(parsedMode));
     }
 
-    // ... similar for getCoursesByMode, searchCourses if they return List<Course> and you need List<CourseListDTO>
+    // Title, certification and price filters are served by GET /search (?q=, ?certificationEligible=, ?maxPrice=)
 
     // --- Instructor Management on a Course ---
     @PostMapping("/{courseId}/instructors/{instructorId}")
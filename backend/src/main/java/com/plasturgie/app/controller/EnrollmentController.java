@@ -1,11 +1,14 @@
 package com.plasturgie.app.controller;
 
+import com.plasturgie.app.dto.BulkEnrollmentRequestDTO;
+import com.plasturgie.app.dto.BulkEnrollmentResultDTO;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.Enrollment;
 import com.plasturgie.app.model.Payment;
 import com.plasturgie.app.model.User;
 import com.plasturgie.app.model.enums.Status;
 import com.plasturgie.app.security.UserPrincipal;
+import com.plasturgie.app.service.CourseMembershipService;
 import com.plasturgie.app.service.CourseService;
 import com.plasturgie.app.service.EnrollmentService;
 import com.plasturgie.app.service.PaymentService;
@@ -17,6 +20,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import javax.validation.Valid;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -32,6 +36,9 @@ public class EnrollmentController {
     
     @Autowired
     private CourseService courseService;
+
+    @Autowired
+    private CourseMembershipService courseMembershipService;
     
     @Autowired
     private PaymentService paymentService;
@@ -64,6 +71,19 @@ public class EnrollmentController {
         return ResponseEntity.ok(enrollment);
     }
 
+    // One request instead of one POST per learner, e.g. for a company's employees. Admin only: users are
+    // not linked to companies, so a representative's request could not be limited to their own employees
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> createEnrollmentsInBulk(@Valid @RequestBody BulkEnrollmentRequestDTO request) {
+        try {
+            BulkEnrollmentResultDTO result = enrollmentService.bulkEnroll(request);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Enrollment> getEnrollmentById(
@@ -77,9 +97,7 @@ public class EnrollmentController {
                                currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
         
         if (!isAuthorized && currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_INSTRUCTOR"))) {
-            Course course = enrollment.getCourse();
-            isAuthorized = course.getInstructors().stream()
-                    .anyMatch(i -> i.getUser().getUserId().equals(currentUser.getId()));
+            isAuthorized = courseMembershipService.isInstructorOf(currentUser.getId(), enrollment.getCourse().getCourseId());
         }
         
         if (!isAuthorized) {
@@ -103,20 +121,18 @@ public class EnrollmentController {
             @PathVariable Long courseId,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
-        Course course = courseService.getCourseById(courseId);
-        
-        // Check if the current user is an instructor for this course or an admin
+        // Check if the current user is an instructor for this course or an admin (before loading the course)
         boolean isAuthorized = currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
         
         if (!isAuthorized && currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_INSTRUCTOR"))) {
-            isAuthorized = course.getInstructors().stream()
-                    .anyMatch(i -> i.getUser().getUserId().equals(currentUser.getId()));
+            isAuthorized = courseMembershipService.isInstructorOf(currentUser.getId(), courseId);
         }
         
         if (!isAuthorized) {
             return ResponseEntity.status(403).build();
         }
         
+        Course course = courseService.getCourseById(courseId);
         List<Enrollment> enrollments = enrollmentService.getEnrollmentsByCourse(course);
         return ResponseEntity.ok(enrollments);
     }
@@ -152,9 +168,7 @@ public class EnrollmentController {
         boolean isAuthorized = currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
         
         if (!isAuthorized && currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_INSTRUCTOR"))) {
-            Course course = enrollment.getCourse();
-            isAuthorized = course.getInstructors().stream()
-                    .anyMatch(i -> i.getUser().getUserId().equals(currentUser.getId()));
+            isAuthorized = courseMembershipService.isInstructorOf(currentUser.getId(), enrollment.getCourse().getCourseId());
         }
         
         if (!isAuthorized) {
@@ -178,9 +192,7 @@ public class EnrollmentController {
         boolean isAuthorized = currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
         
         if (!isAuthorized && currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_INSTRUCTOR"))) {
-            Course course = enrollment.getCourse();
-            isAuthorized = course.getInstructors().stream()
-                    .anyMatch(i -> i.getUser().getUserId().equals(currentUser.getId()));
+            isAuthorized = courseMembershipService.isInstructorOf(currentUser.getId(), enrollment.getCourse().getCourseId());
         }
         
         if (!isAuthorized) {
@@ -1,21 +1,29 @@
 package com.plasturgie.app.controller;
 
+import com.plasturgie.app.media.MediaCachePolicy;
+import com.plasturgie.app.media.MediaDescriptor;
+import com.plasturgie.app.media.MediaResponses;
 import com.plasturgie.app.model.ImageUser;
 import com.plasturgie.app.model.User; // Import User model
+import com.plasturgie.app.model.enums.ImageVariantSize;
+import com.plasturgie.app.repository.MediaRepository.MediaSlot;
 import com.plasturgie.app.service.ImageUserService;
+import com.plasturgie.app.service.ImageVariantService;
+import com.plasturgie.app.service.MediaService;
 import com.plasturgie.app.service.UserService; // Import UserService
+import com.plasturgie.app.storage.StoredBlob;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
-import java.util.Optional; // Keep this import
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.net.URI;
 import java.util.List;
@@ -32,6 +40,15 @@ public class ImageUserController {
     @Autowired
     private UserService userService; // Service to fetch User entities
 
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private MediaCachePolicy mediaCachePolicy;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
     @GetMapping
     public List<ImageUser> getAllImageUsers() {
         log.info("GET /api/image-users - retrieving all image users metadata (inefficient)");
@@ -52,33 +69,33 @@ public class ImageUserController {
     }
 
     @GetMapping("/{id}/image")
-    public ResponseEntity<byte[]> getImageData(@PathVariable Long id) {
-        log.info("GET /api/image-users/{}/image - retrieving raw image data", id);
-        // Assumes imageUserService.getImageUserById *DOES* return Optional<ImageUser>
-        return imageUserService.getImageUserById(id)
-                .map(imageUser -> {
-                    // Assumes ImageUser has manual getContentType() and getFilename() methods
-                    log.debug("Found image for id: {}, content type: {}", id, imageUser.getContentType());
-                    HttpHeaders headers = new HttpHeaders();
-                    MediaType mediaType = MediaType.APPLICATION_OCTET_STREAM; // Default
-                    if (imageUser.getContentType() != null) {
-                        try {
-                            mediaType = MediaType.parseMediaType(imageUser.getContentType());
-                        } catch (Exception e) {
-                            log.warn("Invalid content type '{}' stored for image id: {}. Defaulting to octet-stream.", imageUser.getContentType(), id, e);
-                        }
-                    }
-                    headers.setContentType(mediaType);
-                    // Optional: Add Content-Disposition for download prompting
-                    // headers.setContentDispositionFormData("inline", imageUser.getFilename()); // or "attachment"
-
-                    // Assumes ImageUser has manual getImageData() method
-                    return new ResponseEntity<>(imageUser.getImageData(), headers, HttpStatus.OK);
-                })
+    public ResponseEntity<StreamingResponseBody> getImageData(@PathVariable Long id,
+                                                              @RequestParam(value = "size", required = false) String size,
+                                                              HttpServletRequest request) {
+        log.info("GET /api/image-users/{}/image - streaming image data (size: {})", id, size);
+        ImageVariantSize variantSize;
+        try {
+            variantSize = ImageVariantSize.fromParam(size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        MediaDescriptor original = mediaService.describe(MediaSlot.USER_IMAGE, id, null)
+                .filter(media -> !media.isEmpty())
                 .orElseThrow(() -> {
                     log.warn("Image data not found for id: {}", id);
                     return new ResponseStatusException(HttpStatus.NOT_FOUND, "Image data not found for id: " + id);
                 });
+        log.debug("Found image for id: {}, content type: {}", id, original.getContentType());
+        // Falls back to the original, marked for revalidation, while the variant is still being rendered
+        MediaDescriptor descriptor = variantSize != null
+                ? imageVariantService.describeVariant(original, variantSize).orElse(original)
+                : original;
+        String cacheControl = variantSize != null && descriptor == original
+                ? MediaCachePolicy.REVALIDATE
+                : mediaCachePolicy.forSlot(MediaSlot.USER_IMAGE);
+        return MediaResponses.ranged(descriptor, request, mediaService.localFile(descriptor).orElse(null),
+                cacheControl,
+                (offset, length, out) -> mediaService.stream(MediaSlot.USER_IMAGE, id, descriptor, offset, length, out));
     }
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -114,7 +131,10 @@ public class ImageUserController {
             // Assumes ImageUser has manual setters
             imageUser.setFilename(file.getOriginalFilename());
             imageUser.setContentType(file.getContentType());
-            imageUser.setImageData(file.getBytes());
+            StoredBlob blob = mediaService.store(file);
+            imageUser.setImageBlobKey(blob.getKey());
+            imageUser.setImageSize(blob.getSize());
+            imageVariantService.generateAsync(blob.getKey());
             imageUser.setUser(user); // Use the retrieved, non-null user
             // Timestamps should be handled by JPA Auditing if configured (@CreationTimestamp, @UpdateTimestamp)
 
@@ -129,7 +149,7 @@ public class ImageUserController {
             return ResponseEntity.created(location).build();
 
         } catch (IOException e) {
-            log.error("Failed to read image file bytes for user id: {}", userId, e);
+            log.error("Failed to store image file for user id: {}", userId, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to process image file", e);
         } catch (IllegalArgumentException e) { // Catch specific exceptions if service layer throws them
             log.error("Invalid data for image user: {}", e.getMessage());
@@ -1,5 +1,7 @@
 package com.plasturgie.app.controller;
 
+import com.plasturgie.app.catalog.CatalogReadModel;
+import com.plasturgie.app.catalog.CatalogResponses;
 import com.plasturgie.app.dto.InstructorInputDTO;
 import com.plasturgie.app.dto.InstructorListDTO;
 import com.plasturgie.app.exception.ResourceNotFoundException; // Your specific exception
@@ -9,6 +11,7 @@ import com.plasturgie.app.security.UserPrincipal;
 import com.plasturgie.app.service.InstructorService;
 // import com.plasturgie.app.service.UserService; // UserService is used within InstructorService
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -26,6 +29,9 @@ public class InstructorController {
     @Autowired
     private InstructorService instructorService;
 
+    @Autowired
+    private CatalogReadModel catalogReadModel;
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<InstructorListDTO> createInstructor(
@@ -42,20 +48,16 @@ public class InstructorController {
 
     @GetMapping
     @PreAuthorize("permitAll()") // Or isAuthenticated() if login required
-    public ResponseEntity<List<InstructorListDTO>> getAllInstructors() {
-        List<InstructorListDTO> instructorsDTO = instructorService.getAllInstructorsForList();
-        return ResponseEntity.ok(instructorsDTO);
+    public ResponseEntity<byte[]> getAllInstructors(@RequestHeader HttpHeaders requestHeaders) {
+        // Pre-rendered JSON of the catalog snapshot, compressed and tagged with its ETag
+        return CatalogResponses.json(catalogReadModel.instructorsJson(), requestHeaders);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("permitAll()")
     public ResponseEntity<InstructorListDTO> getInstructorById(@PathVariable Long id) {
-        try {
-            InstructorListDTO instructorDTO = instructorService.getInstructorListDTOById(id);
-            return ResponseEntity.ok(instructorDTO);
-        } catch (ResourceNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+        InstructorListDTO instructorDTO = catalogReadModel.current().getInstructor(id);
+        return instructorDTO != null ? ResponseEntity.ok(instructorDTO) : ResponseEntity.notFound().build();
     }
 
     @GetMapping("/by-user/{userId}")
@@ -0,0 +1,42 @@
+package com.plasturgie.app.controller;
+
+import com.plasturgie.app.service.MediaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/media")
+@PreAuthorize("hasRole('ADMIN')")
+public class MediaAdminController {
+
+    private final MediaService mediaService;
+
+    @Autowired
+    public MediaAdminController(MediaService mediaService) {
+        this.mediaService = mediaService;
+    }
+
+    /**
+     * Moves module PDFs/videos, course images and user images still stored as database LOBs
+     * into the blob store. Safe to run repeatedly.
+     */
+    @PostMapping("/migrate")
+    public ResponseEntity<Map<String, Integer>> migrateLegacyLobs() {
+        return ResponseEntity.ok(mediaService.migrateLegacyLobs());
+    }
+
+    /**
+     * Deletes stored blobs no row references any more (replaced or deleted media).
+     */
+    @PostMapping("/purge")
+    public ResponseEntity<Map<String, Integer>> purgeUnreferencedBlobs() {
+        return ResponseEntity.ok(Collections.singletonMap("purged", mediaService.purgeUnreferencedBlobs()));
+    }
+}
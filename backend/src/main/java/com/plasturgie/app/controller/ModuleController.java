@@ -3,20 +3,34 @@ package com.plasturgie.app.controller;
 import com.plasturgie.app.dto.ModuleRequestDTO;
 import com.plasturgie.app.dto.ModuleResponseDTO;
 import com.plasturgie.app.exception.ResourceNotFoundException; // Assuming you have this
-import com.plasturgie.app.model.Module;
+import com.plasturgie.app.exception.UploadTooLargeException;
+import com.plasturgie.app.media.MediaCachePolicy;
+import com.plasturgie.app.media.MediaDescriptor;
+import com.plasturgie.app.media.MediaResponses;
+import com.plasturgie.app.repository.MediaRepository.MediaSlot;
+import com.plasturgie.app.security.UserPrincipal;
+import com.plasturgie.app.service.CourseMembershipService;
+import com.plasturgie.app.service.MediaService;
 import com.plasturgie.app.service.ModuleService;
+import com.plasturgie.app.storage.SizeLimitedInputStream;
+import com.plasturgie.app.storage.StoredBlob;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import java.io.IOException;
 import java.util.List;
@@ -28,11 +42,23 @@ public class ModuleController {
     private static final Logger logger = LoggerFactory.getLogger(ModuleController.class);
 
 
+    private static final String CONTENT_SHA256_HEADER = "X-Content-SHA256";
+
     private final ModuleService moduleService;
+    private final MediaService mediaService;
+    private final MediaCachePolicy mediaCachePolicy;
+    private final CourseMembershipService courseMembershipService;
+    private final long maxUploadBytes;
 
     @Autowired
-    public ModuleController(ModuleService moduleService) {
+    public ModuleController(ModuleService moduleService, MediaService mediaService,
+                            MediaCachePolicy mediaCachePolicy, CourseMembershipService courseMembershipService,
+                            @Value("${app.upload.max-size:5000MB}") DataSize maxUploadSize) {
         this.moduleService = moduleService;
+        this.mediaService = mediaService;
+        this.mediaCachePolicy = mediaCachePolicy;
+        this.courseMembershipService = courseMembershipService;
+        this.maxUploadBytes = maxUploadSize.toBytes();
     }
 
     /**
@@ -133,35 +159,32 @@ public class ModuleController {
     }
 
     // --- PDF Endpoints ---
-// In ModuleController.java
 
     @GetMapping("/{moduleId}/pdf")
-    public ResponseEntity<Resource> downloadPdf(
+    public ResponseEntity<StreamingResponseBody> downloadPdf(
             @PathVariable Long courseId,
-            @PathVariable Long moduleId) {
-        // Validate module belongs to course
-        ModuleResponseDTO moduleInfo = moduleService.getModuleById(moduleId);
-        if (moduleInfo == null || !Objects.equals(moduleInfo.getCourseId(), courseId)) {
-            throw new ResourceNotFoundException("PDF for module " + moduleId + " not found under course " + courseId);
-        }
+            @PathVariable Long moduleId,
+            HttpServletRequest request) {
+        return streamMedia(courseId, moduleId, MediaSlot.MODULE_PDF, request);
+    }
+
+    /**
+     * Uploads the module PDF as the raw request body. The body is streamed straight into the
+     * blob store (no multipart spooling); an optional X-Content-SHA256 header is checked against
+     * the checksum computed during the copy.
+     */
+    @PutMapping(value = "/{moduleId}/pdf",
+                consumes = {MediaType.APPLICATION_PDF_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> uploadPdf(
+            @PathVariable Long courseId,
+            @PathVariable Long moduleId,
+            @RequestParam(value = "filename", required = false) String filename,
+            @RequestHeader(value = CONTENT_SHA256_HEADER, required = false) String expectedSha256,
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            HttpServletRequest request) throws IOException {
+        return uploadMedia(courseId, moduleId, MediaSlot.MODULE_PDF, filename, expectedSha256, currentUser, request);
+    }
 
-        Module module = moduleService.getModuleWithPdf(moduleId);
-        if (module.getPdfData() == null || module.getPdfData().length == 0) {
-            logger.warn("PDF data not found for module ID: {}", moduleId); // Added logger
-            return ResponseEntity.notFound().build();
-        }
-        ByteArrayResource resource = new ByteArrayResource(module.getPdfData());
-        String contentType = module.getPdfContentType() != null ? module.getPdfContentType() : "application/pdf"; // Default to application/pdf
-        String filename = module.getPdfFilename() != null ? module.getPdfFilename() : "module.pdf";
-
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                // MODIFIED FOR INLINE DISPLAY:
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
-                .contentLength(module.getPdfData().length) // Good to add content length
-                .body(resource);
-    } 
-    
     @DeleteMapping("/{moduleId}/pdf")
     public ResponseEntity<Void> deleteModulePdf(
             @PathVariable Long courseId,
@@ -177,26 +200,30 @@ public class ModuleController {
 
     // --- Video Endpoints ---
 
+    /**
+     * Streams the module video with HTTP Range support so players can seek
+     * without restarting the download. Only the requested range is read from storage.
+     */
     @GetMapping("/{moduleId}/video")
-    public ResponseEntity<Resource> downloadVideo(
+    public ResponseEntity<StreamingResponseBody> downloadVideo(
             @PathVariable Long courseId,
-            @PathVariable Long moduleId) {
-        // Validate module belongs to course
-        ModuleResponseDTO moduleInfo = moduleService.getModuleById(moduleId);
-        if (moduleInfo == null || !Objects.equals(moduleInfo.getCourseId(), courseId)) {
-            throw new ResourceNotFoundException("Video for module " + moduleId + " not found under course " + courseId);
-        }
+            @PathVariable Long moduleId,
+            HttpServletRequest request) {
+        return streamMedia(courseId, moduleId, MediaSlot.MODULE_VIDEO, request);
+    }
 
-        Module module = moduleService.getModuleWithVideo(moduleId); // Fetches the entity with byte data
-        if (module.getVideoData() == null || module.getVideoData().length == 0) {
-            return ResponseEntity.notFound().build();
-        }
-        ByteArrayResource resource = new ByteArrayResource(module.getVideoData());
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(module.getVideoContentType()))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + module.getVideoFilename() + "\"")
-                .contentLength(module.getVideoData().length)
-                .body(resource);
+    /**
+     * Uploads the module video as the raw request body, streamed straight into the blob store.
+     */
+    @PutMapping(value = "/{moduleId}/video", consumes = {"video/*", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> uploadVideo(
+            @PathVariable Long courseId,
+            @PathVariable Long moduleId,
+            @RequestParam(value = "filename", required = false) String filename,
+            @RequestHeader(value = CONTENT_SHA256_HEADER, required = false) String expectedSha256,
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            HttpServletRequest request) throws IOException {
+        return uploadMedia(courseId, moduleId, MediaSlot.MODULE_VIDEO, filename, expectedSha256, currentUser, request);
     }
 
     @DeleteMapping("/{moduleId}/video")
@@ -211,4 +238,68 @@ public class ModuleController {
         moduleService.deleteVideoFromModule(moduleId);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Only admins and the course's instructors may replace its media. The size is checked up front from
+     * Content-Length and again while copying, as the header is optional with chunked transfer encoding.
+     */
+    private ResponseEntity<?> uploadMedia(Long courseId, Long moduleId, MediaSlot slot, String filename,
+                                          String expectedSha256, UserPrincipal currentUser,
+                                          HttpServletRequest request) throws IOException {
+        if (!courseMembershipService.canManageCourse(currentUser, courseId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not authorized to upload media for this course.");
+        }
+        ModuleResponseDTO existingModule = moduleService.getModuleById(moduleId);
+        if (!Objects.equals(existingModule.getCourseId(), courseId)) {
+            throw new ResourceNotFoundException("Module with id " + moduleId + " not found under course " + courseId);
+        }
+        if (request.getContentLengthLong() > maxUploadBytes) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(new UploadTooLargeException(maxUploadBytes).getMessage());
+        }
+        StoredBlob blob;
+        try {
+            blob = mediaService.store(new SizeLimitedInputStream(request.getInputStream(), maxUploadBytes), expectedSha256);
+        } catch (UploadTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (blob.getSize() == 0) {
+            return ResponseEntity.badRequest().body("Request body is empty.");
+        }
+        String name = resolveUploadFilename(filename, request, slot == MediaSlot.MODULE_PDF ? "module-" + moduleId + ".pdf" : "module-" + moduleId);
+        logger.info("Streamed {} upload for module {}: {} bytes, sha256 {}", slot, moduleId, blob.getSize(), blob.getSha256());
+        ModuleResponseDTO updated = slot == MediaSlot.MODULE_PDF
+                ? moduleService.attachPdf(moduleId, blob, name, request.getContentType())
+                : moduleService.attachVideo(moduleId, blob, name, request.getContentType());
+        return ResponseEntity.ok(updated);
+    }
+
+    private static String resolveUploadFilename(String filename, HttpServletRequest request, String fallback) {
+        String name = filename;
+        String disposition = request.getHeader(HttpHeaders.CONTENT_DISPOSITION);
+        if (!StringUtils.hasText(name) && StringUtils.hasText(disposition)) {
+            try {
+                name = ContentDisposition.parse(disposition).getFilename();
+            } catch (IllegalArgumentException e) {
+                logger.debug("Ignoring malformed Content-Disposition '{}'", disposition);
+            }
+        }
+        name = StringUtils.getFilename(StringUtils.cleanPath(StringUtils.hasText(name) ? name : fallback));
+        return StringUtils.hasText(name) ? name : fallback;
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamMedia(Long courseId, Long moduleId, MediaSlot slot,
+                                                              HttpServletRequest request) {
+        MediaDescriptor descriptor = mediaService.describe(slot, moduleId, courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Module with id " + moduleId + " not found under course " + courseId));
+        if (descriptor.isEmpty()) {
+            logger.warn("{} data not found for module ID: {}", slot, moduleId);
+            return ResponseEntity.notFound().build();
+        }
+        return MediaResponses.ranged(descriptor, request, mediaService.localFile(descriptor).orElse(null),
+                mediaCachePolicy.forSlot(slot),
+                (offset, length, out) -> mediaService.stream(slot, moduleId, descriptor, offset, length, out));
+    }
+}
@@ -0,0 +1,33 @@
+package com.plasturgie.app.controller;
+
+import com.plasturgie.app.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/search")
+@PreAuthorize("hasRole('ADMIN')")
+public class SearchAdminController {
+
+    private final SearchService searchService;
+
+    @Autowired
+    public SearchAdminController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Reloads the full-text index from the database, e.g. after rows were changed outside the services.
+     */
+    @PostMapping("/reindex")
+    public ResponseEntity<Map<String, Integer>> reindex() {
+        return ResponseEntity.ok(Collections.singletonMap("indexed", searchService.rebuildIndex()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.plasturgie.app.controller;
+
+import com.plasturgie.app.dto.SearchResultsDTO;
+import com.plasturgie.app.model.enums.SearchDocumentType;
+import com.plasturgie.app.security.UserPrincipal;
+import com.plasturgie.app.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    // Only courses and instructors are listed publicly; events, services and companies require a login
+    private static final Set<SearchDocumentType> PUBLIC_TYPES = EnumSet.of(SearchDocumentType.COURSE, SearchDocumentType.INSTRUCTOR);
+
+    private final SearchService searchService;
+
+    @Autowired
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    // e.g. /api/search?q=moules injection&type=course&type=instructor&limit=10
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam("q") String query,
+                                    @RequestParam(value = "type", required = false) List<String> types,
+                                    @RequestParam(value = "limit", required = false) Integer limit,
+                                    @AuthenticationPrincipal UserPrincipal currentUser) {
+        Set<SearchDocumentType> requested = EnumSet.noneOf(SearchDocumentType.class);
+        try {
+            if (types != null) {
+                types.forEach(type -> requested.add(SearchDocumentType.fromParam(type)));
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (currentUser == null) {
+            if (requested.isEmpty()) {
+                requested.addAll(PUBLIC_TYPES);
+            } else {
+                requested.retainAll(PUBLIC_TYPES);
+                if (requested.isEmpty()) {
+                    return ResponseEntity.ok(new SearchResultsDTO(query, 0, Collections.emptyList()));
+                }
+            }
+        }
+        return ResponseEntity.ok(searchService.search(query, requested, limit));
+    }
+}
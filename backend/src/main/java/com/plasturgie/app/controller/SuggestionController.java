@@ -0,0 +1,59 @@
+package com.plasturgie.app.controller;
+
+import com.plasturgie.app.model.enums.SuggestionType;
+import com.plasturgie.app.security.UserPrincipal;
+import com.plasturgie.app.service.SuggestionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/suggest")
+public class SuggestionController {
+
+    // Same public scope as /api/search
+    private static final Set<SuggestionType> PUBLIC_TYPES = EnumSet.of(SuggestionType.COURSE, SuggestionType.INSTRUCTOR);
+
+    private final SuggestionService suggestionService;
+
+    @Autowired
+    public SuggestionController(SuggestionService suggestionService) {
+        this.suggestionService = suggestionService;
+    }
+
+    // e.g. /api/suggest?q=inj&type=course&limit=5
+    @GetMapping
+    public ResponseEntity<?> suggest(@RequestParam("q") String query,
+                                     @RequestParam(value = "type", required = false) List<String> types,
+                                     @RequestParam(value = "limit", required = false) Integer limit,
+                                     @AuthenticationPrincipal UserPrincipal currentUser) {
+        Set<SuggestionType> requested = EnumSet.noneOf(SuggestionType.class);
+        try {
+            if (types != null) {
+                types.forEach(type -> requested.add(SuggestionType.fromParam(type)));
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (currentUser == null) {
+            if (requested.isEmpty()) {
+                requested.addAll(PUBLIC_TYPES);
+            } else {
+                requested.retainAll(PUBLIC_TYPES);
+                if (requested.isEmpty()) {
+                    return ResponseEntity.ok(Collections.emptyList());
+                }
+            }
+        }
+        return ResponseEntity.ok(suggestionService.suggest(query, requested, limit));
+    }
+}
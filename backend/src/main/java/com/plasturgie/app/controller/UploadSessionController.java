@@ -0,0 +1,143 @@
+package com.plasturgie.app.controller;
+
+import com.plasturgie.app.dto.UploadSessionDTO;
+import com.plasturgie.app.dto.UploadSessionRequestDTO;
+import com.plasturgie.app.exception.ResourceNotFoundException;
+import com.plasturgie.app.exception.UploadOffsetConflictException;
+import com.plasturgie.app.exception.UploadTooLargeException;
+import com.plasturgie.app.security.UserPrincipal;
+import com.plasturgie.app.service.UploadSessionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Resumable upload protocol for large module media:
+ * <ol>
+ *   <li>{@code POST .../uploads} with the target, size and optional sha256 creates a session;</li>
+ *   <li>{@code PATCH .../uploads/{uploadId}} with {@code Upload-Offset} and a raw body appends a chunk;</li>
+ *   <li>{@code HEAD} or {@code GET .../uploads/{uploadId}} returns the offset to resume from after a failure.</li>
+ * </ol>
+ * The chunk that completes the upload attaches the file to the module. Sessions expire after
+ * {@code app.upload.session-ttl} without activity.
+ */
+@RestController
+@RequestMapping("/api/courses/{courseId}/modules/{moduleId}/uploads")
+public class UploadSessionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadSessionController.class);
+
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+    private static final String UPLOAD_LENGTH = "Upload-Length";
+
+    private final UploadSessionService uploadSessionService;
+
+    @Autowired
+    public UploadSessionController(UploadSessionService uploadSessionService) {
+        this.uploadSessionService = uploadSessionService;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> createUpload(
+            @PathVariable Long courseId,
+            @PathVariable Long moduleId,
+            @Valid @RequestBody UploadSessionRequestDTO request,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        UploadSessionDTO session;
+        try {
+            session = uploadSessionService.createSession(courseId, moduleId, request, currentUser);
+        } catch (UploadTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(e.getMessage());
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+        URI location = URI.create(String.format("/api/courses/%d/modules/%d/uploads/%s", courseId, moduleId, session.getUploadId()));
+        return ResponseEntity.created(location)
+                .header(UPLOAD_OFFSET, String.valueOf(session.getOffset()))
+                .header(UPLOAD_LENGTH, String.valueOf(session.getTotalSize()))
+                .body(session);
+    }
+
+    @RequestMapping(value = "/{uploadId}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> getUploadOffset(
+            @PathVariable Long courseId,
+            @PathVariable Long moduleId,
+            @PathVariable String uploadId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        try {
+            UploadSessionDTO session = uploadSessionService.getSession(courseId, moduleId, uploadId, currentUser);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .header(UPLOAD_OFFSET, String.valueOf(session.getOffset()))
+                    .header(UPLOAD_LENGTH, String.valueOf(session.getTotalSize()))
+                    .build();
+        } catch (ResourceNotFoundException e) { return ResponseEntity.notFound().build(); }
+          catch (AccessDeniedException e) { return ResponseEntity.status(HttpStatus.FORBIDDEN).build(); }
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<?> getUpload(
+            @PathVariable Long courseId,
+            @PathVariable Long moduleId,
+            @PathVariable String uploadId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        try {
+            UploadSessionDTO session = uploadSessionService.getSession(courseId, moduleId, uploadId, currentUser);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .header(UPLOAD_OFFSET, String.valueOf(session.getOffset()))
+                    .body(session);
+        } catch (AccessDeniedException e) { return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage()); }
+    }
+
+    @PatchMapping(value = "/{uploadId}",
+                  consumes = {"application/offset+octet-stream", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> appendChunk(
+            @PathVariable Long courseId,
+            @PathVariable Long moduleId,
+            @PathVariable String uploadId,
+            @RequestHeader(UPLOAD_OFFSET) long offset,
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            HttpServletRequest request) throws IOException {
+        try {
+            UploadSessionDTO session = uploadSessionService.appendChunk(courseId, moduleId, uploadId, offset,
+                    request.getContentLengthLong(), request.getInputStream(), currentUser);
+            return ResponseEntity.ok()
+                    .header(UPLOAD_OFFSET, String.valueOf(session.getOffset()))
+                    .body(session);
+        } catch (UploadOffsetConflictException e) {
+            logger.debug("Upload {} chunk rejected: {}", uploadId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(UPLOAD_OFFSET, String.valueOf(e.getCurrentOffset()))
+                    .body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<?> cancelUpload(
+            @PathVariable Long courseId,
+            @PathVariable Long moduleId,
+            @PathVariable String uploadId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        try {
+            uploadSessionService.cancelSession(courseId, moduleId, uploadId, currentUser);
+            return ResponseEntity.noContent().build();
+        } catch (AccessDeniedException e) { return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage()); }
+    }
+}
@@ -0,0 +1,19 @@
+package com.plasturgie.app.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class BulkEnrollmentRequestDTO {
+
+    @NotNull(message = "Course ID cannot be null")
+    private Long courseId;
+
+    // Learners by id, by email, or both; each entry gets a row in the result
+    private List<Long> userIds;
+    private List<String> emails;
+}
@@ -0,0 +1,27 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.enums.BulkEnrollmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEnrollmentResultDTO {
+    private Long courseId;
+    private int enrolled;
+    private int skipped;
+    private List<Row> rows; // In request order: userIds first, then emails
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        private Long userId; // Resolved id, null when not found
+        private String email; // As requested, for rows given by email
+        private BulkEnrollmentStatus status;
+    }
+}
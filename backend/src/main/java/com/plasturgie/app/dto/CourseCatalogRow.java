@@ -0,0 +1,69 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.enums.Mode;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Scalar columns of a course needed for catalog listings, selected with a JPQL constructor expression
+ * so no collection of the course entity is touched.
+ */
+@Data
+@NoArgsConstructor
+public class CourseCatalogRow {
+    private Long courseId;
+    private String title;
+    private String description;
+    private String category;
+    private Mode mode;
+    private BigDecimal price;
+    private Boolean certificationEligible;
+    private LocalDateTime createdAt;
+    private String level;
+    private String location;
+    private LocalDate startDate;
+    private Integer durationHours;
+    private String imageContentType;
+    private Long reviewCount;
+    private Long ratingSum;
+    private Long enrollmentCount;
+    private Double ratingAverage;
+
+    public CourseCatalogRow(Long courseId, String title, String description, String category, Mode mode,
+                            BigDecimal price, Boolean certificationEligible, LocalDateTime createdAt,
+                            String level, String location, LocalDate startDate, Integer durationHours,
+                            String imageContentType, Long reviewCount, Long ratingSum, Long enrollmentCount,
+                            Double ratingAverage) {
+        this.courseId = courseId;
+        this.title = title;
+        this.description = description;
+        this.category = category;
+        this.mode = mode;
+        this.price = price;
+        this.certificationEligible = certificationEligible;
+        this.createdAt = createdAt;
+        this.level = level;
+        this.location = location;
+        this.startDate = startDate;
+        this.durationHours = durationHours;
+        this.imageContentType = imageContentType;
+        this.reviewCount = reviewCount;
+        this.ratingSum = ratingSum;
+        this.enrollmentCount = enrollmentCount;
+        this.ratingAverage = ratingAverage;
+    }
+
+    // Without the description, for listings that do not show it (the column can be large)
+    public CourseCatalogRow(Long courseId, String title, String category, Mode mode,
+                            BigDecimal price, Boolean certificationEligible, LocalDateTime createdAt,
+                            String level, String location, LocalDate startDate, Integer durationHours,
+                            String imageContentType, Long reviewCount, Long ratingSum, Long enrollmentCount,
+                            Double ratingAverage) {
+        this(courseId, title, null, category, mode, price, certificationEligible, createdAt, level, location,
+                startDate, durationHours, imageContentType, reviewCount, ratingSum, enrollmentCount, ratingAverage);
+    }
+}
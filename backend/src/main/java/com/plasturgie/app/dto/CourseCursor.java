@@ -0,0 +1,95 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.enums.CourseSort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the paginated catalog: the sort key and id of the last course of a page. Clients receive it
+ * as an opaque URL-safe token and send it back to get the next page.
+ */
+public class CourseCursor {
+
+    private final CourseSort sort;
+    private final Object key;
+    private final Long courseId;
+
+    public CourseCursor(CourseSort sort, Object key, Long courseId) {
+        this.sort = sort;
+        this.key = key;
+        this.courseId = courseId;
+    }
+
+    public static CourseCursor after(CourseSort sort, CourseCatalogRow row) {
+        switch (sort) {
+            case PRICE:
+                return new CourseCursor(sort, row.getPrice(), row.getCourseId());
+            case RATING:
+                return new CourseCursor(sort, row.getRatingAverage(), row.getCourseId());
+            case POPULARITY:
+                return new CourseCursor(sort, row.getEnrollmentCount(), row.getCourseId());
+            case NEWEST:
+            default:
+                return new CourseCursor(sort, row.getCreatedAt(), row.getCourseId());
+        }
+    }
+
+    public CourseSort getSort() {
+        return sort;
+    }
+
+    // Sort key of the last course returned, typed like the entity property; never null (the columns are NOT NULL)
+    public Object getKey() {
+        return key;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public String encode() {
+        String raw = sort.name() + "|" + key + "|" + courseId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the token is malformed or was issued for another sort order
+     */
+    public static CourseCursor decode(String token, CourseSort expectedSort) {
+        CourseCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            CourseSort sort = CourseSort.valueOf(parts[0]);
+            cursor = new CourseCursor(sort, parseKey(sort, parts[1]), Long.valueOf(parts[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // Covers bad Base64, unknown sort names and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        if (cursor.sort != expectedSort) {
+            throw new IllegalArgumentException("Cursor was issued for sort '" + cursor.sort.name().toLowerCase() + "'.");
+        }
+        return cursor;
+    }
+
+    private static Object parseKey(CourseSort sort, String value) {
+        switch (sort) {
+            case PRICE:
+                return new BigDecimal(value);
+            case RATING:
+                return Double.valueOf(value);
+            case POPULARITY:
+                return Long.valueOf(value);
+            case NEWEST:
+            default:
+                return LocalDateTime.parse(value);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.enums.CourseExpansion;
+import com.plasturgie.app.model.enums.CourseField;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Which parts of a course listing a client asked for with {@code ?fields=} and {@code ?expand=}. Besides
+ * trimming the response, listings built from the database skip the queries of parts not requested
+ * (description column, instructor rows, module summaries). Properties left out are null in the DTO and
+ * therefore omitted from the JSON.
+ */
+public final class CourseFieldSelection {
+
+    public static final CourseFieldSelection ALL =
+            new CourseFieldSelection(EnumSet.allOf(CourseField.class), EnumSet.allOf(CourseExpansion.class));
+
+    private final Set<CourseField> fields;
+    private final Set<CourseExpansion> expansions;
+
+    private CourseFieldSelection(Set<CourseField> fields, Set<CourseExpansion> expansions) {
+        this.fields = Collections.unmodifiableSet(fields);
+        this.expansions = Collections.unmodifiableSet(expansions);
+    }
+
+    /**
+     * @param fields comma separated field names, or "compact"; null selects every field
+     * @param expand comma separated expansions; null expands everything when {@code fields} is null too
+     *               and nothing otherwise, so a client listing fields gets exactly those
+     * @throws IllegalArgumentException on an unknown name
+     */
+    public static CourseFieldSelection parse(String fields, String expand) {
+        if (fields == null && expand == null) {
+            return ALL;
+        }
+        Set<CourseField> selectedFields;
+        if (fields == null) {
+            selectedFields = EnumSet.allOf(CourseField.class);
+        } else if ("compact".equalsIgnoreCase(fields.trim())) {
+            selectedFields = EnumSet.copyOf(CourseField.COMPACT);
+        } else {
+            selectedFields = EnumSet.of(CourseField.COURSE_ID); // always present, listings are keyed by it
+            for (String name : fields.split(",")) {
+                if (!name.trim().isEmpty()) {
+                    selectedFields.add(CourseField.fromParam(name));
+                }
+            }
+        }
+        Set<CourseExpansion> selectedExpansions = EnumSet.noneOf(CourseExpansion.class);
+        if (expand != null) {
+            for (String name : expand.split(",")) {
+                if (!name.trim().isEmpty()) {
+                    selectedExpansions.add(CourseExpansion.fromParam(name));
+                }
+            }
+        }
+        return new CourseFieldSelection(selectedFields, selectedExpansions);
+    }
+
+    public boolean isAll() {
+        return fields.size() == CourseField.values().length && expansions.size() == CourseExpansion.values().length;
+    }
+
+    public boolean includes(CourseField field) {
+        return fields.contains(field);
+    }
+
+    public boolean expands(CourseExpansion expansion) {
+        return expansions.contains(expansion);
+    }
+
+    public boolean needsDescription() {
+        return includes(CourseField.DESCRIPTION);
+    }
+
+    public boolean needsInstructors() {
+        return expands(CourseExpansion.INSTRUCTORS) || includes(CourseField.FIRST_INSTRUCTOR_NAME)
+                || includes(CourseField.FIRST_INSTRUCTOR_ID);
+    }
+
+    public boolean needsModules() {
+        return expands(CourseExpansion.MODULES);
+    }
+
+    /**
+     * Copy of {@code course} with only the selected parts; {@code course} itself when everything is selected.
+     */
+    public CourseListDTO apply(CourseListDTO course) {
+        if (isAll()) {
+            return course;
+        }
+        CourseListDTO sparse = new CourseListDTO();
+        sparse.setCourseId(course.getCourseId());
+        if (includes(CourseField.TITLE)) sparse.setTitle(course.getTitle());
+        if (includes(CourseField.DESCRIPTION)) sparse.setDescription(course.getDescription());
+        if (includes(CourseField.CATEGORY)) sparse.setCategory(course.getCategory());
+        if (includes(CourseField.MODE)) sparse.setMode(course.getMode());
+        if (includes(CourseField.PRICE)) sparse.setPrice(course.getPrice());
+        if (includes(CourseField.CERTIFICATION_ELIGIBLE)) sparse.setCertificationEligible(course.getCertificationEligible());
+        if (includes(CourseField.CREATED_AT)) sparse.setCreatedAt(course.getCreatedAt());
+        if (includes(CourseField.FIRST_INSTRUCTOR_NAME)) sparse.setFirstInstructorName(course.getFirstInstructorName());
+        if (includes(CourseField.FIRST_INSTRUCTOR_ID)) sparse.setFirstInstructorId(course.getFirstInstructorId());
+        if (includes(CourseField.IMAGE_URL)) sparse.setImageUrl(course.getImageUrl());
+        if (includes(CourseField.LEVEL)) sparse.setLevel(course.getLevel());
+        if (includes(CourseField.START_DATE)) sparse.setStartDate(course.getStartDate());
+        if (includes(CourseField.DURATION)) sparse.setDuration(course.getDuration());
+        if (includes(CourseField.RATING)) sparse.setRating(course.getRating());
+        if (includes(CourseField.REVIEW_COUNT)) sparse.setReviewCount(course.getReviewCount());
+        if (includes(CourseField.PARTICIPANTS)) sparse.setParticipants(course.getParticipants());
+        if (includes(CourseField.LOCATION)) sparse.setLocation(course.getLocation());
+        sparse.setInstructors(expands(CourseExpansion.INSTRUCTORS) ? course.getInstructors() : null);
+        sparse.setModules(expands(CourseExpansion.MODULES) ? course.getModules() : null);
+        return sparse;
+    }
+}
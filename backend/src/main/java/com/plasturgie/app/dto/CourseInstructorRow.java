@@ -0,0 +1,30 @@
+package com.plasturgie.app.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One instructor of a course with the user fields needed to display the instructor's name.
+ */
+@Data
+@NoArgsConstructor
+public class CourseInstructorRow {
+    private Long courseId;
+    private Long instructorId;
+    private String firstName;
+    private String lastName;
+    private String username;
+    private BigDecimal rating;
+
+    public CourseInstructorRow(Long courseId, Long instructorId, String firstName, String lastName,
+                               String username, BigDecimal rating) {
+        this.courseId = courseId;
+        this.instructorId = instructorId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.username = username;
+        this.rating = rating;
+    }
+}
@@ -0,0 +1,29 @@
+package com.plasturgie.app.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of the course catalog. {@code nextCursor} is passed back as {@code ?cursor=} to get the
+ * following page and is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+public class CoursePageDTO {
+    private List<CourseListDTO> items = new ArrayList<>();
+    private String sort;
+    private int limit;
+    private boolean hasMore;
+    private String nextCursor;
+
+    public CoursePageDTO(List<CourseListDTO> items, String sort, int limit, boolean hasMore, String nextCursor) {
+        this.items = items;
+        this.sort = sort;
+        this.limit = limit;
+        this.hasMore = hasMore;
+        this.nextCursor = nextCursor;
+    }
+}
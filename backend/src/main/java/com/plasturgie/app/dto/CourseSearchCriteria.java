@@ -0,0 +1,27 @@
+package com.plasturgie.app.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filters of a faceted catalog search. Several values of the same facet are alternatives (OR), the
+ * different filters all apply together (AND); null or empty means "any".
+ */
+@Data
+@NoArgsConstructor
+public class CourseSearchCriteria {
+    private List<String> categories = new ArrayList<>();
+    private List<String> modes = new ArrayList<>();
+    private List<String> levels = new ArrayList<>();
+    private Boolean certificationEligible;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private LocalDate startFrom;
+    private LocalDate startTo;
+    private String text;
+}
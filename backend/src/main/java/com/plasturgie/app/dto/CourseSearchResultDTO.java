@@ -0,0 +1,33 @@
+package com.plasturgie.app.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of faceted search results. {@code facets} maps each facet (category, mode, level,
+ * certificationEligible, price) to the number of matching courses per value, counted with every
+ * filter applied except the facet's own, so the counts show what selecting another value would give.
+ */
+@Data
+@NoArgsConstructor
+public class CourseSearchResultDTO {
+    private List<CourseListDTO> items = new ArrayList<>();
+    private int total;
+    private int offset;
+    private int limit;
+    private Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+
+    public CourseSearchResultDTO(List<CourseListDTO> items, int total, int offset, int limit,
+                                 Map<String, Map<String, Integer>> facets) {
+        this.items = items;
+        this.total = total;
+        this.offset = offset;
+        this.limit = limit;
+        this.facets = facets;
+    }
+}
@@ -0,0 +1,31 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.enums.Role;
+
+/**
+ * The columns of a user that bulk enrollment needs, read with a JPQL constructor expression.
+ */
+public class EnrollmentUserRow {
+
+    private final Long userId;
+    private final String email;
+    private final Role role;
+
+    public EnrollmentUserRow(Long userId, String email, Role role) {
+        this.userId = userId;
+        this.email = email;
+        this.role = role;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+}
@@ -13,11 +13,40 @@ public class ModuleResponseDTO {
 
     private String pdfFilename;
     private boolean hasPdf;
+    private Long pdfSize;
+    private String pdfSha256;
 
     private String videoFilename; // To indicate if a video exists and its name
     private boolean hasVideo;     // A flag to easily check if video is available
+    private Long videoSize;
+    private String videoSha256;
     // We don't send videoData in the response list.
     // It's fetched via a separate download endpoint.
+
+    public ModuleResponseDTO() {
+    }
+
+    // Used by the ModuleRepository projection queries; only metadata columns are selected, never the media itself.
+    // Legacy rows (content still in the old LOB columns) have a filename but no blob key yet.
+    public ModuleResponseDTO(Long moduleId, String title, String description, Integer moduleOrder,
+                             Long courseId, String courseTitle,
+                             String pdfFilename, String pdfBlobKey, Long pdfSize, String pdfSha256,
+                             String videoFilename, String videoBlobKey, Long videoSize, String videoSha256) {
+        this.moduleId = moduleId;
+        this.title = title;
+        this.description = description;
+        this.moduleOrder = moduleOrder;
+        this.courseId = courseId;
+        this.courseTitle = courseTitle;
+        this.pdfFilename = pdfFilename;
+        this.hasPdf = pdfBlobKey != null || pdfFilename != null;
+        this.pdfSize = pdfSize;
+        this.pdfSha256 = pdfSha256;
+        this.videoFilename = videoFilename;
+        this.hasVideo = videoBlobKey != null || videoFilename != null;
+        this.videoSize = videoSize;
+        this.videoSha256 = videoSha256;
+    }
 	public Long getModuleId() {
 		return moduleId;
 	}
@@ -78,4 +107,28 @@ public class ModuleResponseDTO {
 	public void setHasVideo(boolean hasVideo) {
 		this.hasVideo = hasVideo;
 	}
-}
\ No newline at end of file
+	public Long getPdfSize() {
+		return pdfSize;
+	}
+	public void setPdfSize(Long pdfSize) {
+		this.pdfSize = pdfSize;
+	}
+	public String getPdfSha256() {
+		return pdfSha256;
+	}
+	public void setPdfSha256(String pdfSha256) {
+		this.pdfSha256 = pdfSha256;
+	}
+	public Long getVideoSize() {
+		return videoSize;
+	}
+	public void setVideoSize(Long videoSize) {
+		this.videoSize = videoSize;
+	}
+	public String getVideoSha256() {
+		return videoSha256;
+	}
+	public void setVideoSha256(String videoSha256) {
+		this.videoSha256 = videoSha256;
+	}
+}
@@ -0,0 +1,36 @@
+package com.plasturgie.app.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A name with a popularity figure, selected with JPQL constructor expressions to feed the typeahead
+ * suggestions. {@code id} is null for values that are not entities (service categories).
+ */
+@Data
+@NoArgsConstructor
+public class PopularityRow {
+    private Long id;
+    private String name;
+    private long popularity;
+
+    public PopularityRow(Long id, String name, Long popularity) {
+        this.id = id;
+        this.name = name;
+        this.popularity = popularity != null ? popularity : 0;
+    }
+
+    public PopularityRow(String name, Long popularity) {
+        this(null, name, popularity);
+    }
+
+    // Instructors are named after their user account, falling back to the username
+    public PopularityRow(Long id, String firstName, String lastName, String username, Long popularity) {
+        this(id, instructorName(firstName, lastName, username), popularity);
+    }
+
+    private static String instructorName(String firstName, String lastName, String username) {
+        String fullName = ((firstName != null ? firstName.trim() : "") + (lastName != null ? " " + lastName.trim() : "")).trim();
+        return fullName.isEmpty() ? username : fullName;
+    }
+}
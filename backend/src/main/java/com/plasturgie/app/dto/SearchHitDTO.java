@@ -0,0 +1,16 @@
+package com.plasturgie.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitDTO {
+    private String type; // course, event, service, company or instructor
+    private Long id;
+    private String title;
+    private String summary;
+    private double score;
+}
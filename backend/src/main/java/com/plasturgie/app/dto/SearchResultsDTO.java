@@ -0,0 +1,20 @@
+package com.plasturgie.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Best matches of a site-wide search, highest score first; {@code total} counts every match.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultsDTO {
+    private String query;
+    private int total;
+    private List<SearchHitDTO> hits = new ArrayList<>();
+}
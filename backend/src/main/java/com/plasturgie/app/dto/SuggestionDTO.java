@@ -0,0 +1,14 @@
+package com.plasturgie.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDTO {
+    private String type; // course, instructor, company or service_category
+    private Long id; // null for service categories
+    private String text;
+}
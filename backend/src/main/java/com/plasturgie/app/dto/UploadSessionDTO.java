@@ -0,0 +1,81 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.enums.UploadTarget;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class UploadSessionDTO {
+    private String uploadId;
+    private Long courseId;
+    private Long moduleId;
+    private UploadTarget target;
+    private String filename;
+    private Long totalSize;
+    private Long offset;       // Bytes received so far; the next chunk must start here
+    private LocalDateTime expiresAt;
+    private boolean completed;
+    private ModuleResponseDTO module; // Set once the upload has been attached to the module
+
+	public String getUploadId() {
+		return uploadId;
+	}
+	public void setUploadId(String uploadId) {
+		this.uploadId = uploadId;
+	}
+	public Long getCourseId() {
+		return courseId;
+	}
+	public void setCourseId(Long courseId) {
+		this.courseId = courseId;
+	}
+	public Long getModuleId() {
+		return moduleId;
+	}
+	public void setModuleId(Long moduleId) {
+		this.moduleId = moduleId;
+	}
+	public UploadTarget getTarget() {
+		return target;
+	}
+	public void setTarget(UploadTarget target) {
+		this.target = target;
+	}
+	public String getFilename() {
+		return filename;
+	}
+	public void setFilename(String filename) {
+		this.filename = filename;
+	}
+	public Long getTotalSize() {
+		return totalSize;
+	}
+	public void setTotalSize(Long totalSize) {
+		this.totalSize = totalSize;
+	}
+	public Long getOffset() {
+		return offset;
+	}
+	public void setOffset(Long offset) {
+		this.offset = offset;
+	}
+	public LocalDateTime getExpiresAt() {
+		return expiresAt;
+	}
+	public void setExpiresAt(LocalDateTime expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+	public boolean isCompleted() {
+		return completed;
+	}
+	public void setCompleted(boolean completed) {
+		this.completed = completed;
+	}
+	public ModuleResponseDTO getModule() {
+		return module;
+	}
+	public void setModule(ModuleResponseDTO module) {
+		this.module = module;
+	}
+}
@@ -0,0 +1,69 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.enums.UploadTarget;
+import lombok.Data;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+
+@Data
+public class UploadSessionRequestDTO {
+
+    @NotNull(message = "Upload target (PDF or VIDEO) is required")
+    private UploadTarget target;
+
+    @Size(max = 255, message = "Filename cannot exceed 255 characters")
+    private String filename;
+
+    private String contentType;
+
+    @NotNull(message = "Total size is required")
+    @Positive(message = "Total size must be positive")
+    private Long totalSize;
+
+    // Optional; verified once the last chunk has been received
+    @Pattern(regexp = "[0-9a-fA-F]{64}", message = "sha256 must be 64 hexadecimal characters")
+    private String sha256;
+
+	public UploadTarget getTarget() {
+		return target;
+	}
+
+	public void setTarget(UploadTarget target) {
+		this.target = target;
+	}
+
+	public String getFilename() {
+		return filename;
+	}
+
+	public void setFilename(String filename) {
+		this.filename = filename;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public void setContentType(String contentType) {
+		this.contentType = contentType;
+	}
+
+	public Long getTotalSize() {
+		return totalSize;
+	}
+
+	public void setTotalSize(Long totalSize) {
+		this.totalSize = totalSize;
+	}
+
+	public String getSha256() {
+		return sha256;
+	}
+
+	public void setSha256(String sha256) {
+		this.sha256 = sha256;
+	}
+}
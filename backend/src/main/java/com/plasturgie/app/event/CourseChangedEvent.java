@@ -0,0 +1,19 @@
+package com.plasturgie.app.event;
+
+/**
+ * Published inside the transaction that creates, changes or deletes a course, or changes what its
+ * listing shows (modules, review and enrollment statistics). Components keeping in-memory views of the
+ * catalog listen for it after commit and re-read the course, so a rolled back change is never indexed.
+ */
+public class CourseChangedEvent {
+
+    private final Long courseId;
+
+    public CourseChangedEvent(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+}
@@ -0,0 +1,26 @@
+package com.plasturgie.app.event;
+
+import java.util.Set;
+
+/**
+ * Published inside the transaction that assigns instructors to a course or removes them, with the
+ * instructors whose course list changed; cached memberships of those instructors are dropped after commit.
+ */
+public class CourseInstructorsChangedEvent {
+
+    private final Long courseId;
+    private final Set<Long> instructorIds;
+
+    public CourseInstructorsChangedEvent(Long courseId, Set<Long> instructorIds) {
+        this.courseId = courseId;
+        this.instructorIds = instructorIds;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Set<Long> getInstructorIds() {
+        return instructorIds;
+    }
+}
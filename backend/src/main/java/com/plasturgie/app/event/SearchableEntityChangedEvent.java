@@ -0,0 +1,27 @@
+package com.plasturgie.app.event;
+
+import com.plasturgie.app.model.enums.SearchDocumentType;
+
+/**
+ * Published inside the transaction that creates, changes or deletes an event, service, company or
+ * instructor, so the full-text index re-reads the entity once the transaction has committed.
+ * Courses publish {@link CourseChangedEvent} instead.
+ */
+public class SearchableEntityChangedEvent {
+
+    private final SearchDocumentType type;
+    private final Long id;
+
+    public SearchableEntityChangedEvent(SearchDocumentType type, Long id) {
+        this.type = type;
+        this.id = id;
+    }
+
+    public SearchDocumentType getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
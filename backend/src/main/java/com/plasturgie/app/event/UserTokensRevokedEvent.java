@@ -0,0 +1,18 @@
+package com.plasturgie.app.event;
+
+/**
+ * Published inside the transaction that invalidates the tokens already issued to a user (token version
+ * incremented, or user deleted). Caches of the token check drop the user after commit.
+ */
+public class UserTokensRevokedEvent {
+
+    private final Long userId;
+
+    public UserTokensRevokedEvent(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+}
@@ -107,6 +107,41 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(body, headers, status);
     }
 
+    // Login/registration burst beyond the hashing pool; cheap to refuse, the client retries
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Object> handlePasswordHashingBusyException(PasswordHashingBusyException ex, WebRequest request) {
+        log.warn("Password hashing saturated: {}", ex.getMessage());
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", System.currentTimeMillis());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+        if (request instanceof ServletWebRequest) {
+            body.put("path", ((ServletWebRequest)request).getRequest().getRequestURI());
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "2");
+        return new ResponseEntity<>(body, headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Object> handleRateLimitExceededException(RateLimitExceededException ex, WebRequest request) {
+        log.warn("Rate limit exceeded: {}", ex.getMessage());
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", System.currentTimeMillis());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", ex.getMessage());
+        if (request instanceof ServletWebRequest) {
+            body.put("path", ((ServletWebRequest)request).getRequest().getRequestURI());
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()));
+        return new ResponseEntity<>(body, headers, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     // You can add more specific exception handlers here.
     // For example, for your custom ResourceNotFoundException:
     /*
@@ -0,0 +1,18 @@
+package com.plasturgie.app.exception;
+
+/**
+ * A rate limit refused the request; answered with 429 and {@code Retry-After}.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
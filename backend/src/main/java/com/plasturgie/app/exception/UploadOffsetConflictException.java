@@ -0,0 +1,23 @@
+package com.plasturgie.app.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A chunk did not start at the offset the server has, or another chunk for the same upload is in progress.
+ * Carries the current offset so the client can resume from there.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class UploadOffsetConflictException extends RuntimeException {
+
+    private final long currentOffset;
+
+    public UploadOffsetConflictException(String message, long currentOffset) {
+        super(message);
+        this.currentOffset = currentOffset;
+    }
+
+    public long getCurrentOffset() {
+        return currentOffset;
+    }
+}
@@ -0,0 +1,22 @@
+package com.plasturgie.app.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * An upload is larger than app.upload.max-size.
+ */
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class UploadTooLargeException extends RuntimeException {
+
+    private final long maxBytes;
+
+    public UploadTooLargeException(long maxBytes) {
+        super("Upload exceeds the maximum size of " + maxBytes + " bytes.");
+        this.maxBytes = maxBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
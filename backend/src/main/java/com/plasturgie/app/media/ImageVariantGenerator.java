@@ -0,0 +1,170 @@
+package com.plasturgie.app.media;
+
+import com.plasturgie.app.model.enums.ImageVariantSize;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Produces the resized JPEG renditions of an image using only the JDK's ImageIO / Java2D.
+ * Each variant fits inside a square box of the configured edge length and is never upscaled.
+ * Large sources are subsampled while decoding, so a 40 MP phone photo is never fully expanded in memory.
+ */
+@Component
+public class ImageVariantGenerator {
+
+    public static final String CONTENT_TYPE = "image/jpeg";
+
+    private final Map<ImageVariantSize, Integer> edges = new EnumMap<>(ImageVariantSize.class);
+    private final float quality;
+
+    public ImageVariantGenerator(@Value("${app.media.variants.thumb-edge:160}") int thumbEdge,
+                                 @Value("${app.media.variants.card-edge:480}") int cardEdge,
+                                 @Value("${app.media.variants.full-edge:1600}") int fullEdge,
+                                 @Value("${app.media.variants.jpeg-quality:0.82}") float quality) {
+        edges.put(ImageVariantSize.THUMB, thumbEdge);
+        edges.put(ImageVariantSize.CARD, cardEdge);
+        edges.put(ImageVariantSize.FULL, fullEdge);
+        this.quality = quality;
+    }
+
+    public static class Rendition {
+        private final byte[] content;
+        private final int width;
+        private final int height;
+
+        Rendition(byte[] content, int width, int height) {
+            this.content = content;
+            this.width = width;
+            this.height = height;
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+    }
+
+    /**
+     * Decodes {@code source} once and renders every variant from it, largest first so each smaller
+     * variant is scaled down from the previous one.
+     *
+     * @throws IllegalArgumentException when the content is not an image format ImageIO can read
+     */
+    public Map<ImageVariantSize, Rendition> render(InputStream source) throws IOException {
+        BufferedImage image = decode(source, largestEdge() * 2);
+        Map<ImageVariantSize, Rendition> renditions = new EnumMap<>(ImageVariantSize.class);
+        ImageVariantSize[] sizes = ImageVariantSize.values();
+        for (int i = sizes.length - 1; i >= 0; i--) {
+            image = fit(image, edges.get(sizes[i]));
+            renditions.put(sizes[i], new Rendition(encode(image), image.getWidth(), image.getHeight()));
+        }
+        return renditions;
+    }
+
+    private int largestEdge() {
+        return edges.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    private BufferedImage decode(InputStream source, int targetEdge) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, longest / Math.max(1, targetEdge));
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales down in halving steps with bilinear interpolation (close to area averaging at a fraction of
+     * the cost) and flattens any alpha channel onto white, since JPEG has none.
+     */
+    private static BufferedImage fit(BufferedImage image, int edge) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = Math.min(1.0, (double) edge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = image;
+        do {
+            int stepWidth = Math.max(targetWidth, current.getWidth() / 2);
+            int stepHeight = Math.max(targetHeight, current.getHeight() / 2);
+            if (current.getType() == BufferedImage.TYPE_INT_RGB
+                    && stepWidth == current.getWidth() && stepHeight == current.getHeight()) {
+                break;
+            }
+            BufferedImage next = new BufferedImage(stepWidth, stepHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, stepWidth, stepHeight);
+                g.drawImage(current, 0, 0, stepWidth, stepHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (current.getWidth() != targetWidth || current.getHeight() != targetHeight);
+        return current;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IllegalStateException("No JPEG writer available");
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,224 @@
+package com.plasturgie.app.media;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Size-bounded cache of whole media contents held off-heap in direct {@link ByteBuffer}s, so hot images
+ * and short videos are served from memory without touching the database or the blob store and without
+ * growing the Java heap.
+ * <p>
+ * Entries are evicted least-recently-used first. To keep one-off downloads from flushing the hot set, an item
+ * is only admitted once it has been requested {@code admit-after-hits} times (a small, bounded frequency table
+ * tracks candidates). Blob-store content is keyed by its content hash and can never be stale; legacy LOB
+ * content is keyed by row and checked against its Last-Modified, and both are explicitly invalidated when
+ * the owning row is updated or deleted.
+ */
+@Component
+public class MediaCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaCache.class);
+
+    private static final int MAX_TRACKED_CANDIDATES = 10_000;
+
+    private final boolean enabled;
+    private final long capacityBytes;
+    private final long maxEntryBytes;
+    private final int admitAfterHits;
+
+    // Guarded by "this"; access-ordered for LRU
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final LinkedHashMap<String, Integer> candidates = new LinkedHashMap<String, Integer>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > MAX_TRACKED_CANDIDATES;
+        }
+    };
+    private long usedBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @FunctionalInterface
+    public interface Loader {
+        void load(OutputStream out) throws IOException;
+    }
+
+    private static final class Entry {
+        private final ByteBuffer content;
+        private final LocalDateTime version;
+
+        Entry(ByteBuffer content, LocalDateTime version) {
+            this.content = content;
+            this.version = version;
+        }
+    }
+
+    public MediaCache(MeterRegistry meterRegistry,
+                      @Value("${app.media.cache.enabled:true}") boolean enabled,
+                      @Value("${app.media.cache.capacity-bytes:268435456}") long capacityBytes,
+                      @Value("${app.media.cache.max-entry-bytes:33554432}") long maxEntryBytes,
+                      @Value("${app.media.cache.admit-after-hits:2}") int admitAfterHits) {
+        this.enabled = enabled && capacityBytes > 0;
+        this.capacityBytes = capacityBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, Math.min(capacityBytes, Integer.MAX_VALUE));
+        this.admitAfterHits = Math.max(1, admitAfterHits);
+
+        this.hits = Counter.builder("media.cache.requests").tag("result", "hit")
+                .description("Media requests served from the off-heap cache").register(meterRegistry);
+        this.misses = Counter.builder("media.cache.requests").tag("result", "miss")
+                .description("Media requests that had to read the database or blob store").register(meterRegistry);
+        this.evictions = Counter.builder("media.cache.evictions")
+                .description("Entries evicted to stay within the cache capacity").register(meterRegistry);
+        Gauge.builder("media.cache.size", this, MediaCache::usedBytes).baseUnit("bytes")
+                .description("Off-heap bytes held by cached media").register(meterRegistry);
+        Gauge.builder("media.cache.capacity", this, cache -> cache.capacityBytes).baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("media.cache.entries", this, MediaCache::entryCount).register(meterRegistry);
+        Gauge.builder("media.cache.hit.ratio", this, MediaCache::hitRatio).register(meterRegistry);
+    }
+
+    /**
+     * Whether media of this size is handled by the cache at all; larger media are always streamed directly.
+     */
+    public boolean accepts(long length) {
+        return enabled && length > 0 && length <= maxEntryBytes;
+    }
+
+    /**
+     * Writes the requested range of the cached content to {@code out}. On a miss the range is streamed by
+     * {@code fallback}, unless the item has now been requested often enough to be admitted, in which case
+     * {@code loader} reads the whole content into the cache first.
+     */
+    public void write(String key, MediaDescriptor media, long offset, long length, OutputStream out,
+                      Loader loader, MediaResponses.RangeWriter fallback) throws IOException {
+        // Content-addressed blobs never change; only legacy row content needs a version check
+        LocalDateTime version = media.getStorageKey() != null ? null : media.getLastModified();
+        Entry entry = lookup(key, version);
+        if (entry == null && admit(key)) {
+            entry = load(key, media.getLength(), version, loader);
+        }
+        if (entry == null) {
+            misses.increment();
+            fallback.write(offset, length, out);
+            return;
+        }
+        hits.increment();
+        ByteBuffer view = entry.content.duplicate();
+        view.position((int) offset).limit((int) (offset + length));
+        WritableByteChannel channel = Channels.newChannel(out);
+        while (view.hasRemaining()) {
+            channel.write(view);
+        }
+        out.flush();
+    }
+
+    public synchronized void invalidate(String key) {
+        Entry removed = entries.remove(key);
+        candidates.remove(key);
+        if (removed != null) {
+            usedBytes -= removed.content.capacity();
+        }
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized int entryCount() {
+        return entries.size();
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    private synchronized Entry lookup(String key, LocalDateTime version) {
+        Entry entry = entries.get(key);
+        if (entry != null && !Objects.equals(entry.version, version)) {
+            entries.remove(key);
+            usedBytes -= entry.content.capacity();
+            return null;
+        }
+        return entry;
+    }
+
+    private synchronized boolean admit(String key) {
+        int seen = candidates.merge(key, 1, Integer::sum);
+        if (seen < admitAfterHits) {
+            return false;
+        }
+        candidates.remove(key);
+        return true;
+    }
+
+    /**
+     * The content is read outside the lock; if two requests race, the second insert simply replaces the first.
+     */
+    private Entry load(String key, long length, LocalDateTime version, Loader loader) throws IOException {
+        int size = (int) length;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+        loader.load(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                if (!buffer.hasRemaining()) {
+                    throw new IOException("Media content is longer than its recorded length");
+                }
+                buffer.put((byte) b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (len > buffer.remaining()) {
+                    throw new IOException("Media content is longer than its recorded length");
+                }
+                buffer.put(b, off, len);
+            }
+        });
+        if (buffer.hasRemaining()) {
+            logger.warn("Media {} is shorter than its recorded length; not caching it", key);
+            return null;
+        }
+        buffer.flip();
+        Entry entry = new Entry(buffer.asReadOnlyBuffer(), version);
+        insert(key, entry);
+        return entry;
+    }
+
+    private synchronized void insert(String key, Entry entry) {
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            usedBytes -= previous.content.capacity();
+        }
+        usedBytes += entry.content.capacity();
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (usedBytes > capacityBytes && eldest.hasNext()) {
+            Map.Entry<String, Entry> victim = eldest.next();
+            if (victim.getKey().equals(key)) {
+                continue;
+            }
+            usedBytes -= victim.getValue().content.capacity();
+            eldest.remove();
+            evictions.increment();
+        }
+        logger.debug("Cached media {} ({} bytes, {} of {} bytes used)", key, entry.content.capacity(), usedBytes, capacityBytes);
+    }
+}
@@ -0,0 +1,44 @@
+package com.plasturgie.app.media;
+
+import com.plasturgie.app.repository.MediaRepository.MediaSlot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache-Control policy per kind of stored media. Course images are public catalog assets and can be
+ * cached by shared caches; user images and module content are only cached by the client. All
+ * responses carry a strong ETag / Last-Modified, so expired entries are revalidated with a 304.
+ */
+@Component
+public class MediaCachePolicy {
+
+    // For responses that stand in for content not available yet (e.g. an image variant still being rendered)
+    public static final String REVALIDATE = "no-cache";
+
+    @Value("${app.media.cache-control.course-image:public, max-age=86400}")
+    private String courseImage;
+
+    @Value("${app.media.cache-control.user-image:private, max-age=3600}")
+    private String userImage;
+
+    @Value("${app.media.cache-control.module-pdf:private, max-age=3600}")
+    private String modulePdf;
+
+    @Value("${app.media.cache-control.module-video:private, max-age=86400}")
+    private String moduleVideo;
+
+    public String forSlot(MediaSlot slot) {
+        switch (slot) {
+            case COURSE_IMAGE:
+                return courseImage;
+            case USER_IMAGE:
+                return userImage;
+            case MODULE_PDF:
+                return modulePdf;
+            case MODULE_VIDEO:
+                return moduleVideo;
+            default:
+                return REVALIDATE;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.plasturgie.app.media;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight description of a stored binary (PDF, video, image) that can be
+ * resolved without reading the binary itself. Used to build response headers
+ * (Content-Length, Content-Range, Last-Modified, ETag) before any byte is streamed.
+ */
+public class MediaDescriptor {
+
+    private final String filename;
+    private final String contentType;
+    private final long length;
+    private final LocalDateTime lastModified;
+    private final String etag;
+    private final String storageKey;
+
+    public MediaDescriptor(String filename, String contentType, long length, LocalDateTime lastModified,
+                           String etag, String storageKey) {
+        this.filename = filename;
+        this.contentType = contentType;
+        this.length = length;
+        this.lastModified = lastModified;
+        this.etag = etag;
+        this.storageKey = storageKey;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Strong entity tag including the surrounding quotes, or null when none is known.
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Key of the content in the {@link com.plasturgie.app.storage.BlobStore},
+     * or null when the content still lives in a legacy LOB column.
+     */
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public boolean isEmpty() {
+        return length <= 0;
+    }
+}
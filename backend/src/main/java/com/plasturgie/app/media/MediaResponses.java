@@ -0,0 +1,241 @@
+package com.plasturgie.app.media;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Builds streaming HTTP responses for stored media with byte-range support
+ * (Range / If-Range / Accept-Ranges, 206 Partial Content, 416 Range Not Satisfiable)
+ * and conditional GET (If-None-Match / If-Modified-Since, 304 Not Modified).
+ * The body is produced lazily by a {@link RangeWriter}, so only a fixed-size buffer
+ * is held in memory per viewer regardless of the media size, and nothing is read at all
+ * when the client's cached copy is still valid.
+ */
+public final class MediaResponses {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaResponses.class);
+
+    // Servlet-container sendfile contract (Tomcat, also honoured by Undertow's Tomcat compatibility layer).
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Writes {@code length} bytes of the media starting at {@code offset} (zero based) to {@code out}.
+     */
+    @FunctionalInterface
+    public interface RangeWriter {
+        void write(long offset, long length, OutputStream out) throws IOException;
+    }
+
+    private MediaResponses() {
+    }
+
+    public static ResponseEntity<StreamingResponseBody> ranged(MediaDescriptor media,
+                                                               HttpHeaders requestHeaders,
+                                                               String cacheControl,
+                                                               RangeWriter writer) {
+        return ranged(media, requestHeaders, cacheControl, writer, null, null);
+    }
+
+    /**
+     * Variant for media backed by a local file: when the servlet container supports sendfile the
+     * selected range is handed to the kernel and no body is written from the JVM at all; otherwise
+     * {@code writer} is used as usual.
+     */
+    public static ResponseEntity<StreamingResponseBody> ranged(MediaDescriptor media,
+                                                               HttpServletRequest request,
+                                                               Path localFile,
+                                                               String cacheControl,
+                                                               RangeWriter writer) {
+        HttpHeaders requestHeaders = new ServletServerHttpRequest(request).getHeaders();
+        return ranged(media, requestHeaders, cacheControl, writer, request, localFile);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> ranged(MediaDescriptor media,
+                                                                HttpHeaders requestHeaders,
+                                                                String cacheControl,
+                                                                RangeWriter writer,
+                                                                HttpServletRequest request,
+                                                                Path localFile) {
+        long total = media.getLength();
+        HttpHeaders headers = baseHeaders(media);
+        if (StringUtils.hasText(cacheControl)) {
+            headers.setCacheControl(cacheControl);
+        }
+
+        if (notModified(media, requestHeaders)) {
+            // RFC 7232 4.1: a 304 carries the validators and caching headers but no representation metadata.
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            headers.remove(HttpHeaders.CONTENT_DISPOSITION);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        String rangeHeader = requestHeaders.getFirst(HttpHeaders.RANGE);
+        if (!StringUtils.hasText(rangeHeader) || !ifRangeMatches(media, requestHeaders)) {
+            return full(headers, total, writer, request, localFile);
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            logger.debug("Ignoring malformed Range header '{}': {}", rangeHeader, e.getMessage());
+            return full(headers, total, writer, request, localFile);
+        }
+        // multipart/byteranges is not supported; RFC 7233 allows answering with the full representation instead.
+        if (ranges.size() != 1) {
+            return full(headers, total, writer, request, localFile);
+        }
+
+        HttpRange range = ranges.get(0);
+        long start = range.getRangeStart(total);
+        long end = range.getRangeEnd(total);
+        if (start >= total || start > end) {
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + total);
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+        }
+
+        long length = end - start + 1;
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + total);
+        headers.setContentLength(length);
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers)
+                .body(body(start, length, writer, request, localFile));
+    }
+
+    public static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant() : null;
+    }
+
+    private static ResponseEntity<StreamingResponseBody> full(HttpHeaders headers, long total, RangeWriter writer,
+                                                              HttpServletRequest request, Path localFile) {
+        headers.setContentLength(total);
+        return ResponseEntity.ok().headers(headers).body(body(0, total, writer, request, localFile));
+    }
+
+    private static StreamingResponseBody body(long start, long length, RangeWriter writer,
+                                              HttpServletRequest request, Path localFile) {
+        if (request != null && localFile != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, localFile.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return null;
+        }
+        return out -> writer.write(start, length, out);
+    }
+
+    private static HttpHeaders baseHeaders(MediaDescriptor media) {
+        HttpHeaders headers = new HttpHeaders();
+        MediaType mediaType = MediaType.APPLICATION_OCTET_STREAM;
+        if (StringUtils.hasText(media.getContentType())) {
+            try {
+                mediaType = MediaType.parseMediaType(media.getContentType());
+            } catch (InvalidMediaTypeException e) {
+                logger.warn("Invalid stored content type '{}', defaulting to octet-stream.", media.getContentType());
+            }
+        }
+        headers.setContentType(mediaType);
+        if (StringUtils.hasText(media.getFilename())) {
+            headers.setContentDisposition(ContentDisposition.inline()
+                    .filename(media.getFilename(), StandardCharsets.UTF_8)
+                    .build());
+        }
+        Instant lastModified = toInstant(media.getLastModified());
+        if (lastModified != null) {
+            headers.setLastModified(lastModified);
+        }
+        if (media.getEtag() != null) {
+            headers.setETag(media.getEtag());
+        }
+        return headers;
+    }
+
+    /**
+     * If-None-Match takes precedence over If-Modified-Since (RFC 7232 6). Entity tags use weak
+     * comparison here, as required for If-None-Match; dates are compared at second precision
+     * since that is all an HTTP date carries.
+     */
+    private static boolean notModified(MediaDescriptor media, HttpHeaders requestHeaders) {
+        List<String> ifNoneMatch;
+        try {
+            ifNoneMatch = requestHeaders.getIfNoneMatch();
+        } catch (IllegalArgumentException e) {
+            logger.debug("Ignoring malformed If-None-Match header: {}", e.getMessage());
+            ifNoneMatch = List.of();
+        }
+        if (!ifNoneMatch.isEmpty()) {
+            if (media.getEtag() == null) {
+                return false;
+            }
+            String current = opaqueTag(media.getEtag());
+            for (String candidate : ifNoneMatch) {
+                if ("*".equals(candidate.trim()) || opaqueTag(candidate).equals(current)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        Instant lastModified = toInstant(media.getLastModified());
+        if (lastModified == null) {
+            return false;
+        }
+        try {
+            long since = requestHeaders.getIfModifiedSince();
+            return since >= 0 && lastModified.getEpochSecond() <= since / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static String opaqueTag(String etag) {
+        String tag = etag.trim();
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    /**
+     * If-Range: the range is only honoured when the validator still identifies the current
+     * representation. Entity tags use strong comparison; dates must match Last-Modified exactly.
+     */
+    private static boolean ifRangeMatches(MediaDescriptor media, HttpHeaders requestHeaders) {
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (!StringUtils.hasText(ifRange)) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return media.getEtag() != null && ifRange.equals(media.getEtag());
+        }
+        Instant lastModified = toInstant(media.getLastModified());
+        if (lastModified == null) {
+            return false;
+        }
+        try {
+            long since = requestHeaders.getFirstDate(HttpHeaders.IF_RANGE);
+            return since >= 0 && since / 1000 == lastModified.getEpochSecond();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -10,6 +10,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -22,7 +23,14 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "courses")
+@Table(name = "courses", indexes = {
+        // Keyset pagination of the catalog: one (sort key, id) index per sort order. The sort keys are
+        // NOT NULL so a (key, id) row comparison can enter the index directly, in either scan direction.
+        @Index(name = "idx_courses_created_at_id", columnList = "created_at, course_id"),
+        @Index(name = "idx_courses_price_id", columnList = "price, course_id"),
+        @Index(name = "idx_courses_rating_average_id", columnList = "rating_average, course_id"),
+        @Index(name = "idx_courses_enrollment_count_id", columnList = "enrollment_count, course_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -50,6 +58,8 @@ public class Course {
     @Enumerated(EnumType.STRING)
     private Mode mode;
 
+    // Catalog sort key: a course without a price is stored as 0, see fillSortKeys()
+    @Column(nullable = false)
     private BigDecimal price;
 
     @Column(name = "certification_eligible")
@@ -64,14 +74,34 @@ public class Course {
     @Column
     private String location;
 
-    @Lob
-    @Basic(fetch = FetchType.LAZY)
-    @Column(name = "image_data", columnDefinition="BLOB")
-    private byte[] imageData; // Jackson serializes byte[] to Base64 string by default
+    // Image binary lives in the BlobStore; the legacy image_data LOB column is no longer mapped.
+    @Column(name = "image_blob_key", length = 64)
+    private String imageBlobKey;
+
+    @Column(name = "image_size")
+    private Long imageSize;
 
     @Column(name = "image_content_type", length = 100)
     private String imageContentType;
 
+    // Denormalized statistics, maintained by CourseStatsService with atomic UPDATEs. Never written
+    // through the entity so that saving a course cannot overwrite a concurrent increment.
+    @Column(name = "review_count", updatable = false)
+    private Long reviewCount = 0L;
+
+    @Column(name = "rating_sum", updatable = false)
+    private Long ratingSum = 0L;
+
+    // Catalog sort keys: NOT NULL with a DEFAULT so ddl-auto can add them to a table that already has rows
+    @ColumnDefault("0")
+    @Column(name = "enrollment_count", nullable = false, updatable = false)
+    private Long enrollmentCount = 0L;
+
+    // rating_sum / review_count, stored so the catalog can be sorted by rating through an index
+    @ColumnDefault("0")
+    @Column(name = "rating_average", nullable = false, updatable = false)
+    private Double ratingAverage = 0.0;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "course_instructors",
             joinColumns = @JoinColumn(name = "course_id"),
@@ -95,7 +125,7 @@ public class Course {
     private Set<Module> modules = new HashSet<>();
 
     @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
@@ -107,6 +137,22 @@ public class Course {
     @JsonManagedReference("course-practicalSessions")
     private Set<PracticalSession> practicalSessions = new HashSet<>();
 
+    // Coalesces the catalog sort keys at write time; rows written before this are backfilled by
+    // CourseRepository.fillMissingSortKeys() at startup
+    @PrePersist
+    @PreUpdate
+    private void fillSortKeys() {
+        if (price == null) {
+            price = BigDecimal.ZERO;
+        }
+        if (enrollmentCount == null) {
+            enrollmentCount = 0L;
+        }
+        if (ratingAverage == null) {
+            ratingAverage = 0.0;
+        }
+    }
+
 	public Long getCourseId() {
 		return courseId;
 	}
@@ -195,12 +241,20 @@ public class Course {
 		this.location = location;
 	}
 
-	public byte[] getImageData() {
-		return imageData;
+	public String getImageBlobKey() {
+		return imageBlobKey;
 	}
 
-	public void setImageData(byte[] imageData) {
-		this.imageData = imageData;
+	public void setImageBlobKey(String imageBlobKey) {
+		this.imageBlobKey = imageBlobKey;
+	}
+
+	public Long getImageSize() {
+		return imageSize;
+	}
+
+	public void setImageSize(Long imageSize) {
+		this.imageSize = imageSize;
 	}
 
 	public String getImageContentType() {
@@ -211,6 +265,38 @@ public class Course {
 		this.imageContentType = imageContentType;
 	}
 
+	public Long getReviewCount() {
+		return reviewCount;
+	}
+
+	public void setReviewCount(Long reviewCount) {
+		this.reviewCount = reviewCount;
+	}
+
+	public Long getRatingSum() {
+		return ratingSum;
+	}
+
+	public void setRatingSum(Long ratingSum) {
+		this.ratingSum = ratingSum;
+	}
+
+	public Long getEnrollmentCount() {
+		return enrollmentCount;
+	}
+
+	public void setEnrollmentCount(Long enrollmentCount) {
+		this.enrollmentCount = enrollmentCount;
+	}
+
+	public Double getRatingAverage() {
+		return ratingAverage;
+	}
+
+	public void setRatingAverage(Double ratingAverage) {
+		this.ratingAverage = ratingAverage;
+	}
+
 	public Set<Instructor> getInstructors() {
 		return instructors;
 	}
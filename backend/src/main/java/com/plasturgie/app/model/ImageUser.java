@@ -11,7 +11,6 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
-import java.util.Arrays; // Import for comparing byte arrays in equals()
 import java.util.Objects; // Import for Objects.hash() and Objects.equals()
 
 @Entity
@@ -31,10 +30,12 @@ public class ImageUser {
     @Column(name = "content_type")
     private String contentType;
 
-    @Lob
-    @Basic(fetch = FetchType.LAZY)
-    @Column(name = "image_data", nullable = false)
-    private byte[] imageData;
+    // Binary lives in the BlobStore; the legacy image_data LOB column is no longer mapped.
+    @Column(name = "image_blob_key", length = 64)
+    private String imageBlobKey;
+
+    @Column(name = "image_size")
+    private Long imageSize;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -55,10 +56,11 @@ public class ImageUser {
     }
 
     // 2. Optional: Custom constructor (Keep if you use it)
-    public ImageUser(String filename, String contentType, byte[] imageData, User user) {
+    public ImageUser(String filename, String contentType, String imageBlobKey, Long imageSize, User user) {
         this.filename = filename;
         this.contentType = contentType;
-        this.imageData = imageData;
+        this.imageBlobKey = imageBlobKey;
+        this.imageSize = imageSize;
         this.user = user;
         // Timestamps handled by Auditing
     }
@@ -76,8 +78,12 @@ public class ImageUser {
         return contentType;
     }
 
-    public byte[] getImageData() {
-        return imageData;
+    public String getImageBlobKey() {
+        return imageBlobKey;
+    }
+
+    public Long getImageSize() {
+        return imageSize;
     }
 
     public User getUser() {
@@ -106,8 +112,12 @@ public class ImageUser {
         this.contentType = contentType;
     }
 
-    public void setImageData(byte[] imageData) {
-        this.imageData = imageData;
+    public void setImageBlobKey(String imageBlobKey) {
+        this.imageBlobKey = imageBlobKey;
+    }
+
+    public void setImageSize(Long imageSize) {
+        this.imageSize = imageSize;
     }
 
     public void setUser(User user) {
@@ -150,8 +160,8 @@ public class ImageUser {
                 "id=" + id +
                 ", filename='" + filename + '\'' +
                 ", contentType='" + contentType + '\'' +
-                // Avoid printing large byte array content
-                ", imageData=" + (imageData != null ? "byte[" + imageData.length + "]" : "null") +
+                ", imageBlobKey='" + imageBlobKey + '\'' +
+                ", imageSize=" + imageSize +
                 // Avoid infinite recursion if User toString calls ImageUser toString
                 ", userId=" + (user != null ? user.getUserId() : "null") +
                 ", createdAt=" + createdAt +
@@ -0,0 +1,124 @@
+package com.plasturgie.app.model;
+
+import com.plasturgie.app.model.enums.ImageVariantSize;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A resized rendition of an image blob. Variants are keyed by the source blob key rather than by
+ * course or user, so identical uploads share their renditions and a new upload simply has none yet.
+ */
+@Entity
+@Table(name = "image_variants",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"source_key", "variant"}))
+@Data
+@NoArgsConstructor
+public class ImageVariant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "image_variant_seq")
+    @SequenceGenerator(name = "image_variant_seq", sequenceName = "image_variant_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "source_key", nullable = false, length = 64)
+    private String sourceKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "variant", nullable = false, length = 16)
+    private ImageVariantSize variant;
+
+    @Column(name = "blob_key", nullable = false, length = 64)
+    private String blobKey;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(name = "byte_size", nullable = false)
+    private Long byteSize;
+
+    @Column(name = "width", nullable = false)
+    private Integer width;
+
+    @Column(name = "height", nullable = false)
+    private Integer height;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getSourceKey() {
+		return sourceKey;
+	}
+
+	public void setSourceKey(String sourceKey) {
+		this.sourceKey = sourceKey;
+	}
+
+	public ImageVariantSize getVariant() {
+		return variant;
+	}
+
+	public void setVariant(ImageVariantSize variant) {
+		this.variant = variant;
+	}
+
+	public String getBlobKey() {
+		return blobKey;
+	}
+
+	public void setBlobKey(String blobKey) {
+		this.blobKey = blobKey;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public void setContentType(String contentType) {
+		this.contentType = contentType;
+	}
+
+	public Long getByteSize() {
+		return byteSize;
+	}
+
+	public void setByteSize(Long byteSize) {
+		this.byteSize = byteSize;
+	}
+
+	public Integer getWidth() {
+		return width;
+	}
+
+	public void setWidth(Integer width) {
+		this.width = width;
+	}
+
+	public Integer getHeight() {
+		return height;
+	}
+
+	public void setHeight(Integer height) {
+		this.height = height;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+}
@@ -5,7 +5,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import javax.persistence.*;
+import java.time.LocalDateTime;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
@@ -36,10 +39,15 @@ public class Module {
     @JsonBackReference("course-modules") // <--- NAME MUST MATCH
     private Course course;
 
-    // PDF fields
-    @Lob
-    @Column(name = "pdf_data")
-    private byte[] pdfData;
+    // PDF fields. The binary lives in the BlobStore; the legacy pdf_data LOB column is no longer mapped.
+    @Column(name = "pdf_blob_key", length = 64)
+    private String pdfBlobKey;
+
+    @Column(name = "pdf_size")
+    private Long pdfSize;
+
+    @Column(name = "pdf_sha256", length = 64)
+    private String pdfSha256;
 
     @Column(name = "pdf_filename")
     private String pdfFilename;
@@ -48,9 +56,14 @@ public class Module {
     private String pdfContentType;
 
     // Video fields
-    @Lob // Large Object for binary data
-    @Column(name = "video_data")
-    private byte[] videoData;
+    @Column(name = "video_blob_key", length = 64)
+    private String videoBlobKey;
+
+    @Column(name = "video_size")
+    private Long videoSize;
+
+    @Column(name = "video_sha256", length = 64)
+    private String videoSha256;
 
     @Column(name = "video_filename")
     private String videoFilename;
@@ -58,6 +71,10 @@ public class Module {
     @Column(name = "video_content_type")
     private String videoContentType;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
 	public Long getModuleId() {
 		return moduleId;
 	}
@@ -98,12 +115,28 @@ public class Module {
 		this.course = course;
 	}
 
-	public byte[] getPdfData() {
-		return pdfData;
+	public String getPdfBlobKey() {
+		return pdfBlobKey;
+	}
+
+	public void setPdfBlobKey(String pdfBlobKey) {
+		this.pdfBlobKey = pdfBlobKey;
+	}
+
+	public Long getPdfSize() {
+		return pdfSize;
+	}
+
+	public void setPdfSize(Long pdfSize) {
+		this.pdfSize = pdfSize;
+	}
+
+	public String getPdfSha256() {
+		return pdfSha256;
 	}
 
-	public void setPdfData(byte[] pdfData) {
-		this.pdfData = pdfData;
+	public void setPdfSha256(String pdfSha256) {
+		this.pdfSha256 = pdfSha256;
 	}
 
 	public String getPdfFilename() {
@@ -122,12 +155,28 @@ public class Module {
 		this.pdfContentType = pdfContentType;
 	}
 
-	public byte[] getVideoData() {
-		return videoData;
+	public String getVideoBlobKey() {
+		return videoBlobKey;
+	}
+
+	public void setVideoBlobKey(String videoBlobKey) {
+		this.videoBlobKey = videoBlobKey;
+	}
+
+	public Long getVideoSize() {
+		return videoSize;
+	}
+
+	public void setVideoSize(Long videoSize) {
+		this.videoSize = videoSize;
 	}
 
-	public void setVideoData(byte[] videoData) {
-		this.videoData = videoData;
+	public String getVideoSha256() {
+		return videoSha256;
+	}
+
+	public void setVideoSha256(String videoSha256) {
+		this.videoSha256 = videoSha256;
 	}
 
 	public String getVideoFilename() {
@@ -146,5 +195,13 @@ public class Module {
 		this.videoContentType = videoContentType;
 	}
 
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
     // Lombok's @Data will generate getters and setters.
 }
\ No newline at end of file
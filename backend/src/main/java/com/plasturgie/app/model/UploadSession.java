@@ -0,0 +1,168 @@
+package com.plasturgie.app.model;
+
+import com.plasturgie.app.model.enums.UploadTarget;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A resumable upload in progress. The bytes received so far live in a staging file named after
+ * {@link #uploadId}; this row records what the upload is for and when it may be discarded.
+ */
+@Entity
+@Table(name = "upload_sessions")
+@Data
+@NoArgsConstructor
+public class UploadSession {
+
+    @Id
+    @Column(name = "upload_id", length = 36)
+    private String uploadId;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "module_id", nullable = false)
+    private Long moduleId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target", nullable = false, length = 16)
+    private UploadTarget target;
+
+    @Column(name = "filename")
+    private String filename;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Column(name = "received_bytes", nullable = false)
+    private Long receivedBytes;
+
+    @Column(name = "expected_sha256", length = 64)
+    private String expectedSha256;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+	public String getUploadId() {
+		return uploadId;
+	}
+
+	public void setUploadId(String uploadId) {
+		this.uploadId = uploadId;
+	}
+
+	public Long getCourseId() {
+		return courseId;
+	}
+
+	public void setCourseId(Long courseId) {
+		this.courseId = courseId;
+	}
+
+	public Long getModuleId() {
+		return moduleId;
+	}
+
+	public void setModuleId(Long moduleId) {
+		this.moduleId = moduleId;
+	}
+
+	public UploadTarget getTarget() {
+		return target;
+	}
+
+	public void setTarget(UploadTarget target) {
+		this.target = target;
+	}
+
+	public String getFilename() {
+		return filename;
+	}
+
+	public void setFilename(String filename) {
+		this.filename = filename;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public void setContentType(String contentType) {
+		this.contentType = contentType;
+	}
+
+	public Long getTotalSize() {
+		return totalSize;
+	}
+
+	public void setTotalSize(Long totalSize) {
+		this.totalSize = totalSize;
+	}
+
+	public Long getReceivedBytes() {
+		return receivedBytes;
+	}
+
+	public void setReceivedBytes(Long receivedBytes) {
+		this.receivedBytes = receivedBytes;
+	}
+
+	public String getExpectedSha256() {
+		return expectedSha256;
+	}
+
+	public void setExpectedSha256(String expectedSha256) {
+		this.expectedSha256 = expectedSha256;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public LocalDateTime getExpiresAt() {
+		return expiresAt;
+	}
+
+	public void setExpiresAt(LocalDateTime expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+}
@@ -56,6 +56,11 @@ public class User {
     @JsonIgnore
     private LocalDateTime tokenExpiry; // Consider @JsonIgnore for this field in responses
 
+    // Carried in every issued JWT; incrementing it revokes all tokens issued before (null on older rows = 0)
+    @Column(name = "token_version")
+    @JsonIgnore
+    private Integer tokenVersion;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -139,6 +144,14 @@ public class User {
 		this.tokenExpiry = tokenExpiry;
 	}
 
+	public Integer getTokenVersion() {
+		return tokenVersion;
+	}
+
+	public void setTokenVersion(Integer tokenVersion) {
+		this.tokenVersion = tokenVersion;
+	}
+
 	public LocalDateTime getCreatedAt() {
 		return createdAt;
 	}
@@ -0,0 +1,10 @@
+package com.plasturgie.app.model.enums;
+
+// Outcome of one requested learner in a bulk enrollment
+public enum BulkEnrollmentStatus {
+    ENROLLED,
+    ALREADY_ENROLLED,
+    DUPLICATE_IN_REQUEST,
+    USER_NOT_FOUND,
+    NOT_A_LEARNER
+}
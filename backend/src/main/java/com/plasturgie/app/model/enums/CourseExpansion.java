@@ -0,0 +1,18 @@
+package com.plasturgie.app.model.enums;
+
+/**
+ * Related lists of a course listing that can be requested with {@code ?expand=}.
+ */
+public enum CourseExpansion {
+    INSTRUCTORS,
+    MODULES;
+
+    public static CourseExpansion fromParam(String value) {
+        for (CourseExpansion expansion : values()) {
+            if (expansion.name().equalsIgnoreCase(value.trim())) {
+                return expansion;
+            }
+        }
+        throw new IllegalArgumentException("Unknown expansion '" + value + "'. Expected instructors or modules.");
+    }
+}
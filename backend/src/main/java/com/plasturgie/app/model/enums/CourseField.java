@@ -0,0 +1,52 @@
+package com.plasturgie.app.model.enums;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Scalar properties of a course listing that can be selected with {@code ?fields=}. The list-valued
+ * properties (instructors, modules) are selected with {@code ?expand=} instead, see {@link CourseExpansion}.
+ */
+public enum CourseField {
+    COURSE_ID("courseId"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    CATEGORY("category"),
+    MODE("mode"),
+    PRICE("price"),
+    CERTIFICATION_ELIGIBLE("certificationEligible"),
+    CREATED_AT("createdAt"),
+    FIRST_INSTRUCTOR_NAME("firstInstructorName"),
+    FIRST_INSTRUCTOR_ID("firstInstructorId"),
+    IMAGE_URL("imageUrl"),
+    LEVEL("level"),
+    START_DATE("startDate"),
+    DURATION("duration"),
+    RATING("rating"),
+    REVIEW_COUNT("reviewCount"),
+    PARTICIPANTS("participants"),
+    LOCATION("location");
+
+    // ?fields=compact: what a list screen needs to show a course card
+    public static final Set<CourseField> COMPACT = EnumSet.of(COURSE_ID, TITLE, PRICE, IMAGE_URL);
+
+    private final String param;
+
+    CourseField(String param) {
+        this.param = param;
+    }
+
+    // Name of the JSON property, also used in ?fields=
+    public String getParam() {
+        return param;
+    }
+
+    public static CourseField fromParam(String value) {
+        for (CourseField field : values()) {
+            if (field.param.equalsIgnoreCase(value.trim())) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown course field '" + value + "'.");
+    }
+}
@@ -0,0 +1,44 @@
+package com.plasturgie.app.model.enums;
+
+/**
+ * Sort orders of the paginated course catalog. Each is backed by a (column, course_id) index on courses;
+ * course_id breaks ties so that every position in the order is unique and can be used as a keyset cursor.
+ */
+public enum CourseSort {
+    NEWEST("createdAt", false),
+    PRICE("price", true),
+    RATING("ratingAverage", false),
+    POPULARITY("enrollmentCount", false);
+
+    private final String property;
+    private final boolean ascending;
+
+    CourseSort(String property, boolean ascending) {
+        this.property = property;
+        this.ascending = ascending;
+    }
+
+    // Course entity property the catalog is ordered by
+    public String getProperty() {
+        return property;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * Parses the {@code sort} request parameter; null or blank means {@link #NEWEST}.
+     */
+    public static CourseSort fromParam(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return NEWEST;
+        }
+        for (CourseSort sort : values()) {
+            if (sort.name().equalsIgnoreCase(value.trim())) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort '" + value + "'. Expected newest, price, rating or popularity.");
+    }
+}
@@ -0,0 +1,25 @@
+package com.plasturgie.app.model.enums;
+
+/**
+ * Pre-generated renditions of course and user images, selected with {@code ?size=} on the image endpoints.
+ */
+public enum ImageVariantSize {
+    THUMB,
+    CARD,
+    FULL;
+
+    /**
+     * Parses the {@code size} request parameter; null or blank means the original upload.
+     */
+    public static ImageVariantSize fromParam(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        for (ImageVariantSize size : values()) {
+            if (size.name().equalsIgnoreCase(value.trim())) {
+                return size;
+            }
+        }
+        throw new IllegalArgumentException("Unknown image size '" + value + "'. Expected thumb, card or full.");
+    }
+}
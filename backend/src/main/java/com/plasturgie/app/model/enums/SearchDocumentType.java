@@ -0,0 +1,25 @@
+package com.plasturgie.app.model.enums;
+
+import java.util.Locale;
+
+/**
+ * Kinds of entities indexed by the site-wide full-text search
+ */
+public enum SearchDocumentType {
+    COURSE,
+    EVENT,
+    SERVICE,
+    COMPANY,
+    INSTRUCTOR;
+
+    /**
+     * @throws IllegalArgumentException for an unknown type name
+     */
+    public static SearchDocumentType fromParam(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown search type: " + value);
+        }
+    }
+}
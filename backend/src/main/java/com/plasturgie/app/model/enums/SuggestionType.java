@@ -0,0 +1,25 @@
+package com.plasturgie.app.model.enums;
+
+import java.util.Locale;
+
+/**
+ * Kinds of typeahead suggestions
+ */
+public enum SuggestionType {
+    COURSE,
+    INSTRUCTOR,
+    COMPANY,
+    SERVICE_CATEGORY;
+
+    /**
+     * Accepts the lower-case form used in URLs, e.g. "service_category" or "service-category".
+     * @throws IllegalArgumentException for an unknown type name
+     */
+    public static SuggestionType fromParam(String value) {
+        try {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown suggestion type: " + value);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.plasturgie.app.model.enums;
+
+public enum UploadTarget {
+    PDF,
+    VIDEO
+}
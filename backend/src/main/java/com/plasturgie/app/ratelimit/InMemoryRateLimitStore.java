@@ -0,0 +1,71 @@
+package com.plasturgie.app.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link RateLimitStore} in this JVM. Buckets are spread over independent maps by key hash and updated
+ * with compare-and-set, so concurrent requests never wait on a lock. A bucket whose arrival time has
+ * passed is full again, i.e. the same as absent; those are swept periodically, and inline when a stripe
+ * outgrows its share of {@code app.rate-limit.local.max-entries}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "local", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private static final int STRIPES = 16;
+
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes = new ConcurrentHashMap[STRIPES];
+    private final int maxEntriesPerStripe;
+
+    public InMemoryRateLimitStore(@Value("${app.rate-limit.local.max-entries:100000}") int maxEntries) {
+        this.maxEntriesPerStripe = Math.max(1, maxEntries / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    @Override
+    public long tryConsume(RateLimitRule rule, String key) {
+        String bucketKey = rule.getName() + ':' + key;
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[(bucketKey.hashCode() & 0x7fffffff) % STRIPES];
+        long now = System.nanoTime();
+        AtomicLong arrival = stripe.get(bucketKey);
+        if (arrival == null) {
+            if (stripe.size() >= maxEntriesPerStripe) {
+                sweep(stripe, now);
+            }
+            arrival = stripe.computeIfAbsent(bucketKey, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long current = arrival.get();
+            long start = current - now < 0 ? now : current;
+            long wait = start - now - rule.getBurstToleranceNanos();
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, start + rule.getEmissionIntervalNanos())) {
+                return 0;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.local.sweep-interval-ms:60000}")
+    public void sweepFullBuckets() {
+        long now = System.nanoTime();
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            sweep(stripe, now);
+        }
+    }
+
+    // A concurrent consume on a removed bucket only loses that one token, in the client's favour
+    private static void sweep(ConcurrentHashMap<String, AtomicLong> stripe, long now) {
+        stripe.values().removeIf(arrival -> arrival.get() - now <= 0);
+    }
+}
@@ -0,0 +1,61 @@
+package com.plasturgie.app.ratelimit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Applies the per-client-IP limits of {@link RateLimiter} to their routes, answering 429 with
+ * {@code Retry-After} before authentication or the controller run. Behind a reverse proxy the client IP
+ * is only right with {@code server.forward-headers-strategy} set, otherwise every client shares the proxy's.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final Map<RequestMatcher, RateLimitRule> rules = new LinkedHashMap<>();
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        rules.put(new AntPathRequestMatcher("/api/auth/login", HttpMethod.POST.name()), rateLimiter.getLoginPerIp());
+        rules.put(new AntPathRequestMatcher("/api/users/check/username", HttpMethod.GET.name()),
+                rateLimiter.getAvailabilityCheckPerIp());
+        rules.put(new AntPathRequestMatcher("/api/users/check/email", HttpMethod.GET.name()),
+                rateLimiter.getAvailabilityCheckPerIp());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        for (Map.Entry<RequestMatcher, RateLimitRule> rule : rules.entrySet()) {
+            if (rule.getKey().matches(request)) {
+                long retryAfterSeconds = rateLimiter.tryAcquire(rule.getValue(), request.getRemoteAddr());
+                if (retryAfterSeconds > 0) {
+                    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+                    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                    response.getWriter().write(
+                            "{\"timestamp\":" + System.currentTimeMillis() + ", " +
+                            "\"status\":" + HttpStatus.TOO_MANY_REQUESTS.value() + ", " +
+                            "\"error\":\"Too Many Requests\", " +
+                            "\"message\":\"Too many attempts, please retry in " + retryAfterSeconds + " s\", " +
+                            "\"path\":\"" + request.getRequestURI() + "\"}");
+                    return;
+                }
+                break;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,49 @@
+package com.plasturgie.app.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket: up to {@code capacity} requests in a burst, refilled at {@code refillPerMinute} tokens a minute.
+ * Stores keep the bucket as its theoretical arrival time (GCRA), so a bucket is a single long.
+ */
+public final class RateLimitRule {
+
+    private final String name;
+    private final int capacity;
+    private final int refillPerMinute;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+
+    public RateLimitRule(String name, int capacity, int refillPerMinute) {
+        if (capacity < 1 || refillPerMinute < 1) {
+            throw new IllegalArgumentException("Rate limit " + name + " needs a capacity and refill of at least 1");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.refillPerMinute = refillPerMinute;
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getRefillPerMinute() {
+        return refillPerMinute;
+    }
+
+    // Time one token takes to refill
+    public long getEmissionIntervalNanos() {
+        return emissionIntervalNanos;
+    }
+
+    // How far ahead of now the arrival time may run before requests are refused
+    public long getBurstToleranceNanos() {
+        return burstToleranceNanos;
+    }
+}
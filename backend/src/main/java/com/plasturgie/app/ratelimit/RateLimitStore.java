@@ -0,0 +1,16 @@
+package com.plasturgie.app.ratelimit;
+
+/**
+ * Token buckets behind {@link RateLimiter}. The in-process store keeps limits per node; an implementation on
+ * a shared store (e.g. Redis, with the same GCRA update in a script) makes them hold across nodes.
+ * Selected with {@code app.rate-limit.store}.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one token from the bucket of {@code key} under {@code rule}; a bucket not seen yet is full.
+     *
+     * @return 0 when the token was taken, otherwise the nanoseconds until one will be available
+     */
+    long tryConsume(RateLimitRule rule, String key);
+}
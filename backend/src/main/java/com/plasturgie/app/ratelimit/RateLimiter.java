@@ -0,0 +1,80 @@
+package com.plasturgie.app.ratelimit;
+
+import com.plasturgie.app.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits of the unauthenticated endpoints that cost a database query or a BCrypt hash: login per
+ * client IP and per account, and the username/email availability checks per client IP. Per-IP limits are
+ * applied by {@link RateLimitFilter} before the request reaches Spring Security; the per-account login
+ * limit by AuthController, where the username is known.
+ */
+@Component
+public class RateLimiter {
+
+    private final RateLimitStore store;
+    private final boolean enabled;
+    private final MeterRegistry meterRegistry;
+
+    private final RateLimitRule loginPerIp;
+    private final RateLimitRule loginPerAccount;
+    private final RateLimitRule availabilityCheckPerIp;
+
+    public RateLimiter(RateLimitStore store, MeterRegistry meterRegistry,
+                       @Value("${app.rate-limit.enabled:true}") boolean enabled,
+                       @Value("${app.rate-limit.login-per-ip.capacity:30}") int loginPerIpCapacity,
+                       @Value("${app.rate-limit.login-per-ip.refill-per-minute:30}") int loginPerIpRefill,
+                       @Value("${app.rate-limit.login-per-account.capacity:10}") int loginPerAccountCapacity,
+                       @Value("${app.rate-limit.login-per-account.refill-per-minute:5}") int loginPerAccountRefill,
+                       @Value("${app.rate-limit.availability-check-per-ip.capacity:60}") int checkCapacity,
+                       @Value("${app.rate-limit.availability-check-per-ip.refill-per-minute:60}") int checkRefill) {
+        this.store = store;
+        this.enabled = enabled;
+        this.meterRegistry = meterRegistry;
+        this.loginPerIp = new RateLimitRule("login-per-ip", loginPerIpCapacity, loginPerIpRefill);
+        this.loginPerAccount = new RateLimitRule("login-per-account", loginPerAccountCapacity, loginPerAccountRefill);
+        this.availabilityCheckPerIp = new RateLimitRule("availability-check-per-ip", checkCapacity, checkRefill);
+    }
+
+    public RateLimitRule getLoginPerIp() {
+        return loginPerIp;
+    }
+
+    public RateLimitRule getLoginPerAccount() {
+        return loginPerAccount;
+    }
+
+    public RateLimitRule getAvailabilityCheckPerIp() {
+        return availabilityCheckPerIp;
+    }
+
+    /**
+     * @return 0 when the request may proceed, otherwise the whole seconds the client should wait
+     */
+    public long tryAcquire(RateLimitRule rule, String key) {
+        if (!enabled || key == null) {
+            return 0;
+        }
+        long waitNanos = store.tryConsume(rule, key.toLowerCase(Locale.ROOT));
+        if (waitNanos == 0) {
+            return 0;
+        }
+        Counter.builder("auth.rate-limit.rejected").tag("rule", rule.getName())
+                .description("Requests refused by a rate limit").register(meterRegistry).increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    public void acquire(RateLimitRule rule, String key) {
+        long retryAfterSeconds = tryAcquire(rule, key);
+        if (retryAfterSeconds > 0) {
+            throw new RateLimitExceededException("Too many attempts, please retry in " + retryAfterSeconds + " s",
+                    retryAfterSeconds);
+        }
+    }
+}
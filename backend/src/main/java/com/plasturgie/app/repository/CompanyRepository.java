@@ -1,8 +1,11 @@
 package com.plasturgie.app.repository;
 
+import com.plasturgie.app.dto.PopularityRow;
 import com.plasturgie.app.model.Company;
 import com.plasturgie.app.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +18,14 @@ public interface CompanyRepository extends JpaRepository<Company, Long> {
     Optional<Company> findByRepresentative(User representative);
     
     List<Company> findByNameContainingIgnoreCase(String name);
+
+    // Popularity of a company: participants registered to its events
+    String POPULARITY_ROW_SELECT = "SELECT new com.plasturgie.app.dto.PopularityRow(co.companyId, co.name, SUM(e.currentParticipants)) " +
+            "FROM Company co LEFT JOIN Event e ON e.company = co ";
+
+    @Query(POPULARITY_ROW_SELECT + "GROUP BY co.companyId, co.name")
+    List<PopularityRow> findPopularityRows();
+
+    @Query(POPULARITY_ROW_SELECT + "WHERE co.companyId = :companyId GROUP BY co.companyId, co.name")
+    Optional<PopularityRow> findPopularityRowById(@Param("companyId") Long companyId);
 }
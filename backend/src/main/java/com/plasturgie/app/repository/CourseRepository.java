@@ -1,28 +1,107 @@
 package com.plasturgie.app.repository;
 
+import com.plasturgie.app.dto.CourseCatalogRow;
+import com.plasturgie.app.dto.CourseInstructorRow;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.enums.Mode;
 
 // Remove EntityGraph import if not used directly on derived query names after this cleanup
 // import org.springframework.data.jpa.repository.EntityGraph; 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends JpaRepository<Course, Long>, CourseRepositoryCustom {
+
+    String CATALOG_ROW_SELECT = "SELECT new com.plasturgie.app.dto.CourseCatalogRow(" +
+            "c.courseId, c.title, c.description, c.category, c.mode, c.price, c.certificationEligible, " +
+            "c.createdAt, c.level, c.location, c.startDate, c.durationHours, c.imageContentType, " +
+            "c.reviewCount, c.ratingSum, c.enrollmentCount, c.ratingAverage) ";
+
+    String CATALOG_SUMMARY_ROW_SELECT = "SELECT new com.plasturgie.app.dto.CourseCatalogRow(" +
+            "c.courseId, c.title, c.category, c.mode, c.price, c.certificationEligible, " +
+            "c.createdAt, c.level, c.location, c.startDate, c.durationHours, c.imageContentType, " +
+            "c.reviewCount, c.ratingSum, c.enrollmentCount, c.ratingAverage) ";
+
+    // Catalog read path: one row per course, collections are loaded by the batched queries below
+    @Query(CATALOG_ROW_SELECT + "FROM Course c ORDER BY c.createdAt DESC")
+    List<CourseCatalogRow> findCatalogRows();
+
+    @Query(CATALOG_ROW_SELECT + "FROM Course c WHERE c.courseId = :courseId")
+    Optional<CourseCatalogRow> findCatalogRowById(@Param("courseId") Long courseId);
+
+    @Query(CATALOG_ROW_SELECT + "FROM Course c WHERE c.courseId IN :courseIds")
+    List<CourseCatalogRow> findCatalogRowsByCourseIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    // Filtered listings; same projection and order as findCatalogRows
+    @Query(CATALOG_ROW_SELECT + "FROM Course c WHERE c.category = :category ORDER BY c.createdAt DESC")
+    List<CourseCatalogRow> findCatalogRowsByCategory(@Param("category") String category);
+
+    @Query(CATALOG_ROW_SELECT + "FROM Course c WHERE c.mode = :mode ORDER BY c.createdAt DESC")
+    List<CourseCatalogRow> findCatalogRowsByMode(@Param("mode") Mode mode);
+
+    @Query(CATALOG_ROW_SELECT + "FROM Course c JOIN c.instructors ins " +
+           "WHERE ins.instructorId = :instructorId ORDER BY c.createdAt DESC")
+    List<CourseCatalogRow> findCatalogRowsByInstructorId(@Param("instructorId") Long instructorId);
+
+    // Denormalized statistics: relative updates so concurrent reviews/enrollments never lose an increment
+    @Modifying
+    // SET expressions see the old column values, so the average is computed from the new count and sum
+    @Query(value = "UPDATE courses SET review_count = COALESCE(review_count, 0) + :countDelta, " +
+                   "rating_sum = COALESCE(rating_sum, 0) + :ratingDelta, " +
+                   "rating_average = CASE WHEN COALESCE(review_count, 0) + :countDelta > 0 " +
+                   "THEN (COALESCE(rating_sum, 0) + :ratingDelta) * 1.0 / (COALESCE(review_count, 0) + :countDelta) " +
+                   "ELSE 0 END WHERE course_id = :courseId",
+           nativeQuery = true)
+    int adjustReviewStats(@Param("courseId") Long courseId, @Param("countDelta") long countDelta,
+                          @Param("ratingDelta") long ratingDelta);
+
+    @Modifying
+    @Query(value = "UPDATE courses SET enrollment_count = COALESCE(enrollment_count, 0) + :delta " +
+                   "WHERE course_id = :courseId",
+           nativeQuery = true)
+    int adjustEnrollmentCount(@Param("courseId") Long courseId, @Param("delta") long delta);
+
+    // Recomputes the statistics from the source tables; onlyMissing limits it to rows never initialized
+    @Modifying
+    @Query(value = "UPDATE courses SET " +
+                   "review_count = (SELECT COUNT(*) FROM reviews r WHERE r.course_id = courses.course_id), " +
+                   "rating_sum = (SELECT COALESCE(SUM(r.rating), 0) FROM reviews r WHERE r.course_id = courses.course_id), " +
+                   "enrollment_count = (SELECT COUNT(*) FROM enrollments e WHERE e.course_id = courses.course_id), " +
+                   "rating_average = (SELECT COALESCE(AVG(r.rating * 1.0), 0) FROM reviews r WHERE r.course_id = courses.course_id) " +
+                   "WHERE :onlyMissing = 0 OR review_count IS NULL OR rating_sum IS NULL OR enrollment_count IS NULL " +
+                   "OR rating_average IS NULL",
+           nativeQuery = true)
+    int rebuildStats(@Param("onlyMissing") int onlyMissing);
+
+    // Catalog sort keys of rows written before they became NOT NULL (see Course.fillSortKeys)
+    @Modifying
+    @Query(value = "UPDATE courses SET price = COALESCE(price, 0), " +
+                   "created_at = COALESCE(created_at, updated_at, CURRENT_TIMESTAMP) " +
+                   "WHERE price IS NULL OR created_at IS NULL",
+           nativeQuery = true)
+    int fillMissingSortKeys();
+
+    @Query("SELECT new com.plasturgie.app.dto.CourseInstructorRow(" +
+           "c.courseId, ins.instructorId, u.firstName, u.lastName, u.username, ins.rating) " +
+           "FROM Course c JOIN c.instructors ins LEFT JOIN ins.user u " +
+           "WHERE c.courseId IN :courseIds ORDER BY c.courseId, ins.instructorId")
+    List<CourseInstructorRow> findInstructorRows(@Param("courseIds") Collection<Long> courseIds);
 
     // For fetching a list of courses with common details
     @Query("SELECT DISTINCT c FROM Course c " +
            "LEFT JOIN FETCH c.instructors ins LEFT JOIN FETCH ins.user " +
            "LEFT JOIN FETCH c.reviews course_rev LEFT JOIN FETCH course_rev.user " +
            "LEFT JOIN FETCH c.enrollments enr LEFT JOIN FETCH enr.user " +
-           "LEFT JOIN FETCH c.modules " + // Ensure modules are fetched
+           // Modules are not fetched here: listings load them through ModuleRepository's metadata projection
            "ORDER BY c.createdAt DESC")
     List<Course> findAllWithDetails();
 
@@ -42,10 +121,13 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
            "LEFT JOIN FETCH c.instructors ins LEFT JOIN FETCH ins.user " +
            "LEFT JOIN FETCH c.reviews course_rev LEFT JOIN FETCH course_rev.user " +
            "LEFT JOIN FETCH c.enrollments enr LEFT JOIN FETCH enr.user " +
-           "LEFT JOIN FETCH c.modules " + // Ensure modules are fetched
            "WHERE ins.instructorId = :instructorId " +
            "ORDER BY c.createdAt DESC")
     List<Course> findByInstructorIdWithDetails(@Param("instructorId") Long instructorId);
+
+    // Course ids of an instructor from the course_instructors join table, for CourseMembershipService
+    @Query("SELECT c.courseId FROM Course c JOIN c.instructors ins WHERE ins.instructorId = :instructorId")
+    List<Long> findCourseIdsByInstructorId(@Param("instructorId") Long instructorId);
     
     // Removed the problematic findByIdWithDetails1 method
 
@@ -0,0 +1,14 @@
+package com.plasturgie.app.repository;
+
+import com.plasturgie.app.dto.CourseCatalogRow;
+import com.plasturgie.app.dto.CourseCursor;
+import com.plasturgie.app.model.enums.CourseSort;
+
+import java.util.List;
+
+public interface CourseRepositoryCustom {
+
+    // Keyset page of the catalog: up to limit rows strictly after the cursor (or from the start when null);
+    // without withDescription the description column is not read
+    List<CourseCatalogRow> findCatalogPage(CourseSort sort, CourseCursor after, int limit, boolean withDescription);
+}
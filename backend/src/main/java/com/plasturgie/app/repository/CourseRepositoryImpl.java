@@ -0,0 +1,64 @@
+package com.plasturgie.app.repository;
+
+import com.plasturgie.app.dto.CourseCatalogRow;
+import com.plasturgie.app.dto.CourseCursor;
+import com.plasturgie.app.model.enums.CourseSort;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.util.List;
+
+/**
+ * Keyset ("seek") pagination for the catalog. Instead of OFFSET, which reads and discards every preceding
+ * row, each page continues from the (sort key, course id) of the previous page's last row, so the
+ * (column, course_id) index on courses is entered directly at that position whatever the page number.
+ * The sort keys are NOT NULL (see Course), so the seek is a plain (key, course_id) row comparison and the
+ * ORDER BY is the index order, read forwards for ascending sorts and backwards for descending ones.
+ */
+public class CourseRepositoryImpl implements CourseRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean rowValueComparison;
+
+    @Override
+    public List<CourseCatalogRow> findCatalogPage(CourseSort sort, CourseCursor after, int limit, boolean withDescription) {
+        String key = "c." + sort.getProperty();
+        String direction = sort.isAscending() ? "ASC" : "DESC";
+        String beyond = sort.isAscending() ? ">" : "<";
+
+        String select = withDescription ? CourseRepository.CATALOG_ROW_SELECT : CourseRepository.CATALOG_SUMMARY_ROW_SELECT;
+        StringBuilder jpql = new StringBuilder(select).append("FROM Course c");
+        if (after != null) {
+            if (supportsRowValueComparison()) {
+                jpql.append(" WHERE (").append(key).append(", c.courseId) ").append(beyond).append(" (:key, :courseId)");
+            } else {
+                // Oracle has no row-value inequality; the leading range on the key keeps the same index range scan
+                jpql.append(" WHERE ").append(key).append(' ').append(beyond).append("= :key")
+                    .append(" AND (").append(key).append(' ').append(beyond).append(" :key")
+                    .append(" OR c.courseId ").append(beyond).append(" :courseId)");
+            }
+        }
+        jpql.append(" ORDER BY ").append(key).append(' ').append(direction).append(", c.courseId ").append(direction);
+
+        TypedQuery<CourseCatalogRow> query = entityManager.createQuery(jpql.toString(), CourseCatalogRow.class);
+        if (after != null) {
+            query.setParameter("key", after.getKey());
+            query.setParameter("courseId", after.getCourseId());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    private boolean supportsRowValueComparison() {
+        Boolean supported = rowValueComparison;
+        if (supported == null) {
+            supported = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect().supportsRowValueConstructorSyntax();
+            rowValueComparison = supported;
+        }
+        return supported;
+    }
+}
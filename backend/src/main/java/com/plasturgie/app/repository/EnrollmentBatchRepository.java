@@ -0,0 +1,63 @@
+package com.plasturgie.app.repository;
+
+import com.plasturgie.app.model.enums.Status;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch inserts into enrollments. Going through Hibernate would cost a sequence round-trip per row
+ * ({@code enrollment_seq} has an allocation size of 1); here the id is drawn from the sequence inside the
+ * INSERT, so a batch of rows is one round-trip per {@code app.enrollments.bulk.jdbc-batch-size} rows.
+ * Callers publish the matching course statistics and change events themselves.
+ */
+@Repository
+public class EnrollmentBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    private volatile String insertSql;
+
+    public EnrollmentBatchRepository(JdbcTemplate jdbcTemplate,
+                                     @Value("${app.enrollments.bulk.jdbc-batch-size:200}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Inserts one enrollment of {@code courseId} per user; must run inside the caller's transaction.
+     */
+    public int insertAll(Long courseId, List<Long> userIds, Status status, LocalDateTime enrollmentDate) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        Timestamp date = Timestamp.valueOf(enrollmentDate);
+        jdbcTemplate.batchUpdate(insertSql(), userIds, batchSize, (ps, userId) -> {
+            ps.setLong(1, userId);
+            ps.setLong(2, courseId);
+            ps.setTimestamp(3, date);
+            ps.setString(4, status.name());
+        });
+        return userIds.size();
+    }
+
+    private String insertSql() {
+        String sql = insertSql;
+        if (sql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            boolean postgres = product != null && product.toLowerCase().contains("postgres");
+            // Oracle syntax otherwise, which H2 (oracle-mock profile) accepts as well
+            String nextId = postgres ? "nextval('enrollment_seq')" : "enrollment_seq.NEXTVAL";
+            sql = "INSERT INTO enrollments (enrollment_id, user_id, course_id, enrollment_date, status) " +
+                  "VALUES (" + nextId + ", ?, ?, ?, ?)";
+            insertSql = sql;
+        }
+        return sql;
+    }
+}
@@ -5,8 +5,11 @@ import com.plasturgie.app.model.Enrollment;
 import com.plasturgie.app.model.User;
 import com.plasturgie.app.model.enums.Status; // Assuming Status is your enrollment status enum
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,4 +27,8 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
     // --- ADD THIS METHOD ---
     List<Enrollment> findByUserUserId(Long userId);
+
+    // Bulk enrollment: which of these users already have an enrollment in the course
+    @Query("SELECT e.user.userId FROM Enrollment e WHERE e.course.courseId = :courseId AND e.user.userId IN :userIds")
+    List<Long> findEnrolledUserIds(@Param("courseId") Long courseId, @Param("userIds") Collection<Long> userIds);
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.plasturgie.app.repository;
+
+import com.plasturgie.app.model.ImageVariant;
+import com.plasturgie.app.model.enums.ImageVariantSize;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImageVariantRepository extends JpaRepository<ImageVariant, Long> {
+
+    Optional<ImageVariant> findBySourceKeyAndVariant(String sourceKey, ImageVariantSize variant);
+
+    List<ImageVariant> findBySourceKey(String sourceKey);
+
+    // Course and user image blobs that do not have every variant yet
+    @Query(value = "SELECT k.source_key FROM (" +
+                   "SELECT image_blob_key AS source_key FROM courses WHERE image_blob_key IS NOT NULL " +
+                   "UNION SELECT image_blob_key AS source_key FROM image_users WHERE image_blob_key IS NOT NULL) k " +
+                   "WHERE (SELECT COUNT(*) FROM image_variants v WHERE v.source_key = k.source_key) < :variantCount " +
+                   "ORDER BY k.source_key",
+           nativeQuery = true)
+    List<String> findSourceKeysMissingVariants(@Param("variantCount") long variantCount, Pageable pageable);
+}
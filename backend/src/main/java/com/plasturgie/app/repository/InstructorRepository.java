@@ -1,5 +1,6 @@
 package com.plasturgie.app.repository;
 
+import com.plasturgie.app.dto.PopularityRow;
 import com.plasturgie.app.model.Instructor;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -7,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +18,10 @@ public interface InstructorRepository extends JpaRepository<Instructor, Long> {
     @Query("SELECT i FROM Instructor i LEFT JOIN FETCH i.user u WHERE u.userId = :userId")
     Optional<Instructor> findByUserId(@Param("userId") Long userId);
 
+    // Membership checks (CourseMembershipService) only need the id
+    @Query("SELECT i.instructorId FROM Instructor i WHERE i.user.userId = :userId")
+    Optional<Long> findInstructorIdByUserId(@Param("userId") Long userId);
+
     // Optional: to fetch instructor with their specific reviews if needed often
     @Query("SELECT i FROM Instructor i LEFT JOIN FETCH i.reviews r WHERE i.instructorId = :instructorId")
     Optional<Instructor> findByIdWithReviews(@Param("instructorId") Long instructorId);
@@ -30,5 +36,17 @@ public interface InstructorRepository extends JpaRepository<Instructor, Long> {
     @Query("SELECT DISTINCT i FROM Instructor i LEFT JOIN FETCH i.user")
     List<Instructor> findAllWithUserDetails();
 
+    // Popularity of an instructor: enrollments over all the courses they teach
+    String POPULARITY_ROW_SELECT = "SELECT new com.plasturgie.app.dto.PopularityRow(" +
+            "i.instructorId, u.firstName, u.lastName, u.username, SUM(c.enrollmentCount)) " +
+            "FROM Instructor i LEFT JOIN i.user u LEFT JOIN i.courses c ";
+    String POPULARITY_ROW_GROUP_BY = "GROUP BY i.instructorId, u.firstName, u.lastName, u.username";
+
+    @Query(POPULARITY_ROW_SELECT + POPULARITY_ROW_GROUP_BY)
+    List<PopularityRow> findPopularityRows();
+
+    @Query(POPULARITY_ROW_SELECT + "WHERE i.instructorId IN :instructorIds " + POPULARITY_ROW_GROUP_BY)
+    List<PopularityRow> findPopularityRowsByIds(@Param("instructorIds") Collection<Long> instructorIds);
+
  
 }
\ No newline at end of file
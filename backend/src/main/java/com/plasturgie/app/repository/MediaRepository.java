@@ -0,0 +1,334 @@
+package com.plasturgie.app.repository;
+
+import com.plasturgie.app.media.MediaDescriptor;
+import com.plasturgie.app.storage.StoredBlob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Blob;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * JDBC access to the media columns of modules, courses and image_users.
+ * <p>
+ * Content normally lives in the {@link com.plasturgie.app.storage.BlobStore} and the row only carries its key
+ * and size. Rows written before the blob store existed still hold the bytes in a LOB column that is no longer
+ * mapped by Hibernate; those are read here through {@link Blob} handles so that only the requested byte range
+ * is pulled from the database, until the migration moves them out. Legacy LOB reads must run inside a
+ * transaction (PostgreSQL large objects are not readable in auto-commit mode).
+ */
+@Repository
+public class MediaRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaRepository.class);
+
+    public enum MediaSlot {
+        MODULE_PDF("modules", "module_id", "course_id", "pdf_data", "pdf_filename", "pdf_content_type", "pdf_blob_key", "pdf_size", "pdf_sha256"),
+        MODULE_VIDEO("modules", "module_id", "course_id", "video_data", "video_filename", "video_content_type", "video_blob_key", "video_size", "video_sha256"),
+        COURSE_IMAGE("courses", "course_id", null, "image_data", null, "image_content_type", "image_blob_key", "image_size", null),
+        USER_IMAGE("image_users", "id", null, "image_data", "filename", "content_type", "image_blob_key", "image_size", null);
+
+        private final String table;
+        private final String idColumn;
+        private final String parentColumn;
+        private final String legacyDataColumn;
+        private final String filenameColumn;
+        private final String contentTypeColumn;
+        private final String blobKeyColumn;
+        private final String sizeColumn;
+        private final String checksumColumn;
+
+        MediaSlot(String table, String idColumn, String parentColumn, String legacyDataColumn, String filenameColumn,
+                  String contentTypeColumn, String blobKeyColumn, String sizeColumn, String checksumColumn) {
+            this.table = table;
+            this.idColumn = idColumn;
+            this.parentColumn = parentColumn;
+            this.legacyDataColumn = legacyDataColumn;
+            this.filenameColumn = filenameColumn;
+            this.contentTypeColumn = contentTypeColumn;
+            this.blobKeyColumn = blobKeyColumn;
+            this.sizeColumn = sizeColumn;
+            this.checksumColumn = checksumColumn;
+        }
+    }
+
+    @FunctionalInterface
+    public interface LegacyReader<T> {
+        T read(InputStream in, long length) throws IOException;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int bufferSize;
+
+    private volatile Set<MediaSlot> legacySlots;
+    private volatile Boolean postgres;
+
+    public MediaRepository(JdbcTemplate jdbcTemplate,
+                           @Value("${app.media.stream-buffer-size:65536}") int bufferSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Resolves the media metadata and its length without reading the content.
+     * Returns empty when no row with this id exists (under the given parent, when {@code parentId} is set).
+     */
+    public Optional<MediaDescriptor> findDescriptor(MediaSlot slot, Long id, Long parentId) {
+        boolean legacy = hasLegacyColumn(slot);
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(slot.filenameColumn != null ? slot.filenameColumn : "NULL").append(", ")
+                .append(slot.contentTypeColumn).append(", updated_at, ")
+                .append(slot.blobKeyColumn).append(", ")
+                .append(slot.sizeColumn).append(", ")
+                .append(slot.checksumColumn != null ? slot.checksumColumn : "NULL")
+                .append(legacy ? ", " + slot.legacyDataColumn : "")
+                .append(" FROM ").append(slot.table)
+                .append(" WHERE ").append(slot.idColumn).append(" = ?");
+        Object[] args;
+        if (parentId != null && slot.parentColumn != null) {
+            sql.append(" AND ").append(slot.parentColumn).append(" = ?");
+            args = new Object[]{id, parentId};
+        } else {
+            args = new Object[]{id};
+        }
+
+        ResultSetExtractor<Optional<MediaDescriptor>> extractor = rs -> {
+            if (!rs.next()) {
+                return Optional.empty();
+            }
+            String blobKey = rs.getString(4);
+            long length = rs.getLong(5);
+            if (blobKey == null) {
+                length = legacy ? legacyLength(rs, 7) : 0L;
+            }
+            // Strong validator from the stored content hash; blob keys are SHA-256 of the content as well.
+            // Legacy LOB rows have no hash and are validated by Last-Modified only.
+            String checksum = rs.getString(6);
+            String hash = checksum != null ? checksum : blobKey;
+            Timestamp updatedAt = rs.getTimestamp(3);
+            return Optional.of(new MediaDescriptor(
+                    rs.getString(1),
+                    rs.getString(2),
+                    length,
+                    updatedAt != null ? updatedAt.toLocalDateTime() : null,
+                    hash != null ? "\"" + hash + "\"" : null,
+                    blobKey));
+        };
+        return jdbcTemplate.query(sql.toString(), extractor, args);
+    }
+
+    /**
+     * Copies {@code length} bytes of the legacy LOB starting at {@code offset} (zero based) to {@code out},
+     * using a fixed-size buffer.
+     */
+    public void copyLegacyRange(MediaSlot slot, Long id, long offset, long length, OutputStream out) throws IOException {
+        readLegacy(slot, id, offset, length, (in, ignored) -> {
+            byte[] buffer = new byte[bufferSize];
+            long remaining = length;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+            out.flush();
+            return null;
+        });
+    }
+
+    /**
+     * Hands the whole legacy LOB of a row to {@code reader}. Returns null when the row has no legacy content.
+     */
+    public <T> T readLegacy(MediaSlot slot, Long id, LegacyReader<T> reader) throws IOException {
+        return readLegacy(slot, id, 0L, -1L, reader);
+    }
+
+    public List<Long> findIdsWithLegacyData(MediaSlot slot) {
+        if (!hasLegacyColumn(slot)) {
+            return List.of();
+        }
+        String sql = "SELECT " + slot.idColumn + " FROM " + slot.table +
+                     " WHERE " + slot.legacyDataColumn + " IS NOT NULL ORDER BY " + slot.idColumn;
+        return jdbcTemplate.queryForList(sql, Long.class);
+    }
+
+    /**
+     * Points the row at a stored blob and drops its legacy LOB, if any.
+     */
+    public void attachBlob(MediaSlot slot, Long id, StoredBlob blob) {
+        if (slot.checksumColumn != null) {
+            jdbcTemplate.update("UPDATE " + slot.table + " SET " + slot.blobKeyColumn + " = ?, " + slot.sizeColumn +
+                                " = ?, " + slot.checksumColumn + " = ? WHERE " + slot.idColumn + " = ?",
+                                blob.getKey(), blob.getSize(), blob.getSha256(), id);
+        } else {
+            jdbcTemplate.update("UPDATE " + slot.table + " SET " + slot.blobKeyColumn + " = ?, " + slot.sizeColumn +
+                                " = ? WHERE " + slot.idColumn + " = ?", blob.getKey(), blob.getSize(), id);
+        }
+        clearLegacy(slot, id);
+    }
+
+    /**
+     * Drops the legacy LOB content of a row. On PostgreSQL the large object itself is unlinked,
+     * otherwise nulling the oid column would leave it orphaned in pg_largeobject.
+     */
+    public void clearLegacy(MediaSlot slot, Long id) {
+        if (!hasLegacyColumn(slot)) {
+            return;
+        }
+        if (isPostgres()) {
+            jdbcTemplate.queryForList("SELECT lo_unlink(" + slot.legacyDataColumn + ") FROM " + slot.table +
+                                      " WHERE " + slot.idColumn + " = ? AND " + slot.legacyDataColumn + " IS NOT NULL", id);
+        }
+        jdbcTemplate.update("UPDATE " + slot.table + " SET " + slot.legacyDataColumn + " = NULL WHERE " +
+                            slot.idColumn + " = ?", id);
+    }
+
+    /**
+     * Every blob key currently referenced by a row, used to find unreferenced blobs.
+     */
+    public Set<String> findReferencedBlobKeys() {
+        Set<String> keys = new HashSet<>();
+        for (MediaSlot slot : MediaSlot.values()) {
+            keys.addAll(jdbcTemplate.queryForList("SELECT DISTINCT " + slot.blobKeyColumn + " FROM " + slot.table +
+                                                  " WHERE " + slot.blobKeyColumn + " IS NOT NULL", String.class));
+        }
+        // Image variants are only kept alive by their source image
+        Set<String> variantKeys = new HashSet<>();
+        jdbcTemplate.query("SELECT source_key, blob_key FROM image_variants", (RowCallbackHandler) rs -> {
+            if (keys.contains(rs.getString(1))) {
+                variantKeys.add(rs.getString(2));
+            }
+        });
+        keys.addAll(variantKeys);
+        return keys;
+    }
+
+    /**
+     * Drops the variant rows rendered from, or stored in, a blob that is being deleted.
+     */
+    public int deleteImageVariants(String blobKey) {
+        return jdbcTemplate.update("DELETE FROM image_variants WHERE source_key = ? OR blob_key = ?", blobKey, blobKey);
+    }
+
+    /**
+     * The legacy image_users.image_data column was created NOT NULL; rows written through the blob store
+     * leave it empty, so the constraint has to go. Idempotent; failures (column already dropped or nullable)
+     * are only logged.
+     */
+    public void relaxLegacyConstraints() {
+        if (!hasLegacyColumn(MediaSlot.USER_IMAGE)) {
+            return;
+        }
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        String sql = product != null && product.toLowerCase().contains("oracle")
+                ? "ALTER TABLE image_users MODIFY (image_data NULL)"
+                : "ALTER TABLE image_users ALTER COLUMN image_data DROP NOT NULL";
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException e) {
+            logger.debug("Could not relax NOT NULL on image_users.image_data: {}", e.getMessage());
+        }
+    }
+
+    private <T> T readLegacy(MediaSlot slot, Long id, long offset, long length, LegacyReader<T> reader) throws IOException {
+        if (!hasLegacyColumn(slot)) {
+            return null;
+        }
+        String sql = "SELECT " + slot.legacyDataColumn + " FROM " + slot.table + " WHERE " + slot.idColumn + " = ?";
+        ResultSetExtractor<T> extractor = rs -> {
+            if (!rs.next()) {
+                return null;
+            }
+            Blob blob = rs.getBlob(1);
+            if (blob == null) {
+                return null;
+            }
+            try {
+                long total = blob.length();
+                long readLength = length < 0 ? total : length;
+                try (InputStream in = length < 0 ? blob.getBinaryStream() : blob.getBinaryStream(offset + 1, readLength)) {
+                    return reader.read(in, readLength);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                blob.free();
+            }
+        };
+        try {
+            return jdbcTemplate.query(sql, extractor, id);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static long legacyLength(ResultSet rs, int column) throws SQLException {
+        Blob blob = rs.getBlob(column);
+        if (blob == null) {
+            return 0L;
+        }
+        try {
+            return blob.length();
+        } finally {
+            blob.free();
+        }
+    }
+
+    /**
+     * Fresh schemas created after the switch to the blob store have no LOB columns at all,
+     * so legacy SQL is only issued for the slots whose column actually exists.
+     */
+    private boolean hasLegacyColumn(MediaSlot slot) {
+        Set<MediaSlot> slots = legacySlots;
+        if (slots == null) {
+            slots = jdbcTemplate.execute((ConnectionCallback<Set<MediaSlot>>) con -> {
+                DatabaseMetaData metaData = con.getMetaData();
+                Set<MediaSlot> found = EnumSet.noneOf(MediaSlot.class);
+                for (MediaSlot candidate : MediaSlot.values()) {
+                    String table = metaData.storesUpperCaseIdentifiers() ? candidate.table.toUpperCase() : candidate.table;
+                    String column = metaData.storesUpperCaseIdentifiers()
+                            ? candidate.legacyDataColumn.toUpperCase() : candidate.legacyDataColumn;
+                    try (ResultSet columns = metaData.getColumns(null, null, table, column)) {
+                        if (columns.next()) {
+                            found.add(candidate);
+                        }
+                    }
+                }
+                return found;
+            });
+            legacySlots = slots;
+        }
+        return slots.contains(slot);
+    }
+
+    private boolean isPostgres() {
+        Boolean value = postgres;
+        if (value == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            value = product != null && product.toLowerCase().contains("postgres");
+            postgres = value;
+        }
+        return value;
+    }
+}
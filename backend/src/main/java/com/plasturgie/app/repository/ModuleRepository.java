@@ -1,16 +1,16 @@
 package com.plasturgie.app.repository;
 
+import com.plasturgie.app.dto.ModuleResponseDTO;
 import com.plasturgie.app.model.Module;
 import org.springframework.data.jpa.repository.EntityGraph; // Import this
 import org.springframework.data.jpa.repository.JpaRepository;
-// Query and Param not strictly needed for this specific derived query method
-// but good to have if you add custom @Query methods.
-// import org.springframework.data.jpa.repository.Query;
-// import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
-// import java.util.Optional; // If you keep the example custom query
+import java.util.Optional;
 
 @Repository
 public interface ModuleRepository extends JpaRepository<Module, Long> {
@@ -18,7 +18,20 @@ public interface ModuleRepository extends JpaRepository<Module, Long> {
     @EntityGraph(attributePaths = {"course"}) // Eagerly fetch the 'course' association
     List<Module> findByCourseCourseIdOrderByModuleOrderAsc(Long courseId);
 
-    // Optional: Example of a custom query
-    // @Query("SELECT m FROM Module m JOIN FETCH m.course c WHERE c.courseId = :courseId AND m.title = :title")
-    // Optional<Module> findByCourseAndTitle(@Param("courseId") Long courseId, @Param("title") String title);
+    // Metadata-only projections for listings: sizes and checksums come from their own columns,
+    // so the result stays small no matter how much media the modules carry.
+    String MODULE_SUMMARY_SELECT = "SELECT new com.plasturgie.app.dto.ModuleResponseDTO(" +
+           "m.moduleId, m.title, m.description, m.moduleOrder, c.courseId, c.title, " +
+           "m.pdfFilename, m.pdfBlobKey, m.pdfSize, m.pdfSha256, " +
+           "m.videoFilename, m.videoBlobKey, m.videoSize, m.videoSha256) " +
+           "FROM Module m JOIN m.course c ";
+
+    @Query(MODULE_SUMMARY_SELECT + "WHERE c.courseId = :courseId ORDER BY m.moduleOrder ASC")
+    List<ModuleResponseDTO> findSummariesByCourseId(@Param("courseId") Long courseId);
+
+    @Query(MODULE_SUMMARY_SELECT + "WHERE c.courseId IN :courseIds ORDER BY c.courseId ASC, m.moduleOrder ASC")
+    List<ModuleResponseDTO> findSummariesByCourseIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    @Query(MODULE_SUMMARY_SELECT + "WHERE m.moduleId = :moduleId")
+    Optional<ModuleResponseDTO> findSummaryById(@Param("moduleId") Long moduleId);
 }
\ No newline at end of file
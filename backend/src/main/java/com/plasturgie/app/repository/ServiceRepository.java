@@ -1,8 +1,10 @@
 package com.plasturgie.app.repository;
 
+import com.plasturgie.app.dto.PopularityRow;
 import com.plasturgie.app.model.Company;
 import com.plasturgie.app.model.Service;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +16,9 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
     List<Service> findByCategory(String category);
     
     List<Service> findByNameContainingIgnoreCase(String name);
+
+    // Service categories with the number of services offered in each
+    @Query("SELECT new com.plasturgie.app.dto.PopularityRow(s.category, COUNT(s)) FROM Service s " +
+           "WHERE s.category IS NOT NULL GROUP BY s.category")
+    List<PopularityRow> findCategoryPopularityRows();
 }
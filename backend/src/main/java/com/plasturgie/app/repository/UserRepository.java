@@ -1,11 +1,14 @@
 package com.plasturgie.app.repository;
 
+import com.plasturgie.app.dto.EnrollmentUserRow;
 import com.plasturgie.app.dto.UserListDTO; // ADD IMPORT
 import com.plasturgie.app.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query; // ADD IMPORT
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List; // ADD IMPORT
 import java.util.Optional;
 
@@ -24,4 +27,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Revocation check of authenticated requests (through TokenVersionCache); rows created before the column count as 0
+    @Query("SELECT COALESCE(u.tokenVersion, 0) FROM User u WHERE u.userId = :userId")
+    Optional<Integer> findTokenVersionById(@Param("userId") Long userId);
+
+    // Bulk enrollment: resolve requested learners in one query per batch
+    @Query("SELECT new com.plasturgie.app.dto.EnrollmentUserRow(u.userId, u.email, u.role) " +
+           "FROM User u WHERE u.userId IN :userIds")
+    List<EnrollmentUserRow> findEnrollmentRowsByIds(@Param("userIds") Collection<Long> userIds);
+
+    // emails must be lowercase
+    @Query("SELECT new com.plasturgie.app.dto.EnrollmentUserRow(u.userId, u.email, u.role) " +
+           "FROM User u WHERE LOWER(u.email) IN :emails")
+    List<EnrollmentUserRow> findEnrollmentRowsByEmails(@Param("emails") Collection<String> emails);
 }
\ No newline at end of file
@@ -0,0 +1,361 @@
+package com.plasturgie.app.search;
+
+import com.plasturgie.app.dto.CourseCatalogRow;
+import com.plasturgie.app.dto.CourseSearchCriteria;
+import com.plasturgie.app.event.CourseChangedEvent;
+import com.plasturgie.app.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-process facet index of the course catalog. Every course gets a small dense document number
+ * (numbers of deleted courses are reused) and every facet value a {@link BitSet} of the documents
+ * having it, so a search is a handful of bitmap ANDs/ORs and a facet count is the cardinality of an
+ * intersection, whatever the number of courses.
+ * <p>
+ * Price and start date ranges and the text filter are checked per document on the remaining candidates.
+ * The index is built from the catalog projection at startup and kept current from
+ * {@link CourseChangedEvent}s after each course transaction commits.
+ */
+@Component
+public class CourseFacetIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseFacetIndex.class);
+
+    public static final String CATEGORY = "category";
+    public static final String MODE = "mode";
+    public static final String LEVEL = "level";
+    public static final String CERTIFICATION = "certificationEligible";
+    public static final String PRICE = "price";
+
+    private static final String[] FACETS = { CATEGORY, MODE, LEVEL, CERTIFICATION, PRICE };
+
+    private static final Comparator<Document> NEWEST_FIRST = Comparator
+            .comparing((Document doc) -> doc.createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(doc -> doc.courseId, Comparator.reverseOrder());
+
+    private final CourseRepository courseRepository;
+    private final List<BigDecimal> priceBounds = new ArrayList<>();
+    private final List<String> priceBucketOrder = new ArrayList<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // All guarded by lock
+    private final Map<Long, Integer> docIdsByCourse = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    // Lowest free numbers are reused first, which keeps the bitmaps short
+    private final PriorityQueue<Integer> freeDocIds = new PriorityQueue<>();
+    private final BitSet live = new BitSet();
+    // facet -> folded value -> documents, and facet -> folded value -> value as first seen
+    private final Map<String, Map<String, BitSet>> postings = new HashMap<>();
+    private final Map<String, Map<String, String>> labels = new HashMap<>();
+    private boolean built;
+
+    private static final class Document {
+        private final Long courseId;
+        private final Map<String, String> values = new HashMap<>();
+        private final BigDecimal price;
+        private final LocalDate startDate;
+        private final LocalDateTime createdAt;
+        private final String text;
+
+        Document(CourseCatalogRow row) {
+            this.courseId = row.getCourseId();
+            this.price = row.getPrice();
+            this.startDate = row.getStartDate();
+            this.createdAt = row.getCreatedAt();
+            this.text = TextNormalizer.fold(String.join(" ",
+                    nullToEmpty(row.getTitle()), nullToEmpty(row.getDescription()), nullToEmpty(row.getCategory())));
+        }
+    }
+
+    public static final class Result {
+        private final List<Long> courseIds;
+        private final Map<String, Map<String, Integer>> facetCounts;
+
+        Result(List<Long> courseIds, Map<String, Map<String, Integer>> facetCounts) {
+            this.courseIds = courseIds;
+            this.facetCounts = facetCounts;
+        }
+
+        // Every matching course, newest first
+        public List<Long> getCourseIds() {
+            return courseIds;
+        }
+
+        public Map<String, Map<String, Integer>> getFacetCounts() {
+            return facetCounts;
+        }
+    }
+
+    public CourseFacetIndex(CourseRepository courseRepository,
+                            @Value("${app.search.price-buckets:100,250,500,1000}") String priceBuckets) {
+        this.courseRepository = courseRepository;
+        for (String bound : priceBuckets.split(",")) {
+            if (!bound.trim().isEmpty()) {
+                priceBounds.add(new BigDecimal(bound.trim()));
+            }
+        }
+        priceBounds.sort(Comparator.naturalOrder());
+        priceBucketOrder.add(priceBucket(BigDecimal.ZERO));
+        priceBounds.forEach(bound -> priceBucketOrder.add(priceBucket(bound)));
+        for (String facet : FACETS) {
+            postings.put(facet, new HashMap<>());
+            labels.put(facet, new HashMap<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<CourseCatalogRow> rows = courseRepository.findCatalogRows();
+        lock.writeLock().lock();
+        try {
+            docIdsByCourse.clear();
+            documents.clear();
+            freeDocIds.clear();
+            live.clear();
+            postings.values().forEach(Map::clear);
+            labels.values().forEach(Map::clear);
+            rows.forEach(this::add);
+            built = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Course facet index built with {} courses", rows.size());
+    }
+
+    // Runs after commit (or right away when published outside a transaction) and re-reads the committed row
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        Optional<CourseCatalogRow> row = courseRepository.findCatalogRowById(event.getCourseId());
+        lock.writeLock().lock();
+        try {
+            if (!built) {
+                return; // the initial build will read the committed row
+            }
+            remove(event.getCourseId());
+            row.ifPresent(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Result search(CourseSearchCriteria criteria) {
+        if (!isBuilt()) {
+            rebuild();
+        }
+        lock.readLock().lock();
+        try {
+            Map<String, BitSet> facetFilters = new LinkedHashMap<>();
+            addValueFilter(facetFilters, CATEGORY, criteria.getCategories());
+            addValueFilter(facetFilters, MODE, criteria.getModes());
+            addValueFilter(facetFilters, LEVEL, criteria.getLevels());
+            if (criteria.getCertificationEligible() != null) {
+                addValueFilter(facetFilters, CERTIFICATION, List.of(criteria.getCertificationEligible().toString()));
+            }
+            if (criteria.getMinPrice() != null || criteria.getMaxPrice() != null) {
+                facetFilters.put(PRICE, scan(live, doc -> inPriceRange(doc, criteria)));
+            }
+
+            List<String> words = TextNormalizer.tokens(criteria.getText());
+            BitSet base = criteria.getStartFrom() != null || criteria.getStartTo() != null || !words.isEmpty()
+                    ? scan(live, doc -> inStartWindow(doc, criteria) && containsAll(doc, words))
+                    : (BitSet) live.clone();
+
+            BitSet matches = (BitSet) base.clone();
+            facetFilters.values().forEach(matches::and);
+
+            List<Document> matching = new ArrayList<>(matches.cardinality());
+            for (int docId = matches.nextSetBit(0); docId >= 0; docId = matches.nextSetBit(docId + 1)) {
+                matching.add(documents.get(docId));
+            }
+            matching.sort(NEWEST_FIRST);
+            List<Long> courseIds = new ArrayList<>(matching.size());
+            matching.forEach(doc -> courseIds.add(doc.courseId));
+
+            Map<String, Map<String, Integer>> facetCounts = new LinkedHashMap<>();
+            for (String facet : FACETS) {
+                facetCounts.put(facet, countValues(facet, base, facetFilters));
+            }
+            return new Result(courseIds, facetCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean isBuilt() {
+        lock.readLock().lock();
+        try {
+            return built;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(CourseCatalogRow row) {
+        Document doc = new Document(row);
+        putValue(doc, CATEGORY, row.getCategory());
+        putValue(doc, MODE, row.getMode() != null ? row.getMode().name() : null);
+        putValue(doc, LEVEL, row.getLevel());
+        putValue(doc, CERTIFICATION, row.getCertificationEligible() != null ? row.getCertificationEligible().toString() : null);
+        putValue(doc, PRICE, priceBucket(row.getPrice()));
+
+        int docId = freeDocIds.isEmpty() ? documents.size() : freeDocIds.poll();
+        if (docId == documents.size()) {
+            documents.add(doc);
+        } else {
+            documents.set(docId, doc);
+        }
+        docIdsByCourse.put(doc.courseId, docId);
+        live.set(docId);
+        doc.values.forEach((facet, key) -> postings.get(facet).computeIfAbsent(key, k -> new BitSet()).set(docId));
+    }
+
+    private void remove(Long courseId) {
+        Integer docId = docIdsByCourse.remove(courseId);
+        if (docId == null) {
+            return;
+        }
+        Document doc = documents.get(docId);
+        doc.values.forEach((facet, key) -> {
+            BitSet docs = postings.get(facet).get(key);
+            docs.clear(docId);
+            if (docs.isEmpty()) {
+                postings.get(facet).remove(key);
+                labels.get(facet).remove(key);
+            }
+        });
+        documents.set(docId, null);
+        live.clear(docId);
+        freeDocIds.add(docId);
+    }
+
+    private void putValue(Document doc, String facet, String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return;
+        }
+        String key = TextNormalizer.fold(value.trim());
+        doc.values.put(facet, key);
+        labels.get(facet).putIfAbsent(key, value.trim());
+    }
+
+    private void addValueFilter(Map<String, BitSet> facetFilters, String facet, Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        BitSet docs = new BitSet();
+        for (String value : values) {
+            BitSet valueDocs = value != null ? postings.get(facet).get(TextNormalizer.fold(value.trim())) : null;
+            if (valueDocs != null) {
+                docs.or(valueDocs);
+            }
+        }
+        facetFilters.put(facet, docs);
+    }
+
+    private Map<String, Integer> countValues(String facet, BitSet base, Map<String, BitSet> facetFilters) {
+        BitSet scope = (BitSet) base.clone();
+        facetFilters.forEach((other, docs) -> {
+            if (!other.equals(facet)) {
+                scope.and(docs);
+            }
+        });
+        // Price buckets in ascending order, other values alphabetically
+        Comparator<Map.Entry<String, BitSet>> order = PRICE.equals(facet)
+                ? Comparator.comparingInt(entry -> priceBucketOrder.indexOf(entry.getKey()))
+                : Map.Entry.comparingByKey();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        postings.get(facet).entrySet().stream()
+                .sorted(order)
+                .forEach(entry -> {
+                    BitSet docs = (BitSet) entry.getValue().clone();
+                    docs.and(scope);
+                    int count = docs.cardinality();
+                    if (count > 0) {
+                        counts.put(labels.get(facet).get(entry.getKey()), count);
+                    }
+                });
+        return counts;
+    }
+
+    private BitSet scan(BitSet candidates, Predicate<Document> test) {
+        BitSet docs = new BitSet();
+        for (int docId = candidates.nextSetBit(0); docId >= 0; docId = candidates.nextSetBit(docId + 1)) {
+            if (test.test(documents.get(docId))) {
+                docs.set(docId);
+            }
+        }
+        return docs;
+    }
+
+    private static boolean inPriceRange(Document doc, CourseSearchCriteria criteria) {
+        if (doc.price == null) {
+            return false;
+        }
+        return (criteria.getMinPrice() == null || doc.price.compareTo(criteria.getMinPrice()) >= 0)
+                && (criteria.getMaxPrice() == null || doc.price.compareTo(criteria.getMaxPrice()) <= 0);
+    }
+
+    private static boolean inStartWindow(Document doc, CourseSearchCriteria criteria) {
+        if (criteria.getStartFrom() == null && criteria.getStartTo() == null) {
+            return true;
+        }
+        if (doc.startDate == null) {
+            return false;
+        }
+        return (criteria.getStartFrom() == null || !doc.startDate.isBefore(criteria.getStartFrom()))
+                && (criteria.getStartTo() == null || !doc.startDate.isAfter(criteria.getStartTo()));
+    }
+
+    private static boolean containsAll(Document doc, List<String> words) {
+        for (String word : words) {
+            if (!doc.text.contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Buckets are [previous bound, bound); the last one is open-ended, e.g. "0-100", "100-250", ..., "1000+"
+    private String priceBucket(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        BigDecimal lower = BigDecimal.ZERO;
+        for (BigDecimal bound : priceBounds) {
+            if (price.compareTo(bound) < 0) {
+                return lower.toPlainString() + "-" + bound.toPlainString();
+            }
+            lower = bound;
+        }
+        return lower.toPlainString() + "+";
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
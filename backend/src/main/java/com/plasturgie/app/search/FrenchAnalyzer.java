@@ -0,0 +1,77 @@
+package com.plasturgie.app.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Turns French text into index terms: accent and case folding, stop word removal and a light stemmer
+ * that only strips plural and feminine endings, so "moules" / "moule" and "matériaux" / "matériau"
+ * match while "matériel" stays apart. Indexing and querying must go through the same analyzer.
+ */
+public final class FrenchAnalyzer {
+
+    // Already folded, since they are compared after TextNormalizer.fold
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "a", "au", "aux", "avec", "ce", "ces", "dans", "de", "des", "du", "elle", "en", "et", "il", "ils",
+            "je", "la", "le", "les", "leur", "leurs", "lui", "ma", "mais", "me", "mes", "meme", "moi", "mon", "ne",
+            "nos", "notre", "nous", "on", "ou", "par", "pas", "pour", "qu", "que", "qui", "sa", "se", "ses", "son",
+            "sur", "ta", "te", "tes", "toi", "ton", "tu", "un", "une", "vos", "votre", "vous", "c", "d", "j", "l",
+            "m", "n", "s", "t", "y", "est", "sont", "the", "of", "and"));
+
+    private static final int MIN_STEM_LENGTH = 3;
+
+    private FrenchAnalyzer() {
+    }
+
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String token : TextNormalizer.tokens(text)) {
+            if (!STOP_WORDS.contains(token)) {
+                terms.add(stem(token));
+            }
+        }
+        return terms;
+    }
+
+    // Folded query words, unstemmed, for prefix matching of a word still being typed
+    public static List<String> queryWords(String text) {
+        List<String> words = new ArrayList<>();
+        for (String token : TextNormalizer.tokens(text)) {
+            if (!STOP_WORDS.contains(token)) {
+                words.add(token);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Light stemming of one folded word: -au(x) becomes -al (but not -eau(x)), then a final -s or -x,
+     * a final -e and a doubled final consonant are removed, never leaving fewer than three letters.
+     */
+    public static String stem(String word) {
+        if (word.length() <= MIN_STEM_LENGTH || !Character.isLetter(word.charAt(word.length() - 1))) {
+            return word;
+        }
+        String stem = word;
+        if (stem.endsWith("aux") && !stem.endsWith("eaux") && stem.length() > MIN_STEM_LENGTH + 1) {
+            stem = stem.substring(0, stem.length() - 3) + "al";
+        } else if (stem.endsWith("s") || stem.endsWith("x")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        if (stem.endsWith("au") && !stem.endsWith("eau") && stem.length() > MIN_STEM_LENGTH) {
+            stem = stem.substring(0, stem.length() - 2) + "al";
+        }
+        if (stem.endsWith("e") && stem.length() > MIN_STEM_LENGTH) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        int length = stem.length();
+        if (length > MIN_STEM_LENGTH && stem.charAt(length - 1) == stem.charAt(length - 2)
+                && "aeiou".indexOf(stem.charAt(length - 1)) < 0) {
+            stem = stem.substring(0, length - 1);
+        }
+        return stem;
+    }
+}
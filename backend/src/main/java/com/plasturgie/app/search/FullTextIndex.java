@@ -0,0 +1,265 @@
+package com.plasturgie.app.search;
+
+import com.plasturgie.app.model.enums.SearchDocumentType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index with BM25 ranking over {@link SearchDocument}s of every type.
+ * <p>
+ * Terms come from {@link FrenchAnalyzer}; each posting holds the boosted term frequency of a document
+ * (field boosts make a title word weigh more than a description word, a simplified BM25F). All query
+ * words must match. The last word is also matched as a prefix of index terms, so results follow the
+ * user's typing; prefix-only matches score at a discount. The term dictionary is sorted, so prefix
+ * expansion is a range scan.
+ */
+@Component
+public class FullTextIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final int minPrefixLength;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // All guarded by lock
+    private final Map<String, Integer> docIdsByKey = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final PriorityQueue<Integer> freeDocIds = new PriorityQueue<>();
+    // term -> document number -> boosted term frequency
+    private final TreeMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+    private double totalLength;
+
+    private static final class Entry {
+        private final SearchDocument document;
+        private final Map<String, Float> termWeights;
+        private final float length;
+
+        Entry(SearchDocument document, Map<String, Float> termWeights, float length) {
+            this.document = document;
+            this.termWeights = termWeights;
+            this.length = length;
+        }
+    }
+
+    public static final class Hit {
+        private final SearchDocument document;
+        private final double score;
+
+        Hit(SearchDocument document, double score) {
+            this.document = document;
+            this.score = score;
+        }
+
+        public SearchDocument getDocument() {
+            return document;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    public static final class Result {
+        private final int total;
+        private final List<Hit> hits;
+
+        Result(int total, List<Hit> hits) {
+            this.total = total;
+            this.hits = hits;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public List<Hit> getHits() {
+            return hits;
+        }
+    }
+
+    public FullTextIndex(@Value("${app.search.min-prefix-length:2}") int minPrefixLength) {
+        this.minPrefixLength = Math.max(1, minPrefixLength);
+    }
+
+    public void put(SearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            remove(SearchDocument.key(document.getType(), document.getId()));
+            add(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(SearchDocumentType type, Long id) {
+        lock.writeLock().lock();
+        try {
+            remove(SearchDocument.key(type, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(Collection<SearchDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            docIdsByKey.clear();
+            entries.clear();
+            freeDocIds.clear();
+            postings.clear();
+            totalLength = 0;
+            documents.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdsByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param types document types to return; empty means all
+     */
+    public Result search(String query, Set<SearchDocumentType> types, int limit) {
+        List<String> words = FrenchAnalyzer.queryWords(query);
+        if (words.isEmpty()) {
+            return new Result(0, Collections.emptyList());
+        }
+        lock.readLock().lock();
+        try {
+            if (docIdsByKey.isEmpty()) {
+                return new Result(0, Collections.emptyList());
+            }
+            double averageLength = totalLength / docIdsByKey.size();
+            Map<Integer, Double> scores = null;
+            for (int i = 0; i < words.size(); i++) {
+                Map<Integer, Double> wordScores = scoreWord(words.get(i), i == words.size() - 1, averageLength);
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    Map<Integer, Double> combined = new HashMap<>();
+                    for (Map.Entry<Integer, Double> score : scores.entrySet()) {
+                        Double wordScore = wordScores.get(score.getKey());
+                        if (wordScore != null) {
+                            combined.put(score.getKey(), score.getValue() + wordScore);
+                        }
+                    }
+                    scores = combined;
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            for (Map.Entry<Integer, Double> score : scores.entrySet()) {
+                SearchDocument document = entries.get(score.getKey()).document;
+                if (types.isEmpty() || types.contains(document.getType())) {
+                    hits.add(new Hit(document, score.getValue()));
+                }
+            }
+            int total = hits.size();
+            hits.sort(Comparator.comparingDouble(Hit::getScore).reversed()
+                    .thenComparing(hit -> hit.getDocument().getType())
+                    .thenComparing(hit -> hit.getDocument().getId()));
+            return new Result(total, new ArrayList<>(hits.subList(0, Math.min(limit, total))));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best score per document over the word's exact term and, for the last word, its prefix expansions
+    private Map<Integer, Double> scoreWord(String word, boolean last, double averageLength) {
+        Map<String, Double> terms = new LinkedHashMap<>();
+        String stem = FrenchAnalyzer.stem(word);
+        terms.put(stem, 1.0);
+        if (last && word.length() >= minPrefixLength) {
+            NavigableMap<String, Map<Integer, Float>> expansions = postings.subMap(word, true, word + Character.MAX_VALUE, false);
+            for (String term : expansions.keySet()) {
+                if (terms.size() > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                terms.putIfAbsent(term, PREFIX_MATCH_FACTOR);
+            }
+        }
+
+        Map<Integer, Double> wordScores = new HashMap<>();
+        int documentCount = docIdsByKey.size();
+        terms.forEach((term, factor) -> {
+            Map<Integer, Float> docs = postings.get(term);
+            if (docs == null) {
+                return;
+            }
+            double idf = Math.log(1 + (documentCount - docs.size() + 0.5) / (docs.size() + 0.5));
+            docs.forEach((docId, frequency) -> {
+                double norm = K1 * (1 - B + B * entries.get(docId).length / averageLength);
+                double score = factor * idf * frequency * (K1 + 1) / (frequency + norm);
+                wordScores.merge(docId, score, Math::max);
+            });
+        });
+        return wordScores;
+    }
+
+    private void add(SearchDocument document) {
+        Map<String, Float> termWeights = new HashMap<>();
+        float length = 0;
+        for (int i = 0; i < document.getTexts().size(); i++) {
+            float boost = document.getBoosts().get(i);
+            for (String term : FrenchAnalyzer.analyze(document.getTexts().get(i))) {
+                termWeights.merge(term, boost, Float::sum);
+                length += boost;
+            }
+        }
+        int docId = freeDocIds.isEmpty() ? entries.size() : freeDocIds.poll();
+        Entry entry = new Entry(document, termWeights, length);
+        if (docId == entries.size()) {
+            entries.add(entry);
+        } else {
+            entries.set(docId, entry);
+        }
+        docIdsByKey.put(SearchDocument.key(document.getType(), document.getId()), docId);
+        termWeights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(docId, weight));
+        totalLength += length;
+    }
+
+    private void remove(String key) {
+        Integer docId = docIdsByKey.remove(key);
+        if (docId == null) {
+            return;
+        }
+        Entry entry = entries.get(docId);
+        entry.termWeights.keySet().forEach(term -> {
+            Map<Integer, Float> docs = postings.get(term);
+            docs.remove(docId);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+            }
+        });
+        totalLength -= entry.length;
+        entries.set(docId, null);
+        freeDocIds.add(docId);
+    }
+}
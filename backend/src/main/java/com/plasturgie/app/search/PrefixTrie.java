@@ -0,0 +1,442 @@
+package com.plasturgie.app.search;
+
+import com.plasturgie.app.model.enums.SuggestionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Character trie over the folded words of every suggestion, so "inj" finds "Moulage par injection".
+ * Children are kept in sorted parallel arrays rather than maps to stay small, and every node caches
+ * the best {@code topK} suggestions of its subtree: a lookup is one walk down the prefix, independent
+ * of how many suggestions share it. Changing a suggestion only recomputes the caches on the paths of
+ * its words.
+ */
+public class PrefixTrie {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    // Most popular first; ties go to the shorter, then alphabetically first, text. Written out rather than
+    // composed from Comparator.comparing(...) since it is the inner loop of every cache refresh.
+    private static final Comparator<Suggestion> RANKING = (a, b) -> {
+        int order = Long.compare(b.popularity, a.popularity);
+        if (order == 0) {
+            order = Integer.compare(a.folded.length(), b.folded.length());
+        }
+        if (order == 0) {
+            order = a.folded.compareTo(b.folded);
+        }
+        if (order == 0) {
+            order = a.type.compareTo(b.type);
+        }
+        if (order == 0 && a.id != b.id) {
+            order = a.id == null ? -1 : b.id == null ? 1 : a.id.compareTo(b.id);
+        }
+        return order;
+    };
+
+    private final int topK;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private Node root = new Node();
+    private final Map<String, Suggestion> suggestionsByKey = new HashMap<>();
+
+    public static final class Suggestion {
+        private final SuggestionType type;
+        private final Long id;
+        private final String text;
+        private final long popularity;
+        private final String folded;
+        private final List<String> words;
+
+        public Suggestion(SuggestionType type, Long id, String text, long popularity) {
+            this.type = type;
+            this.id = id;
+            this.text = text;
+            this.popularity = popularity;
+            this.folded = TextNormalizer.fold(text);
+            this.words = new ArrayList<>(new LinkedHashSet<>(TextNormalizer.tokens(text)));
+        }
+
+        public SuggestionType getType() {
+            return type;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public long getPopularity() {
+            return popularity;
+        }
+
+        // Folded distinct words, in order
+        public List<String> getWords() {
+            return words;
+        }
+
+        // Values without an id (categories) are identified by their folded text
+        String key() {
+            return id != null ? type.name() + ":" + id : keyOf(type, text);
+        }
+    }
+
+    private static final class Node {
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion[] terminals = NO_SUGGESTIONS; // suggestions having a word that ends here
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = label;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels.length == 0 ? NO_LABELS : newLabels;
+            children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+        }
+
+        boolean isEmpty() {
+            return terminals.length == 0 && children.length == 0;
+        }
+    }
+
+    public PrefixTrie(int topK) {
+        this.topK = Math.max(1, topK);
+    }
+
+    /**
+     * Best {@code limit} suggestions having a word that starts with {@code prefix} (already folded) and
+     * accepted by {@code filter}, most popular first. The node cache answers when enough of its entries
+     * pass the filter; otherwise the subtree is searched best-first, bounded by each child's cached best,
+     * so a selective filter (e.g. one type) still finds matches ranked below the cached {@code topK}.
+     */
+    public List<Suggestion> complete(String prefix, Predicate<Suggestion> filter, int limit) {
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            if (node == null) {
+                return Collections.emptyList();
+            }
+            List<Suggestion> cached = new ArrayList<>(limit);
+            for (Suggestion suggestion : node.top) {
+                if (cached.size() == limit) {
+                    break;
+                }
+                if (filter.test(suggestion)) {
+                    cached.add(suggestion);
+                }
+            }
+            // A cache that is not full holds the whole subtree
+            if (cached.size() == limit || node.top.length < topK) {
+                return cached;
+            }
+            return search(node, filter, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Suggestion suggestion) {
+        lock.writeLock().lock();
+        try {
+            Suggestion previous = suggestionsByKey.put(suggestion.key(), suggestion);
+            List<List<Node>> paths = previous != null ? unlink(previous) : new ArrayList<>();
+            for (String word : suggestion.getWords()) {
+                List<Node> path = walk(word, true);
+                Node last = path.get(path.size() - 1);
+                last.terminals = append(last.terminals, suggestion);
+                paths.add(path);
+            }
+            refreshTops(paths);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(SuggestionType type, Long id) {
+        lock.writeLock().lock();
+        try {
+            Suggestion previous = suggestionsByKey.remove(type.name() + ":" + id);
+            if (previous != null) {
+                refreshTops(unlink(previous));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Removes every suggestion of the type whose key is not in keepKeys (see keyOf)
+    public void retain(SuggestionType type, Set<String> keepKeys) {
+        lock.writeLock().lock();
+        try {
+            List<Suggestion> stale = new ArrayList<>();
+            suggestionsByKey.forEach((key, suggestion) -> {
+                if (suggestion.getType() == type && !keepKeys.contains(key)) {
+                    stale.add(suggestion);
+                }
+            });
+            List<List<Node>> paths = new ArrayList<>();
+            stale.forEach(suggestion -> {
+                suggestionsByKey.remove(suggestion.key());
+                paths.addAll(unlink(suggestion));
+            });
+            refreshTops(paths);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole content. Words are inserted first and the caches computed in one pass afterwards,
+     * which is much cheaper than refreshing the paths after each insert.
+     */
+    public void replaceAll(Collection<Suggestion> suggestions) {
+        Node newRoot = new Node();
+        Map<String, Suggestion> byKey = new HashMap<>();
+        for (Suggestion suggestion : suggestions) {
+            byKey.put(suggestion.key(), suggestion);
+        }
+        for (Suggestion suggestion : byKey.values()) {
+            for (String word : suggestion.getWords()) {
+                Node node = newRoot;
+                for (int i = 0; i < word.length(); i++) {
+                    node = node.addChild(word.charAt(i));
+                }
+                node.terminals = append(node.terminals, suggestion);
+            }
+        }
+        computeTops(newRoot);
+        lock.writeLock().lock();
+        try {
+            root = newRoot;
+            suggestionsByKey.clear();
+            suggestionsByKey.putAll(byKey);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return suggestionsByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Identity of a suggestion without id, for retain()
+    public static String keyOf(SuggestionType type, String text) {
+        return type.name() + ":" + TextNormalizer.fold(text);
+    }
+
+    // Removes the suggestion's words and returns the paths whose caches must be refreshed
+    private List<List<Node>> unlink(Suggestion suggestion) {
+        List<List<Node>> paths = new ArrayList<>();
+        for (String word : suggestion.getWords()) {
+            List<Node> path = walk(word, false);
+            if (path.size() != word.length() + 1) {
+                continue;
+            }
+            Node last = path.get(path.size() - 1);
+            last.terminals = without(last.terminals, suggestion);
+            // Prune empty nodes bottom-up; what is left of the path needs a refresh
+            for (int depth = path.size() - 1; depth > 0 && path.get(depth).isEmpty(); depth--) {
+                path.get(depth - 1).removeChild(word.charAt(depth - 1));
+                path.remove(depth);
+            }
+            paths.add(path);
+        }
+        return paths;
+    }
+
+    private List<Node> walk(String word, boolean create) {
+        List<Node> path = new ArrayList<>(word.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < word.length(); i++) {
+            node = create ? node.addChild(word.charAt(i)) : node.child(word.charAt(i));
+            if (node == null) {
+                break;
+            }
+            path.add(node);
+        }
+        return path;
+    }
+
+    // Frontier entry of search(): a suggestion, or a subtree ranked by its best suggestion
+    private static final class Candidate {
+        private final Suggestion rank;
+        private final Node node;
+
+        Candidate(Suggestion rank, Node node) {
+            this.rank = rank;
+            this.node = node;
+        }
+    }
+
+    private List<Suggestion> search(Node start, Predicate<Suggestion> filter, int limit) {
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>((a, b) -> {
+            int order = RANKING.compare(a.rank, b.rank);
+            // On a tie the suggestion comes out before the subtree it heads
+            return order != 0 ? order : Boolean.compare(a.node != null, b.node != null);
+        });
+        frontier.add(new Candidate(start.top[0], start));
+        Set<Suggestion> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Suggestion> found = new ArrayList<>(limit);
+        while (found.size() < limit && !frontier.isEmpty()) {
+            Candidate next = frontier.poll();
+            if (next.node == null) {
+                // A suggestion reachable by several words counts once
+                if (seen.add(next.rank) && filter.test(next.rank)) {
+                    found.add(next.rank);
+                }
+                continue;
+            }
+            Node node = next.node;
+            if (node.top.length < topK) {
+                // Complete cache: no need to expand the subtree
+                for (Suggestion suggestion : node.top) {
+                    frontier.add(new Candidate(suggestion, null));
+                }
+                continue;
+            }
+            for (Suggestion suggestion : node.terminals) {
+                frontier.add(new Candidate(suggestion, null));
+            }
+            for (Node child : node.children) {
+                if (child.top.length > 0) {
+                    frontier.add(new Candidate(child.top[0], child));
+                }
+            }
+        }
+        return found;
+    }
+
+    // Deepest level first, so every node is refreshed after its children; nodes shared by several
+    // paths (at least the root) are refreshed once
+    private void refreshTops(List<List<Node>> paths) {
+        int maxDepth = paths.stream().mapToInt(List::size).max().orElse(0) - 1;
+        Set<Node> refreshed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int depth = maxDepth; depth >= 0; depth--) {
+            for (List<Node> path : paths) {
+                if (depth < path.size() && refreshed.add(path.get(depth))) {
+                    path.get(depth).top = best(path.get(depth));
+                }
+            }
+        }
+    }
+
+    private void computeTops(Node node) {
+        for (Node child : node.children) {
+            computeTops(child);
+        }
+        node.top = best(node);
+    }
+
+    // Merge of the node's own suggestions and its children's caches, all kept in ranking order;
+    // a suggestion reachable by several words counts once
+    private Suggestion[] best(Node node) {
+        if (node.terminals.length == 0 && node.children.length <= 1) {
+            // Caches are replaced, never modified, so a chain of single children shares one array
+            return node.children.length == 0 ? NO_SUGGESTIONS : node.children[0].top;
+        }
+        Suggestion[][] sources = new Suggestion[node.children.length + 1][];
+        sources[0] = node.terminals;
+        for (int i = 0; i < node.children.length; i++) {
+            sources[i + 1] = node.children[i].top;
+        }
+        int[] positions = new int[sources.length];
+        List<Suggestion> best = new ArrayList<>(topK);
+        while (best.size() < topK) {
+            int next = -1;
+            for (int i = 0; i < sources.length; i++) {
+                if (positions[i] < sources[i].length
+                        && (next < 0 || RANKING.compare(sources[i][positions[i]], sources[next][positions[next]]) < 0)) {
+                    next = i;
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            Suggestion candidate = sources[next][positions[next]++];
+            // The ranking is total, so copies of the same suggestion come out one after the other
+            if (best.isEmpty() || best.get(best.size() - 1) != candidate) {
+                best.add(candidate);
+            }
+        }
+        return best.toArray(NO_SUGGESTIONS);
+    }
+
+    // Inserts in ranking order
+    private static Suggestion[] append(Suggestion[] suggestions, Suggestion suggestion) {
+        int index = Arrays.binarySearch(suggestions, suggestion, RANKING);
+        if (index >= 0) {
+            return suggestions;
+        }
+        int insertAt = -index - 1;
+        Suggestion[] result = new Suggestion[suggestions.length + 1];
+        System.arraycopy(suggestions, 0, result, 0, insertAt);
+        result[insertAt] = suggestion;
+        System.arraycopy(suggestions, insertAt, result, insertAt + 1, suggestions.length - insertAt);
+        return result;
+    }
+
+    private static Suggestion[] without(Suggestion[] suggestions, Suggestion suggestion) {
+        Suggestion[] result = Arrays.stream(suggestions).filter(existing -> existing != suggestion).toArray(Suggestion[]::new);
+        return result.length == 0 ? NO_SUGGESTIONS : result;
+    }
+}
@@ -0,0 +1,63 @@
+package com.plasturgie.app.search;
+
+import com.plasturgie.app.model.enums.SearchDocumentType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One searchable entity: what is shown in the results (title, summary) and the weighted text fields
+ * that are indexed. A field boost of 3 counts every word of the field three times for ranking.
+ */
+public class SearchDocument {
+
+    private final SearchDocumentType type;
+    private final Long id;
+    private final String title;
+    private final String summary;
+    private final List<String> texts = new ArrayList<>();
+    private final List<Float> boosts = new ArrayList<>();
+
+    public SearchDocument(SearchDocumentType type, Long id, String title, String summary) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.summary = summary;
+    }
+
+    public SearchDocument field(String text, float boost) {
+        if (text != null && !text.trim().isEmpty()) {
+            texts.add(text);
+            boosts.add(boost);
+        }
+        return this;
+    }
+
+    public SearchDocumentType getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    List<String> getTexts() {
+        return texts;
+    }
+
+    List<Float> getBoosts() {
+        return boosts;
+    }
+
+    static String key(SearchDocumentType type, Long id) {
+        return type.name() + ":" + id;
+    }
+}
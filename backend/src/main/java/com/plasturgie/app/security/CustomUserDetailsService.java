@@ -5,13 +5,14 @@ import com.plasturgie.app.model.User;
 import com.plasturgie.app.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
@@ -36,4 +37,22 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return UserPrincipal.create(user);
     }
+
+    /**
+     * Called by Spring Security after a successful login whose stored hash is weaker than the configured
+     * BCrypt cost ({@code app.security.bcrypt.strength}); stores the password rehashed at the new cost.
+     * Same password, so issued tokens stay valid.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() ->
+                        new UsernameNotFoundException("User not found with username: " + userDetails.getUsername())
+                );
+        user.setPasswordHash(newPassword);
+        userRepository.save(user);
+
+        return UserPrincipal.create(user);
+    }
 }
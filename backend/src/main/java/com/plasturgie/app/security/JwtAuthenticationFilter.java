@@ -1,5 +1,7 @@
 package com.plasturgie.app.security;
 
+import com.plasturgie.app.exception.ResourceNotFoundException;
+import io.jsonwebtoken.Claims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -15,16 +17,38 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
+/**
+ * Authenticates requests carrying a bearer JWT. The token is parsed once and the principal is built from
+ * its claims, or taken from {@link ValidatedTokenCache} when the same token was verified before; the only
+ * per-user state consulted is the token version (revocation), served from {@link TokenVersionCache}.
+ * Tokens issued before the claims existed still load the user.
+ * <p>
+ * Routes the {@link RouteTable} marks as fully public are not filtered at all: a stale or forged token
+ * sent to the catalog costs nothing and the request stays anonymous.
+ */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenVersionCache tokenVersionCache;
+    private final ValidatedTokenCache validatedTokenCache;
+    private final RouteTable routeTable;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, CustomUserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, CustomUserDetailsService userDetailsService,
+                                   TokenVersionCache tokenVersionCache, ValidatedTokenCache validatedTokenCache,
+                                   RouteTable routeTable) {
         this.tokenProvider = tokenProvider;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionCache = tokenVersionCache;
+        this.validatedTokenCache = validatedTokenCache;
+        this.routeTable = routeTable;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return routeTable.classify(request) == RouteTable.Authentication.NONE;
     }
 
     @Override
@@ -33,16 +57,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromJWT(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserById(userId);
+            UserDetails userDetails = StringUtils.hasText(jwt) ? authenticate(jwt) : null;
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
+        } catch (ResourceNotFoundException | NumberFormatException ex) {
+            // A valid signature for a user that no longer exists, or a malformed subject: the request stays anonymous
+            logger.debug("Ignoring token that does not identify a user: {}", ex.getMessage());
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
         }
@@ -50,6 +75,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // null when the token is invalid, has been revoked (its version is no longer the user's) or the user is gone
+    private UserDetails authenticate(String jwt) {
+        UserPrincipal principal = validatedTokenCache.get(jwt);
+        if (principal == null) {
+            Claims claims = tokenProvider.parseClaims(jwt);
+            if (claims == null) {
+                return null;
+            }
+            principal = tokenProvider.toPrincipal(claims);
+            if (principal == null) {
+                return userDetailsService.loadUserById(Long.parseLong(claims.getSubject()));
+            }
+            validatedTokenCache.put(jwt, principal, claims.getExpiration());
+        }
+        if (tokenVersionCache.currentVersion(principal.getId()) != principal.getTokenVersion()) {
+            logger.debug("Rejecting revoked token of user {}", principal.getId());
+            return null;
+        }
+        return principal;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
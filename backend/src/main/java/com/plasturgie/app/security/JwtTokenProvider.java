@@ -7,23 +7,44 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import javax.crypto.SecretKey;
 import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
+/**
+ * Issues and parses the JWTs. Besides the user id (subject), tokens carry what a {@link UserPrincipal}
+ * needs (username, email, authorities) and the user's token version, so authenticated requests are
+ * served without loading the user; see {@link JwtAuthenticationFilter}. The key and the parser are
+ * built once: both are immutable and thread-safe.
+ */
 @Component
 public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+    static final String CLAIM_USERNAME = "username";
+    static final String CLAIM_EMAIL = "email";
+    static final String CLAIM_AUTHORITIES = "authorities";
+    static final String CLAIM_TOKEN_VERSION = "ver";
+
     @Autowired
     private JwtConfig jwtConfig;
 
-    // 🔐 تحويل الـ secret إلى SecretKey صالح لـ HS512
-    private SecretKey getSecretKey() {
-        return Keys.hmacShaKeyFor(Base64.getDecoder().decode(jwtConfig.getSecret()));
+    private SecretKey secretKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        // 🔐 تحويل الـ secret إلى SecretKey صالح لـ HS512
+        secretKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(jwtConfig.getSecret()));
+        parser = Jwts.parserBuilder().setSigningKey(secretKey).build();
     }
 
     public String generateToken(Authentication authentication) {
@@ -31,36 +52,58 @@ public class JwtTokenProvider {
 
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtConfig.getExpiration());
+        List<String> authorities = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
 
         return Jwts.builder()
                 .setSubject(Long.toString(userPrincipal.getId()))
+                .claim(CLAIM_USERNAME, userPrincipal.getUsername())
+                .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+                .claim(CLAIM_AUTHORITIES, authorities)
+                .claim(CLAIM_TOKEN_VERSION, userPrincipal.getTokenVersion())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .setIssuer(jwtConfig.getIssuer())
-                .signWith(getSecretKey(), SignatureAlgorithm.HS512)
+                .signWith(secretKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public Long getUserIdFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSecretKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies the signature and expiry and returns the claims in one pass; null when the token is invalid.
+     */
+    public Claims parseClaims(String token) {
+        try {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Expired or forged tokens are routine on public routes that accept optional authentication
+            logger.debug("JWT validation failed: {}", ex.getMessage());
+            return null;
+        }
+    }
 
-        return Long.parseLong(claims.getSubject());
+    /**
+     * Principal described by verified claims; null for tokens issued before the claims were added,
+     * whose user has to be loaded instead.
+     */
+    public UserPrincipal toPrincipal(Claims claims) {
+        Object authorities = claims.get(CLAIM_AUTHORITIES);
+        Integer tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+        if (!(authorities instanceof List) || tokenVersion == null) {
+            return null;
+        }
+        List<GrantedAuthority> grantedAuthorities = ((List<?>) authorities).stream()
+                .map(authority -> new SimpleGrantedAuthority(String.valueOf(authority)))
+                .collect(Collectors.toList());
+        return new UserPrincipal(Long.parseLong(claims.getSubject()), claims.get(CLAIM_USERNAME, String.class),
+                claims.get(CLAIM_EMAIL, String.class), null, grantedAuthorities, tokenVersion);
+    }
+
+    public Long getUserIdFromJWT(String token) {
+        return Long.parseLong(parser.parseClaimsJws(token).getBody().getSubject());
     }
 
     public boolean validateToken(String authToken) {
-        try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSecretKey())
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
-        } catch (JwtException ex) {
-            logger.error("JWT validation failed: {}", ex.getMessage());
-        }
-        return false;
+        return parseClaims(authToken) != null;
     }
 }
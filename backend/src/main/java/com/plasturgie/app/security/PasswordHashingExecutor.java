@@ -0,0 +1,68 @@
+package com.plasturgie.app.security;
+
+import com.plasturgie.app.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Small dedicated pool for the request handlers that hash or verify passwords (login, registration).
+ * BCrypt is deliberately slow, so a login burst on request threads would take the whole Tomcat pool;
+ * here at most {@code threads} hashes run at once, a bounded queue absorbs short bursts, and anything
+ * beyond is refused at once with {@link PasswordHashingBusyException} (503) instead of piling up.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${app.security.password-hashing.threads:2}") int threads,
+                                   @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.rejected = Counter.builder("auth.password.hashing.rejected")
+                .description("Logins and registrations refused because the hashing queue was full")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.queued", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a thread").register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the task on the hashing pool. The task must not rely on the caller's thread-bound state
+     * (security context, request attributes); transactions it opens are bound to the pool thread.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Too many sign-in requests, please retry in a few seconds");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
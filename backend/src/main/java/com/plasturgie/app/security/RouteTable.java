@@ -0,0 +1,115 @@
+package com.plasturgie.app.security;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Access rules of the API's routes, in first-match order. SecurityConfig registers them as its authorization
+ * rules and {@link JwtAuthenticationFilter} classifies each request with the same matchers (compiled once),
+ * so public routes never pay for token processing, whatever Authorization header the client sends.
+ * A public pattern must not match a handler that reads the principal; list such routes before it.
+ */
+public final class RouteTable {
+
+    public enum Authentication {
+        // Public; a bearer token is ignored
+        NONE,
+        // Public, but a valid token changes the response (e.g. what search returns)
+        OPTIONAL,
+        // Anonymous requests are rejected
+        REQUIRED
+    }
+
+    public static final class Route {
+        private final RequestMatcher matcher;
+        private final Authentication authentication;
+        private final String role; // REQUIRED only; null means any authenticated user
+
+        Route(RequestMatcher matcher, Authentication authentication, String role) {
+            this.matcher = matcher;
+            this.authentication = authentication;
+            this.role = role;
+        }
+
+        public RequestMatcher getMatcher() {
+            return matcher;
+        }
+
+        public Authentication getAuthentication() {
+            return authentication;
+        }
+
+        public String getRole() {
+            return role;
+        }
+    }
+
+    private final List<Route> routes;
+
+    private RouteTable(List<Route> routes) {
+        this.routes = Collections.unmodifiableList(routes);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    // Requests matching no route need authentication
+    public Authentication classify(HttpServletRequest request) {
+        for (Route route : routes) {
+            if (route.matcher.matches(request)) {
+                return route.authentication;
+            }
+        }
+        return Authentication.REQUIRED;
+    }
+
+    public static final class Builder {
+        private final List<Route> routes = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder permitAll(String pattern) {
+            return add(null, pattern, Authentication.NONE, null);
+        }
+
+        public Builder permitAll(HttpMethod method, String pattern) {
+            return add(method, pattern, Authentication.NONE, null);
+        }
+
+        // Public route whose response depends on the caller when a token is sent
+        public Builder permitAllWithOptionalAuthentication(HttpMethod method, String pattern) {
+            return add(method, pattern, Authentication.OPTIONAL, null);
+        }
+
+        // Needed ahead of a public pattern that would otherwise also match the route
+        public Builder authenticated(HttpMethod method, String pattern) {
+            return add(method, pattern, Authentication.REQUIRED, null);
+        }
+
+        public Builder hasRole(String pattern, String role) {
+            return add(null, pattern, Authentication.REQUIRED, role);
+        }
+
+        public RouteTable build() {
+            return new RouteTable(new ArrayList<>(routes));
+        }
+
+        private Builder add(HttpMethod method, String pattern, Authentication authentication, String role) {
+            routes.add(new Route(new AntPathRequestMatcher(pattern, method == null ? null : method.name()),
+                    authentication, role));
+            return this;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.plasturgie.app.security;
+
+import com.plasturgie.app.event.UserTokensRevokedEvent;
+import com.plasturgie.app.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Current token version of each recently active user, so checking a token for revocation does not cost
+ * a query per request. Revocations made by this instance evict the user after commit; the time-to-live
+ * bounds how long another instance can keep accepting revoked tokens. Deleted users are cached as
+ * {@link #NO_USER}, which matches no token.
+ */
+@Component
+public class TokenVersionCache {
+
+    public static final int NO_USER = -1;
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private static final class Entry {
+        private final int version;
+        private final long loadedAt;
+
+        Entry(int version, long loadedAt) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    @Autowired
+    public TokenVersionCache(UserRepository userRepository,
+                             @Value("${app.jwt.version-cache.ttl-ms:30000}") long ttlMillis,
+                             @Value("${app.jwt.version-cache.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxEntries = maxEntries;
+    }
+
+    public int currentVersion(Long userId) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(userId);
+        if (entry != null && now - entry.loadedAt < ttlNanos) {
+            return entry.version;
+        }
+        int version = userRepository.findTokenVersionById(userId).orElse(NO_USER);
+        if (entries.size() >= maxEntries) {
+            // Rare (more active users than entries within one TTL): start over rather than track recency
+            entries.clear();
+        }
+        entries.put(userId, new Entry(version, now));
+        return version;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTokensRevoked(UserTokensRevokedEvent event) {
+        entries.remove(event.getUserId());
+    }
+}
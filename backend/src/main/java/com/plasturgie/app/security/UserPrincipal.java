@@ -21,13 +21,22 @@ public class UserPrincipal implements UserDetails {
 
     private Collection<? extends GrantedAuthority> authorities;
 
+    @JsonIgnore
+    private int tokenVersion; // User.tokenVersion when loaded, or the version claim of the token it was built from
+
     public UserPrincipal(Long id, String username, String email, String password,
                          Collection<? extends GrantedAuthority> authorities) {
+        this(id, username, email, password, authorities, 0);
+    }
+
+    public UserPrincipal(Long id, String username, String email, String password,
+                         Collection<? extends GrantedAuthority> authorities, int tokenVersion) {
         this.id = id;
         this.username = username;
         this.email = email;
         this.password = password;
         this.authorities = authorities;
+        this.tokenVersion = tokenVersion;
     }
 
     public static UserPrincipal create(User user) {
@@ -41,7 +50,8 @@ public class UserPrincipal implements UserDetails {
                 user.getUsername(),
                 user.getEmail(),
                 user.getPasswordHash(),// Use the hashed password from User entity
-                authorities
+                authorities,
+                user.getTokenVersion() != null ? user.getTokenVersion() : 0
         );
     }
 
@@ -58,6 +68,10 @@ public class UserPrincipal implements UserDetails {
         return email;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
     @Override
     public String getPassword() {
         return password; // Returns the (hashed) password
@@ -0,0 +1,131 @@
+package com.plasturgie.app.security;
+
+import com.plasturgie.app.event.UserTokensRevokedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Principals of recently verified tokens, keyed by a SHA-256 of the token, so a token seen again skips
+ * signature verification and claim parsing until it expires. Size-bounded, least-recently-used first.
+ * <p>
+ * Caching does not delay revocation: {@link JwtAuthenticationFilter} compares the cached principal's
+ * token version with the user's current one (the revocation epoch, see {@link TokenVersionCache}) on
+ * every request, and a revocation also drops the user's entries here after commit.
+ */
+@Component
+public class ValidatedTokenCache {
+
+    private final boolean enabled;
+    private final int maxEntries;
+
+    // Guarded by "this"; access-ordered for LRU
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    private static final class Entry {
+        private final UserPrincipal principal;
+        private final long expiresAt;
+
+        Entry(UserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public ValidatedTokenCache(MeterRegistry meterRegistry,
+                               @Value("${app.jwt.token-cache.enabled:true}") boolean enabled,
+                               @Value("${app.jwt.token-cache.max-entries:10000}") int maxEntries) {
+        this.enabled = enabled && maxEntries > 0;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<String, Entry>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ValidatedTokenCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hits = Counter.builder("auth.token.cache.requests").tag("result", "hit")
+                .description("Bearer tokens resolved without verifying the signature").register(meterRegistry);
+        this.misses = Counter.builder("auth.token.cache.requests").tag("result", "miss")
+                .description("Bearer tokens that had to be verified and parsed").register(meterRegistry);
+        this.evictions = Counter.builder("auth.token.cache.evictions")
+                .description("Entries evicted to stay within the cache size").register(meterRegistry);
+        Gauge.builder("auth.token.cache.entries", this, ValidatedTokenCache::entryCount).register(meterRegistry);
+        Gauge.builder("auth.token.cache.hit.ratio", this, ValidatedTokenCache::hitRatio).register(meterRegistry);
+    }
+
+    /**
+     * Principal of an already verified, unexpired token; null on a miss. The caller still checks revocation.
+     */
+    public UserPrincipal get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        String key = key(token);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && System.currentTimeMillis() < entry.expiresAt) {
+                hits.increment();
+                return entry.principal;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(String token, UserPrincipal principal, Date expiration) {
+        if (!enabled || expiration == null) {
+            return;
+        }
+        String key = key(token);
+        synchronized (this) {
+            entries.put(key, new Entry(principal, expiration.getTime()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTokensRevoked(UserTokensRevokedEvent event) {
+        entries.values().removeIf(entry -> event.getUserId().equals(entry.principal.getId()));
+    }
+
+    public synchronized int entryCount() {
+        return entries.size();
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    // Tokens themselves are not kept in memory
+    private static String key(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
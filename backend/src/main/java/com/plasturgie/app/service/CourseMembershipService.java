@@ -0,0 +1,20 @@
+package com.plasturgie.app.service;
+
+import com.plasturgie.app.security.UserPrincipal;
+
+/**
+ * Which courses an instructor is assigned to, for authorization checks that would otherwise load the
+ * course with its instructors and their users.
+ */
+public interface CourseMembershipService {
+
+    /**
+     * @return true when the user has an instructor profile assigned to the course
+     */
+    boolean isInstructorOf(Long userId, Long courseId);
+
+    /**
+     * @return true when the user is an admin or an instructor assigned to the course
+     */
+    boolean canManageCourse(UserPrincipal user, Long courseId);
+}
@@ -0,0 +1,10 @@
+package com.plasturgie.app.service;
+
+import com.plasturgie.app.dto.CourseSearchCriteria;
+import com.plasturgie.app.dto.CourseSearchResultDTO;
+
+public interface CourseSearchService {
+
+    // Newest matching courses first; limit is clamped to the catalog's maximum page size
+    CourseSearchResultDTO search(CourseSearchCriteria criteria, Integer offset, Integer limit);
+}
@@ -1,8 +1,11 @@
 package com.plasturgie.app.service;
 
+import com.plasturgie.app.dto.CourseFieldSelection;
 import com.plasturgie.app.dto.CourseInputDTO;
 import com.plasturgie.app.dto.CourseListDTO;
+import com.plasturgie.app.dto.CoursePageDTO;
 import com.plasturgie.app.model.Course;
+import com.plasturgie.app.model.enums.CourseSort;
 import com.plasturgie.app.model.enums.Mode;
 import com.plasturgie.app.security.UserPrincipal;
 import org.springframework.web.multipart.MultipartFile;
@@ -24,8 +27,13 @@ public interface CourseService {
 
     // Listing and Detail methods
     List<CourseListDTO> getAllCoursesForList();
+    // Keyset-paginated catalog; cursor is the nextCursor of the previous page, limit is clamped to the configured maximum.
+    // Only the selected parts of each course are loaded.
+    CoursePageDTO getCoursesPage(CourseSort sort, String cursor, Integer limit, CourseFieldSelection selection);
     List<CourseListDTO> getCoursesByInstructorForList(Long instructorId); // For specific instructor's courses
     CourseListDTO getCourseDetailsForListDTO(Long id); // Returns DTO with details
+    // In the order of the given ids; ids of courses that no longer exist are skipped
+    List<CourseListDTO> getCoursesForListByIds(List<Long> courseIds);
 
     Course getCourseById(Long id); // General purpose entity getter
 
@@ -33,6 +41,10 @@ public interface CourseService {
     @Deprecated
     List<Course> getAllCourses();
 
+    // Filtered listings as DTOs, mapped in one batched pass (newest first)
+    List<CourseListDTO> getCoursesByCategoryForList(String category);
+    List<CourseListDTO> getCoursesByModeForList(Mode mode);
+
     // Filtering methods (return entities, controller might map to DTOs if needed for specific views)
     List<Course> getCoursesByCategory(String category);
     List<Course> getCoursesByMode(Mode mode);
@@ -0,0 +1,17 @@
+package com.plasturgie.app.service;
+
+public interface CourseStatsService {
+
+    // Called inside the transaction that creates, changes or deletes a course review
+    void reviewAdded(Long courseId, int rating);
+    void reviewRatingChanged(Long courseId, int oldRating, int newRating);
+    void reviewRemoved(Long courseId, int rating);
+
+    // Called inside the transaction that creates or deletes an enrollment
+    void enrollmentAdded(Long courseId);
+    void enrollmentsAdded(Long courseId, int count);
+    void enrollmentRemoved(Long courseId);
+
+    // Recomputes the statistics of every course from reviews and enrollments; returns the number of courses updated
+    int rebuildAll();
+}
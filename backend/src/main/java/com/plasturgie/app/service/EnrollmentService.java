@@ -1,5 +1,7 @@
 package com.plasturgie.app.service;
 
+import com.plasturgie.app.dto.BulkEnrollmentRequestDTO;
+import com.plasturgie.app.dto.BulkEnrollmentResultDTO;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.Enrollment;
 import com.plasturgie.app.model.Payment;
@@ -31,6 +33,16 @@ public interface EnrollmentService {
      * @return The created enrollment
      */
     Enrollment createEnrollmentWithPayment(Long userId, Long courseId, Long paymentId);
+
+    /**
+     * Enroll many learners in a course at once (PENDING, like a single enrollment), e.g. a company's employees.
+     * The report identifies accounts (ids, unknown emails), so this is for administrators only.
+     * Unknown users, non-learners, users already enrolled and repeated entries are reported and skipped.
+     *
+     * @param request The course and the learners, by ID and/or email
+     * @return One result row per requested learner
+     */
+    BulkEnrollmentResultDTO bulkEnroll(BulkEnrollmentRequestDTO request);
     
     /**
      * Get an enrollment by ID
@@ -0,0 +1,18 @@
+package com.plasturgie.app.service;
+
+import com.plasturgie.app.media.MediaDescriptor;
+import com.plasturgie.app.model.enums.ImageVariantSize;
+
+import java.util.Optional;
+
+public interface ImageVariantService {
+
+    // Descriptor of the requested rendition of an image; empty (and generation queued) when it does not exist yet
+    Optional<MediaDescriptor> describeVariant(MediaDescriptor original, ImageVariantSize size);
+
+    // Queues rendering of every variant of an image blob; a no-op if already queued
+    void generateAsync(String sourceKey);
+
+    // Queues the images that are still missing variants; returns how many were queued
+    int backfillMissingVariants();
+}
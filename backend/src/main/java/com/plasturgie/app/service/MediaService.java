@@ -0,0 +1,36 @@
+package com.plasturgie.app.service;
+
+import com.plasturgie.app.media.MediaDescriptor;
+import com.plasturgie.app.repository.MediaRepository.MediaSlot;
+import com.plasturgie.app.storage.StoredBlob;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+
+public interface MediaService {
+
+    // Metadata only; the content is not read
+    Optional<MediaDescriptor> describe(MediaSlot slot, Long id, Long parentId);
+
+    void stream(MediaSlot slot, Long id, MediaDescriptor media, long offset, long length, OutputStream out) throws IOException;
+
+    // Local file backing the media, when it should be handed to the container's sendfile (not for cacheable media)
+    Optional<Path> localFile(MediaDescriptor media);
+
+    StoredBlob store(MultipartFile file) throws IOException;
+
+    // Streams content into the blob store; when expectedSha256 is given the stored content must match it
+    StoredBlob store(InputStream content, String expectedSha256) throws IOException;
+
+    void clearLegacy(MediaSlot slot, Long id);
+
+    // Moves legacy LOB content to the blob store; returns migrated/failed counts per slot
+    Map<String, Integer> migrateLegacyLobs();
+
+    int purgeUnreferencedBlobs();
+}
@@ -3,6 +3,7 @@ package com.plasturgie.app.service;
 import com.plasturgie.app.dto.ModuleRequestDTO;
 import com.plasturgie.app.dto.ModuleResponseDTO;
 import com.plasturgie.app.model.Module;
+import com.plasturgie.app.storage.StoredBlob;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.util.List;
@@ -25,6 +26,10 @@ public interface ModuleService {
     Module getModuleWithPdf(Long moduleId);
     Module getModuleWithVideo(Long moduleId); // New: To fetch module with Video data
 
+    // Attach content already streamed into the blob store (raw-body and resumable uploads)
+    ModuleResponseDTO attachPdf(Long moduleId, StoredBlob blob, String filename, String contentType);
+    ModuleResponseDTO attachVideo(Long moduleId, StoredBlob blob, String filename, String contentType);
+
     void deletePdfFromModule(Long moduleId);
     void deleteVideoFromModule(Long moduleId); // New: To delete video from module
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.plasturgie.app.service;
+
+import com.plasturgie.app.dto.SearchResultsDTO;
+import com.plasturgie.app.model.enums.SearchDocumentType;
+
+import java.util.Set;
+
+public interface SearchService {
+
+    // Full-text search over courses, events, services, companies and instructors; empty types means all
+    SearchResultsDTO search(String query, Set<SearchDocumentType> types, Integer limit);
+
+    // Re-reads every searchable entity into the index; returns the number of documents indexed
+    int rebuildIndex();
+}
@@ -0,0 +1,16 @@
+package com.plasturgie.app.service;
+
+import com.plasturgie.app.dto.SuggestionDTO;
+import com.plasturgie.app.model.enums.SuggestionType;
+
+import java.util.List;
+import java.util.Set;
+
+public interface SuggestionService {
+
+    // As-you-type suggestions for the text typed so far, most popular first; empty types means all
+    List<SuggestionDTO> suggest(String query, Set<SuggestionType> types, Integer limit);
+
+    // Reloads every suggestion from the database; returns the number of suggestions
+    int rebuild();
+}
@@ -0,0 +1,24 @@
+package com.plasturgie.app.service;
+
+import com.plasturgie.app.dto.UploadSessionDTO;
+import com.plasturgie.app.dto.UploadSessionRequestDTO;
+import com.plasturgie.app.security.UserPrincipal;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface UploadSessionService {
+
+    UploadSessionDTO createSession(Long courseId, Long moduleId, UploadSessionRequestDTO request, UserPrincipal currentUser);
+
+    UploadSessionDTO getSession(Long courseId, Long moduleId, String uploadId, UserPrincipal currentUser);
+
+    // Appends a chunk that must start at the current offset; the last chunk attaches the file to the module.
+    // contentLength is the chunk's declared length, or -1 when unknown (chunked transfer encoding).
+    UploadSessionDTO appendChunk(Long courseId, Long moduleId, String uploadId, long offset, long contentLength,
+                                 InputStream content, UserPrincipal currentUser) throws IOException;
+
+    void cancelSession(Long courseId, Long moduleId, String uploadId, UserPrincipal currentUser);
+
+    int purgeExpiredSessions();
+}
@@ -1,12 +1,15 @@
 package com.plasturgie.app.service.impl;
 
+import com.plasturgie.app.event.SearchableEntityChangedEvent;
 import com.plasturgie.app.exception.ResourceNotFoundException;
 import com.plasturgie.app.model.Company;
 import com.plasturgie.app.model.User;
+import com.plasturgie.app.model.enums.SearchDocumentType;
 import com.plasturgie.app.repository.CompanyRepository;
 import com.plasturgie.app.service.CompanyService;
 import com.plasturgie.app.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,13 +24,18 @@ public class CompanyServiceImpl implements CompanyService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional
     public Company createCompany(Company company, Long representativeId) {
         User representative = userService.findById(representativeId);
         company.setRepresentative(representative);
         
-        return companyRepository.save(company);
+        Company savedCompany = companyRepository.save(company);
+        eventPublisher.publishEvent(new SearchableEntityChangedEvent(SearchDocumentType.COMPANY, savedCompany.getCompanyId()));
+        return savedCompany;
     }
 
     @Override
@@ -84,6 +92,7 @@ public class CompanyServiceImpl implements CompanyService {
             company.setWebsite(companyDetails.getWebsite());
         }
         
+        eventPublisher.publishEvent(new SearchableEntityChangedEvent(SearchDocumentType.COMPANY, id));
         return companyRepository.save(company);
     }
 
@@ -91,6 +100,10 @@ public class CompanyServiceImpl implements CompanyService {
     @Transactional
     public void deleteCompany(Long id) {
         Company company = getCompanyById(id);
+        // Services go with the company (cascade)
+        company.getServices().forEach(service ->
+                eventPublisher.publishEvent(new SearchableEntityChangedEvent(SearchDocumentType.SERVICE, service.getServiceId())));
         companyRepository.delete(company);
+        eventPublisher.publishEvent(new SearchableEntityChangedEvent(SearchDocumentType.COMPANY, id));
     }
 }
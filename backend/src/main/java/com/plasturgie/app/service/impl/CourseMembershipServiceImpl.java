@@ -0,0 +1,110 @@
+package com.plasturgie.app.service.impl;
+
+import com.plasturgie.app.event.CourseInstructorsChangedEvent;
+import com.plasturgie.app.event.SearchableEntityChangedEvent;
+import com.plasturgie.app.model.enums.SearchDocumentType;
+import com.plasturgie.app.repository.CourseRepository;
+import com.plasturgie.app.repository.InstructorRepository;
+import com.plasturgie.app.security.UserPrincipal;
+import com.plasturgie.app.service.CourseMembershipService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps userId -> instructorId and instructorId -> course ids of recently checked instructors, each loaded
+ * with one narrow query, so an authorization check is two map lookups. Assignment changes evict the
+ * instructors concerned after commit ({@link CourseInstructorsChangedEvent}); a deleted instructor is
+ * evicted on its {@link SearchableEntityChangedEvent}. Users without an instructor profile are not cached,
+ * so one created later is seen at once.
+ */
+@Service
+public class CourseMembershipServiceImpl implements CourseMembershipService {
+
+    private final CourseRepository courseRepository;
+    private final InstructorRepository instructorRepository;
+    private final int maxEntries;
+
+    private final ConcurrentHashMap<Long, Long> instructorIdsByUser = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<Long>> courseIdsByInstructor = new ConcurrentHashMap<>();
+    // Bumped by every eviction; a load that overlapped one is used but not cached, as it may predate the change
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public CourseMembershipServiceImpl(CourseRepository courseRepository, InstructorRepository instructorRepository,
+                                       @Value("${app.course-membership.cache.max-entries:10000}") int maxEntries) {
+        this.courseRepository = courseRepository;
+        this.instructorRepository = instructorRepository;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isInstructorOf(Long userId, Long courseId) {
+        if (userId == null || courseId == null) {
+            return false;
+        }
+        Long instructorId = instructorIdsByUser.get(userId);
+        if (instructorId == null) {
+            long loadedAt = generation.get();
+            instructorId = instructorRepository.findInstructorIdByUserId(userId).orElse(null);
+            if (instructorId == null) {
+                return false;
+            }
+            cache(instructorIdsByUser, userId, instructorId, loadedAt);
+        }
+        Set<Long> courseIds = courseIdsByInstructor.get(instructorId);
+        if (courseIds == null) {
+            long loadedAt = generation.get();
+            courseIds = Set.copyOf(courseRepository.findCourseIdsByInstructorId(instructorId));
+            cache(courseIdsByInstructor, instructorId, courseIds, loadedAt);
+        }
+        return courseIds.contains(courseId);
+    }
+
+    @Override
+    public boolean canManageCourse(UserPrincipal user, Long courseId) {
+        if (user == null) {
+            return false;
+        }
+        if (user.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+            return true;
+        }
+        return user.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_INSTRUCTOR"))
+                && isInstructorOf(user.getId(), courseId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseInstructorsChanged(CourseInstructorsChangedEvent event) {
+        generation.incrementAndGet();
+        event.getInstructorIds().forEach(courseIdsByInstructor::remove);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(SearchableEntityChangedEvent event) {
+        if (event.getType() != SearchDocumentType.INSTRUCTOR) {
+            return;
+        }
+        generation.incrementAndGet();
+        courseIdsByInstructor.remove(event.getId());
+        instructorIdsByUser.values().removeIf(event.getId()::equals);
+    }
+
+    private <K, V> void cache(Map<K, V> map, K key, V value, long loadedAt) {
+        if (map.size() >= maxEntries) {
+            // More active instructors than entries: start over rather than track recency
+            map.clear();
+        }
+        map.put(key, value);
+        if (generation.get() != loadedAt) {
+            map.remove(key, value);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.plasturgie.app.service.impl;
+
+import com.plasturgie.app.dto.CourseListDTO;
+import com.plasturgie.app.dto.CourseSearchCriteria;
+import com.plasturgie.app.dto.CourseSearchResultDTO;
+import com.plasturgie.app.search.CourseFacetIndex;
+import com.plasturgie.app.service.CourseSearchService;
+import com.plasturgie.app.service.CourseService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Faceted catalog search: filtering and facet counting are answered by the in-memory
+ * {@link CourseFacetIndex}; only the courses of the requested page are read from the database.
+ */
+@Service
+public class CourseSearchServiceImpl implements CourseSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseSearchServiceImpl.class);
+
+    private final CourseFacetIndex courseFacetIndex;
+    private final CourseService courseService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    @Autowired
+    public CourseSearchServiceImpl(CourseFacetIndex courseFacetIndex, CourseService courseService,
+                                   @Value("${app.catalog.page-size.default:20}") int defaultPageSize,
+                                   @Value("${app.catalog.page-size.max:100}") int maxPageSize) {
+        this.courseFacetIndex = courseFacetIndex;
+        this.courseService = courseService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    public CourseSearchResultDTO search(CourseSearchCriteria criteria, Integer offset, Integer limit) {
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null
+                && criteria.getMinPrice().compareTo(criteria.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        if (criteria.getStartFrom() != null && criteria.getStartTo() != null
+                && criteria.getStartFrom().isAfter(criteria.getStartTo())) {
+            throw new IllegalArgumentException("startFrom must not be after startTo");
+        }
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        int from = offset == null ? 0 : Math.max(0, offset);
+
+        CourseFacetIndex.Result result = courseFacetIndex.search(criteria);
+        List<Long> matches = result.getCourseIds();
+        logger.debug("SERVICE - Course search {} matched {} courses", criteria, matches.size());
+
+        List<CourseListDTO> items = from < matches.size()
+                ? courseService.getCoursesForListByIds(matches.subList(from, Math.min(from + pageSize, matches.size())))
+                : Collections.emptyList();
+        return new CourseSearchResultDTO(items, matches.size(), from, pageSize, result.getFacetCounts());
+    }
+}
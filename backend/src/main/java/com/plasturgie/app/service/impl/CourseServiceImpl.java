@@ -1,24 +1,40 @@
 package com.plasturgie.app.service.impl;
 
+import com.plasturgie.app.dto.CourseCatalogRow;
+import com.plasturgie.app.dto.CourseCursor;
+import com.plasturgie.app.dto.CourseFieldSelection;
 import com.plasturgie.app.dto.CourseInputDTO;
+import com.plasturgie.app.dto.CourseInstructorRow;
 import com.plasturgie.app.dto.CourseListDTO;
+import com.plasturgie.app.dto.CoursePageDTO;
 import com.plasturgie.app.dto.ModuleResponseDTO; // Ensure this is imported
 import com.plasturgie.app.dto.SimpleInstructorDTO;
+import com.plasturgie.app.event.CourseChangedEvent;
+import com.plasturgie.app.event.CourseInstructorsChangedEvent;
 // SimpleModuleDTO is no longer directly used in mapCourseToCourseListDTO for the modules list
 import com.plasturgie.app.exception.ResourceNotFoundException;
 import com.plasturgie.app.model.*;
 import com.plasturgie.app.model.Module;
+import com.plasturgie.app.model.enums.CourseSort;
 import com.plasturgie.app.model.enums.Mode;
 import com.plasturgie.app.model.enums.Role;
 import com.plasturgie.app.repository.CourseRepository;
+import com.plasturgie.app.repository.MediaRepository.MediaSlot;
+import com.plasturgie.app.repository.ModuleRepository;
 import com.plasturgie.app.security.UserPrincipal;
+import com.plasturgie.app.service.CourseMembershipService;
 import com.plasturgie.app.service.CourseService;
 import com.plasturgie.app.service.InstructorService;
+import com.plasturgie.app.service.ImageVariantService;
+import com.plasturgie.app.service.MediaService;
+import com.plasturgie.app.storage.StoredBlob;
 // import com.plasturgie.app.service.ModuleService; // Not strictly needed if mapping helper is local
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,9 +45,12 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -42,11 +61,33 @@ public class CourseServiceImpl implements CourseService {
 
     private final CourseRepository courseRepository;
     private final InstructorService instructorService;
+    private final MediaService mediaService;
+    private final ModuleRepository moduleRepository;
+    private final ImageVariantService imageVariantService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CourseMembershipService courseMembershipService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    // Keeps IN lists under Oracle's 1000 element limit
+    private static final int ID_BATCH_SIZE = 500;
 
     @Autowired
-    public CourseServiceImpl(CourseRepository courseRepository, InstructorService instructorService) {
+    public CourseServiceImpl(CourseRepository courseRepository, InstructorService instructorService,
+                             MediaService mediaService, ModuleRepository moduleRepository,
+                             ImageVariantService imageVariantService, ApplicationEventPublisher eventPublisher,
+                             CourseMembershipService courseMembershipService,
+                             @Value("${app.catalog.page-size.default:20}") int defaultPageSize,
+                             @Value("${app.catalog.page-size.max:100}") int maxPageSize) {
         this.courseRepository = courseRepository;
         this.instructorService = instructorService;
+        this.mediaService = mediaService;
+        this.moduleRepository = moduleRepository;
+        this.imageVariantService = imageVariantService;
+        this.eventPublisher = eventPublisher;
+        this.courseMembershipService = courseMembershipService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     private boolean hasRole(UserPrincipal principal, Role roleEnum) {
@@ -71,22 +112,14 @@ public class CourseServiceImpl implements CourseService {
             return;
         }
         if (hasRole(currentUser, Role.INSTRUCTOR)) {
-            try {
-                Instructor currentInstructorEntity = instructorService.findByUserId(currentUser.getId());
-                boolean isAssignedInstructor = course.getInstructors().stream()
-                        .anyMatch(instr -> instr.getInstructorId().equals(currentInstructorEntity.getInstructorId()));
-                
-                if (!isAssignedInstructor) {
-                    logger.warn("Access Denied: Instructor {} (User ID: {}) is not assigned to course {}.",
-                            currentUser.getUsername(), currentUser.getId(), course.getCourseId());
-                    throw new AccessDeniedException("Instructor is not authorized to modify this course.");
-                }
-                logger.debug("Instructor {} authorized to modify course {}.", currentUser.getUsername(), course.getCourseId());
-                return;
-            } catch (ResourceNotFoundException e) {
-                logger.error("Access Denied: Instructor profile not found for user ID: {}, cannot authorize course modification.", currentUser.getId(), e);
-                throw new AccessDeniedException("Instructor profile not found, authorization failed.");
+            // Also false when the user has no instructor profile
+            if (!courseMembershipService.isInstructorOf(currentUser.getId(), course.getCourseId())) {
+                logger.warn("Access Denied: Instructor {} (User ID: {}) is not assigned to course {}.",
+                        currentUser.getUsername(), currentUser.getId(), course.getCourseId());
+                throw new AccessDeniedException("Instructor is not authorized to modify this course.");
             }
+            logger.debug("Instructor {} authorized to modify course {}.", currentUser.getUsername(), course.getCourseId());
+            return;
         }
         logger.warn("Access Denied: User {} (Roles: {}) is not authorized to modify course {}.",
                 currentUser.getUsername(), currentUser.getAuthorities(), course.getCourseId());
@@ -119,8 +152,7 @@ public class CourseServiceImpl implements CourseService {
             catch (DateTimeParseException e) { logger.warn("Invalid startDate format: {}. Ignoring.", dto.getStartDate(), e);}
         }
         if (imageFile != null && !imageFile.isEmpty()) {
-            course.setImageData(imageFile.getBytes());
-            course.setImageContentType(imageFile.getContentType());
+            attachImage(course, imageFile);
         }
 
         Set<Instructor> instructorsToSet = new HashSet<>();
@@ -149,6 +181,8 @@ public class CourseServiceImpl implements CourseService {
         course.setInstructors(instructorsToSet);
         course.setModules(new HashSet<>());
         Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(savedCourse.getCourseId()));
+        eventPublisher.publishEvent(new CourseInstructorsChangedEvent(savedCourse.getCourseId(), instructorIds(instructorsToSet)));
         logger.info("SERVICE - Course '{}' (ID: {}) created successfully by user {}.", savedCourse.getTitle(), savedCourse.getCourseId(), currentUser.getUsername());
         return savedCourse;
     }
@@ -183,8 +217,8 @@ public class CourseServiceImpl implements CourseService {
         }
 
         if (imageFile != null && !imageFile.isEmpty()) {
-            course.setImageData(imageFile.getBytes());
-            course.setImageContentType(imageFile.getContentType());
+            attachImage(course, imageFile);
+            mediaService.clearLegacy(MediaSlot.COURSE_IMAGE, id);
         }
 
         if (dto.getInstructorIds() != null) {
@@ -197,11 +231,15 @@ public class CourseServiceImpl implements CourseService {
                     }
                     catch (ResourceNotFoundException e) { logger.warn("Instructor ID {} not found during course {} update by admin. Skipping.", instructorId, id); }
                 }
+                Set<Long> affectedInstructorIds = instructorIds(course.getInstructors());
+                affectedInstructorIds.addAll(instructorIds(newInstructors));
                 course.setInstructors(newInstructors);
+                eventPublisher.publishEvent(new CourseInstructorsChangedEvent(id, affectedInstructorIds));
             } else if (hasRole(currentUser, Role.INSTRUCTOR)) {
                 logger.warn("Instructor {} attempted to update the full instructor list for course {} via DTO. This is usually an admin-only action. Instructor list NOT changed by instructor.", currentUser.getUsername(), id);
             }
         }
+        eventPublisher.publishEvent(new CourseChangedEvent(id));
         return courseRepository.save(course);
     }
 
@@ -210,8 +248,26 @@ public class CourseServiceImpl implements CourseService {
     @Transactional(readOnly = true)
     public List<CourseListDTO> getAllCoursesForList() {
         logger.debug("SERVICE - Fetching all courses for list display.");
-        List<Course> courses = courseRepository.findAllWithDetails();
-        return courses.stream().map(this::mapCourseToCourseListDTO).collect(Collectors.toList());
+        return mapCatalogRowsToCourseListDTOs(courseRepository.findCatalogRows());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CoursePageDTO getCoursesPage(CourseSort sort, String cursor, Integer limit, CourseFieldSelection selection) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        CourseCursor after = cursor != null && !cursor.isEmpty() ? CourseCursor.decode(cursor, sort) : null;
+        logger.debug("SERVICE - Fetching catalog page: sort={}, after={}, size={}", sort, cursor, pageSize);
+
+        // One extra row tells whether another page follows without a COUNT query
+        List<CourseCatalogRow> rows = new ArrayList<>(courseRepository.findCatalogPage(sort, after, pageSize + 1,
+                selection.needsDescription()));
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        String nextCursor = hasMore ? CourseCursor.after(sort, rows.get(rows.size() - 1)).encode() : null;
+        return new CoursePageDTO(mapCatalogRowsToCourseListDTOs(rows, selection), sort.name().toLowerCase(), pageSize,
+                hasMore, nextCursor);
     }
 
     @Override
@@ -219,26 +275,83 @@ public class CourseServiceImpl implements CourseService {
     public List<CourseListDTO> getCoursesByInstructorForList(Long instructorId) {
         instructorService.getInstructorById(instructorId);
         logger.debug("SERVICE - Fetching courses for instructor ID: {}", instructorId);
-        List<Course> courses = courseRepository.findByInstructorIdWithDetails(instructorId);
-        return courses.stream().map(this::mapCourseToCourseListDTO).collect(Collectors.toList());
+        return mapCatalogRowsToCourseListDTOs(courseRepository.findCatalogRowsByInstructorId(instructorId));
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourseListDTO> getCoursesByCategoryForList(String category) {
+        logger.debug("SERVICE - Fetching courses for category: {}", category);
+        return mapCatalogRowsToCourseListDTOs(courseRepository.findCatalogRowsByCategory(category));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourseListDTO> getCoursesByModeForList(Mode mode) {
+        logger.debug("SERVICE - Fetching courses for mode: {}", mode);
+        return mapCatalogRowsToCourseListDTOs(courseRepository.findCatalogRowsByMode(mode));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public CourseListDTO getCourseDetailsForListDTO(Long id) {
         logger.debug("SERVICE - Fetching course details for DTO, ID: {}", id);
-        Course course = courseRepository.findByIdWithDetails(id)
+        CourseCatalogRow row = courseRepository.findCatalogRowById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Course", "id", id));
-        return mapCourseToCourseListDTO(course);
+        return mapCatalogRowsToCourseListDTOs(Collections.singletonList(row)).get(0);
     }
 
-    // This is the CRITICAL mapping method for your frontend detail page
-    private CourseListDTO mapCourseToCourseListDTO(Course course) {
-        if (course == null) {
-            logger.warn("mapCourseToCourseListDTO: Received null course entity.");
-            return null;
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourseListDTO> getCoursesForListByIds(List<Long> courseIds) {
+        Map<Long, CourseCatalogRow> rowsById = new HashMap<>();
+        for (int from = 0; from < courseIds.size(); from += ID_BATCH_SIZE) {
+            List<Long> batch = courseIds.subList(from, Math.min(from + ID_BATCH_SIZE, courseIds.size()));
+            courseRepository.findCatalogRowsByCourseIdIn(batch).forEach(row -> rowsById.put(row.getCourseId(), row));
         }
-        CourseListDTO dto = new CourseListDTO();
+        List<CourseCatalogRow> rows = courseIds.stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return mapCatalogRowsToCourseListDTOs(rows);
+    }
+
+    // Catalog listings never load course entities, reviews or enrollments: one projection row per course
+    // (statistics are denormalized on the course), then instructors and module summaries with one query
+    // each per batch of courses. The number of rows read is independent of learners and reviews.
+    private List<CourseListDTO> mapCatalogRowsToCourseListDTOs(List<CourseCatalogRow> rows) {
+        return mapCatalogRowsToCourseListDTOs(rows, CourseFieldSelection.ALL);
+    }
+
+    // Instructor and module queries only run when the selection shows them
+    private List<CourseListDTO> mapCatalogRowsToCourseListDTOs(List<CourseCatalogRow> rows, CourseFieldSelection selection) {
+        List<Long> courseIds = rows.stream().map(CourseCatalogRow::getCourseId).collect(Collectors.toList());
+        Map<Long, List<SimpleInstructorDTO>> instructorsByCourse = new HashMap<>();
+        Map<Long, List<ModuleResponseDTO>> modulesByCourse = new HashMap<>();
+        for (int from = 0; from < courseIds.size(); from += ID_BATCH_SIZE) {
+            List<Long> batch = courseIds.subList(from, Math.min(from + ID_BATCH_SIZE, courseIds.size()));
+            if (selection.needsInstructors()) {
+                courseRepository.findInstructorRows(batch).forEach(row ->
+                        instructorsByCourse.computeIfAbsent(row.getCourseId(), key -> new ArrayList<>()).add(toSimpleInstructorDTO(row)));
+            }
+            if (selection.needsModules()) {
+                moduleRepository.findSummariesByCourseIdIn(batch).forEach(module ->
+                        modulesByCourse.computeIfAbsent(module.getCourseId(), key -> new ArrayList<>()).add(module));
+            }
+        }
+        return rows.stream()
+                .map(row -> {
+                    CourseListDTO dto = new CourseListDTO();
+                    applyCourseFields(dto, row);
+                    applyStats(dto, row.getReviewCount(), row.getRatingSum(), row.getEnrollmentCount());
+                    applyInstructors(dto, instructorsByCourse.getOrDefault(row.getCourseId(), new ArrayList<>()));
+                    dto.setModules(modulesByCourse.getOrDefault(row.getCourseId(), new ArrayList<>()));
+                    return selection.apply(dto);
+                })
+                .collect(Collectors.toList());
+    }
+
+    private void applyCourseFields(CourseListDTO dto, CourseCatalogRow course) {
         dto.setCourseId(course.getCourseId());
         dto.setTitle(course.getTitle());
         dto.setDescription(course.getDescription());
@@ -250,7 +363,8 @@ public class CourseServiceImpl implements CourseService {
         dto.setLevel(course.getLevel());
         dto.setLocation(course.getLocation());
 
-        if (course.getImageData() != null && course.getImageData().length > 0 && course.getImageContentType() != null) {
+        // Content type is set together with the image, also on legacy rows whose image is still in the image_data LOB
+        if (course.getImageContentType() != null) {
             dto.setImageUrl("/api/courses/" + course.getCourseId() + "/image");
         }
         if (course.getStartDate() != null) {
@@ -261,85 +375,46 @@ public class CourseServiceImpl implements CourseService {
         } else {
             dto.setDuration("Durée non spécifiée");
         }
+    }
 
-        if (course.getReviews() != null && !course.getReviews().isEmpty()) {
-            dto.setReviewCount(course.getReviews().size());
-            double avgRating = course.getReviews().stream()
-                                  .mapToInt(Review::getRating)
-                                  .average().orElse(0.0);
-            dto.setRating(Math.round(avgRating * 10.0) / 10.0);
-        } else {
-            dto.setReviewCount(0);
-            dto.setRating(0.0);
-        }
-        dto.setParticipants(course.getEnrollments() != null ? course.getEnrollments().size() : 0);
-
-        if (course.getInstructors() != null && !course.getInstructors().isEmpty()) {
-            List<SimpleInstructorDTO> instructorDTOs = course.getInstructors().stream()
-                .map(instructor -> {
-                    User instructorUser = instructor.getUser();
-                    String fullName = "Instructeur"; 
-                    if (instructorUser != null) {
-                        String fn = instructorUser.getFirstName();
-                        String ln = instructorUser.getLastName();
-                        fullName = (fn != null ? fn : "") + (ln != null ? " " + ln : "").trim();
-                        if (fullName.trim().isEmpty()) { 
-                            fullName = instructorUser.getUsername();
-                        }
-                    }
-                    return new SimpleInstructorDTO(
-                        instructor.getInstructorId(),
-                        fullName,
-                        instructor.getRating()
-                    );
-                })
-                .collect(Collectors.toList());
-            dto.setInstructors(instructorDTOs);
-            if (!instructorDTOs.isEmpty()) {
-                dto.setFirstInstructorId(instructorDTOs.get(0).getInstructorId());
-                dto.setFirstInstructorName(instructorDTOs.get(0).getFullName());
-            }
-        } else {
-            dto.setInstructors(new ArrayList<>());
-        }
-        
-        // ******** CORRECTED MODULE MAPPING SECTION ********
-        if (course.getModules() != null && !course.getModules().isEmpty()) {
-            List<ModuleResponseDTO> moduleResponseDTOs = course.getModules().stream()
-                .map(this::mapModuleEntityToModuleResponseDTO) // Use the correct helper method
-                .sorted(Comparator.comparing(ModuleResponseDTO::getModuleOrder, Comparator.nullsLast(Comparator.naturalOrder())))
-                .collect(Collectors.toList());
-            dto.setModules(moduleResponseDTOs); // This now passes List<ModuleResponseDTO>
-        } else {
-            dto.setModules(new ArrayList<>()); // Ensure it's an empty list, not null
-        }
-        return dto;
+    private void applyStats(CourseListDTO dto, Long reviewCount, Long ratingSum, Long enrollmentCount) {
+        int reviews = reviewCount != null ? reviewCount.intValue() : 0;
+        double averageRating = reviews > 0 && ratingSum != null ? (double) ratingSum / reviews : 0.0;
+        dto.setReviewCount(reviews);
+        dto.setRating(Math.round(averageRating * 10.0) / 10.0);
+        dto.setParticipants(enrollmentCount != null ? enrollmentCount.intValue() : 0);
     }
 
-    // Helper method to map a single Module entity to ModuleResponseDTO
-    private ModuleResponseDTO mapModuleEntityToModuleResponseDTO(Module moduleEntity) {
-        if (moduleEntity == null) return null;
-        ModuleResponseDTO dto = new ModuleResponseDTO();
-        dto.setModuleId(moduleEntity.getModuleId());
-        dto.setTitle(moduleEntity.getTitle());
-        dto.setDescription(moduleEntity.getDescription());
-        dto.setModuleOrder(moduleEntity.getModuleOrder());
-        
-        if (moduleEntity.getCourse() != null) {
-            dto.setCourseId(moduleEntity.getCourse().getCourseId());
-            dto.setCourseTitle(moduleEntity.getCourse().getTitle());
+    private void applyInstructors(CourseListDTO dto, List<SimpleInstructorDTO> instructorDTOs) {
+        dto.setInstructors(instructorDTOs);
+        if (!instructorDTOs.isEmpty()) {
+            dto.setFirstInstructorId(instructorDTOs.get(0).getInstructorId());
+            dto.setFirstInstructorName(instructorDTOs.get(0).getFullName());
         }
+    }
 
-        dto.setPdfFilename(moduleEntity.getPdfFilename());
-        dto.setHasPdf(moduleEntity.getPdfData() != null && moduleEntity.getPdfData().length > 0);
+    private SimpleInstructorDTO toSimpleInstructorDTO(CourseInstructorRow row) {
+        // LEFT JOIN: an instructor without a user row has neither name nor username
+        String fullName = row.getUsername() != null || row.getFirstName() != null || row.getLastName() != null
+                ? instructorFullName(row.getFirstName(), row.getLastName(), row.getUsername())
+                : "Instructeur";
+        return new SimpleInstructorDTO(row.getInstructorId(), fullName, row.getRating());
+    }
 
-        dto.setVideoFilename(moduleEntity.getVideoFilename());
-        dto.setHasVideo(moduleEntity.getVideoData() != null && moduleEntity.getVideoData().length > 0);
-        
-        // Assuming 'lessons' are not directly part of the Module entity for now
-        // If they were, e.g., private List<String> lessons; in Module entity:
-        // dto.setLessons(moduleEntity.getLessons() != null ? new ArrayList<>(moduleEntity.getLessons()) : new ArrayList<>());
-        return dto;
+    private static String instructorFullName(String fn, String ln, String username) {
+        String fullName = (fn != null ? fn : "") + (ln != null ? " " + ln : "").trim();
+        if (fullName.trim().isEmpty()) {
+            fullName = username;
+        }
+        return fullName;
+    }
+
+    private void attachImage(Course course, MultipartFile imageFile) throws IOException {
+        StoredBlob blob = mediaService.store(imageFile);
+        course.setImageBlobKey(blob.getKey());
+        course.setImageSize(blob.getSize());
+        course.setImageContentType(imageFile.getContentType());
+        imageVariantService.generateAsync(blob.getKey());
     }
 
     @Override
@@ -363,6 +438,16 @@ public class CourseServiceImpl implements CourseService {
     @Override @Transactional(readOnly = true) public List<Course> getCoursesByMaxPrice(BigDecimal maxPrice) { return courseRepository.findByPriceLessThanEqual(maxPrice); }
 
     // Instructor Management
+
+    // Mutable, so callers can add the ids of a replacing set
+    private static Set<Long> instructorIds(Set<Instructor> instructors) {
+        Set<Long> ids = new HashSet<>();
+        if (instructors != null) {
+            instructors.forEach(instructor -> ids.add(instructor.getInstructorId()));
+        }
+        return ids;
+    }
+
     @Override
     @Transactional
     public Course addInstructorToCourse(Long courseId, Long instructorId, UserPrincipal currentUser) {
@@ -379,6 +464,8 @@ public class CourseServiceImpl implements CourseService {
         if (instructorToAdd.getCourses() == null) instructorToAdd.setCourses(new HashSet<>()); // Ensure collection is initialized
         instructorToAdd.getCourses().add(course); 
         logger.info("User {} added instructor {} to course {}", currentUser.getUsername(), instructorId, courseId);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+        eventPublisher.publishEvent(new CourseInstructorsChangedEvent(courseId, Set.of(instructorId)));
         // Saving course should be enough if cascade is set up, or if Course is owning side of join table.
         // If Instructor is owning side for its 'courses' collection, you might need to save instructor.
         return courseRepository.save(course); 
@@ -403,6 +490,8 @@ public class CourseServiceImpl implements CourseService {
         course.getInstructors().remove(instructorToRemove);
         if (instructorToRemove.getCourses() != null) instructorToRemove.getCourses().remove(course);
         logger.info("User {} removed instructor {} from course {}", currentUser.getUsername(), instructorId, courseId);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+        eventPublisher.publishEvent(new CourseInstructorsChangedEvent(courseId, Set.of(instructorId)));
         return courseRepository.save(course);
     }
 
@@ -415,6 +504,8 @@ public class CourseServiceImpl implements CourseService {
             throw new AccessDeniedException("Only administrators can set the full list of instructors for a course.");
         }
         
+        Set<Long> affectedInstructorIds = instructorIds(course.getInstructors());
+
         // Manage bidirectional relationship: remove course from instructors no longer assigned
         Set<Instructor> instructorsToRemoveFrom = new HashSet<>(course.getInstructors());
         if (instructorIds != null) {
@@ -439,7 +530,10 @@ public class CourseServiceImpl implements CourseService {
             }
         }
         course.setInstructors(newInstructors); // Set the new collection of instructors for the course
+        affectedInstructorIds.addAll(instructorIds(newInstructors));
         logger.info("Admin {} set instructors for course {}: {}", currentUser.getUsername(), courseId, instructorIds);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+        eventPublisher.publishEvent(new CourseInstructorsChangedEvent(courseId, affectedInstructorIds));
         return courseRepository.save(course);
     }
     
@@ -452,6 +546,7 @@ public class CourseServiceImpl implements CourseService {
         
         // Explicitly manage ManyToMany relationships if Course is the owning side 
         // or if cascading doesn't automatically clear the join table entries from Instructor's side.
+        eventPublisher.publishEvent(new CourseInstructorsChangedEvent(id, instructorIds(course.getInstructors())));
         if(course.getInstructors() != null) {
             new HashSet<>(course.getInstructors()).forEach(instructor -> {
                 if(instructor.getCourses() != null) {
@@ -464,7 +559,15 @@ public class CourseServiceImpl implements CourseService {
         // For OneToMany with CascadeType.ALL and orphanRemoval=true (modules, enrollments, reviews, practicalSessions),
         // Hibernate should handle their deletion.
         
+        mediaService.clearLegacy(MediaSlot.COURSE_IMAGE, course.getCourseId());
+        if (course.getModules() != null) {
+            course.getModules().forEach(module -> {
+                mediaService.clearLegacy(MediaSlot.MODULE_PDF, module.getModuleId());
+                mediaService.clearLegacy(MediaSlot.MODULE_VIDEO, module.getModuleId());
+            });
+        }
         courseRepository.delete(course); 
+        eventPublisher.publishEvent(new CourseChangedEvent(id));
         logger.info("User {} deleted course ID: {}", currentUser.getUsername(), id);
     }
 
@@ -479,11 +582,12 @@ public class CourseServiceImpl implements CourseService {
         newCourse.setTitle(courseDataFromRequest.getTitle());
         // ... copy other properties ...
         if (imageFile != null && !imageFile.isEmpty()) {
-            newCourse.setImageData(imageFile.getBytes());
-            newCourse.setImageContentType(imageFile.getContentType());
+            attachImage(newCourse, imageFile);
         }
         // ... handle instructors and modules as in original snippet ...
-        return courseRepository.save(newCourse);
+        Course savedCourse = courseRepository.save(newCourse);
+        eventPublisher.publishEvent(new CourseChangedEvent(savedCourse.getCourseId()));
+        return savedCourse;
     }
 
     @Override
@@ -494,10 +598,11 @@ public class CourseServiceImpl implements CourseService {
         Course course = getCourseById(id); 
         // ... copy properties from courseDetailsFromRequest to course ...
         if (imageFile != null && !imageFile.isEmpty()) {
-            course.setImageData(imageFile.getBytes());
-            course.setImageContentType(imageFile.getContentType());
+            attachImage(course, imageFile);
+            mediaService.clearLegacy(MediaSlot.COURSE_IMAGE, id);
         }
         // ... handle instructors and modules as in original snippet ...
+        eventPublisher.publishEvent(new CourseChangedEvent(id));
         return courseRepository.save(course);
     }
 }
\ No newline at end of file
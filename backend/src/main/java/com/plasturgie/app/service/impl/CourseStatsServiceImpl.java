@@ -0,0 +1,106 @@
+package com.plasturgie.app.service.impl;
+
+import com.plasturgie.app.event.CourseChangedEvent;
+import com.plasturgie.app.repository.CourseRepository;
+import com.plasturgie.app.service.CourseStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the review_count / rating_sum / enrollment_count columns of courses in step with reviews and
+ * enrollments. Every change is a relative UPDATE in the caller's transaction, so the statistics commit
+ * or roll back together with the review or enrollment and concurrent changes never overwrite each other.
+ * {@link #rebuildAll()} recomputes everything from the source tables to correct any drift (e.g. rows
+ * changed outside the services). Each change also publishes a {@link CourseChangedEvent} so in-memory
+ * views ranked by these statistics pick it up after commit.
+ */
+@Service
+public class CourseStatsServiceImpl implements CourseStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseStatsServiceImpl.class);
+
+    private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public CourseStatsServiceImpl(CourseRepository courseRepository, ApplicationEventPublisher eventPublisher) {
+        this.courseRepository = courseRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional
+    public void reviewAdded(Long courseId, int rating) {
+        courseRepository.adjustReviewStats(courseId, 1, rating);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+    }
+
+    @Override
+    @Transactional
+    public void reviewRatingChanged(Long courseId, int oldRating, int newRating) {
+        if (oldRating != newRating) {
+            courseRepository.adjustReviewStats(courseId, 0, (long) newRating - oldRating);
+            eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void reviewRemoved(Long courseId, int rating) {
+        courseRepository.adjustReviewStats(courseId, -1, -rating);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+    }
+
+    @Override
+    @Transactional
+    public void enrollmentAdded(Long courseId) {
+        courseRepository.adjustEnrollmentCount(courseId, 1);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+    }
+
+    @Override
+    @Transactional
+    public void enrollmentsAdded(Long courseId, int count) {
+        courseRepository.adjustEnrollmentCount(courseId, count);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+    }
+
+    @Override
+    @Transactional
+    public void enrollmentRemoved(Long courseId) {
+        courseRepository.adjustEnrollmentCount(courseId, -1);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+    }
+
+    @Override
+    @Transactional
+    public int rebuildAll() {
+        int updated = courseRepository.rebuildStats(0);
+        logger.info("Rebuilt statistics of {} courses", updated);
+        return updated;
+    }
+
+    /**
+     * Courses that existed before the statistics columns were added get NULL review_count / rating_sum and
+     * the column default 0 for enrollment_count / rating_average; the NULLs mark them for a one-time
+     * recompute of all four. Any missing price or creation date is filled at the same time.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeMissingStats() {
+        int updated = courseRepository.rebuildStats(1);
+        if (updated > 0) {
+            logger.info("Initialized statistics of {} courses", updated);
+        }
+        int filled = courseRepository.fillMissingSortKeys();
+        if (filled > 0) {
+            logger.info("Filled missing catalog sort keys of {} courses", filled);
+        }
+    }
+}
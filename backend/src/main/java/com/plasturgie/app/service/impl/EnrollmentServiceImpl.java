@@ -1,22 +1,40 @@
 package com.plasturgie.app.service.impl;
 
+import com.plasturgie.app.dto.BulkEnrollmentRequestDTO;
+import com.plasturgie.app.dto.BulkEnrollmentResultDTO;
+import com.plasturgie.app.dto.EnrollmentUserRow;
 import com.plasturgie.app.exception.ResourceNotFoundException;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.Enrollment;
 import com.plasturgie.app.model.Payment;
 import com.plasturgie.app.model.User;
+import com.plasturgie.app.model.enums.BulkEnrollmentStatus;
+import com.plasturgie.app.model.enums.Role;
 import com.plasturgie.app.model.enums.Status;
+import com.plasturgie.app.repository.CourseRepository;
+import com.plasturgie.app.repository.EnrollmentBatchRepository;
 import com.plasturgie.app.repository.EnrollmentRepository;
+import com.plasturgie.app.repository.UserRepository;
 import com.plasturgie.app.service.CourseService;
+import com.plasturgie.app.service.CourseStatsService;
 import com.plasturgie.app.service.EnrollmentService;
 import com.plasturgie.app.service.PaymentService;
 import com.plasturgie.app.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class EnrollmentServiceImpl implements EnrollmentService {
@@ -33,6 +51,24 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private CourseStatsService courseStatsService; // Denormalized participant count on the course
+
+    @Autowired
+    private EnrollmentBatchRepository enrollmentBatchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Value("${app.enrollments.bulk.max-rows:1000}")
+    private int bulkMaxRows;
+
+    // Keeps IN lists under Oracle's 1000 element limit
+    private static final int ID_BATCH_SIZE = 500;
+
     @Override
     @Transactional
     public Enrollment createEnrollment(Long userId, Long courseId) {
@@ -50,7 +86,99 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         enrollment.setEnrollmentDate(LocalDateTime.now());
         enrollment.setStatus(Status.PENDING);
         
-        return enrollmentRepository.save(enrollment);
+        Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        courseStatsService.enrollmentAdded(courseId);
+        return savedEnrollment;
+    }
+
+    /**
+     * A few round-trips whatever the number of learners: course existence, user resolution and the duplicate
+     * check are set-based queries (per 500 ids), the inserts one JDBC batch, the statistics one update.
+     */
+    @Override
+    @Transactional
+    public BulkEnrollmentResultDTO bulkEnroll(BulkEnrollmentRequestDTO request) {
+        Long courseId = request.getCourseId();
+        List<Long> userIds = request.getUserIds() != null ? request.getUserIds() : Collections.emptyList();
+        List<String> emails = request.getEmails() != null ? request.getEmails() : Collections.emptyList();
+        if (userIds.size() + emails.size() > bulkMaxRows) {
+            throw new IllegalArgumentException("At most " + bulkMaxRows + " learners can be enrolled at once");
+        }
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course", "id", courseId);
+        }
+
+        Map<Long, EnrollmentUserRow> usersById = new HashMap<>();
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(userIds));
+        distinctIds.remove(null);
+        for (List<Long> batch : batches(distinctIds)) {
+            userRepository.findEnrollmentRowsByIds(batch).forEach(row -> usersById.put(row.getUserId(), row));
+        }
+        Map<String, EnrollmentUserRow> usersByEmail = new HashMap<>();
+        Set<String> distinctEmails = new LinkedHashSet<>();
+        emails.forEach(email -> {
+            if (email != null) {
+                distinctEmails.add(normalizeEmail(email));
+            }
+        });
+        for (List<String> batch : batches(new ArrayList<>(distinctEmails))) {
+            userRepository.findEnrollmentRowsByEmails(batch).forEach(row -> usersByEmail.put(normalizeEmail(row.getEmail()), row));
+        }
+
+        Set<Long> found = new HashSet<>();
+        usersById.values().forEach(row -> found.add(row.getUserId()));
+        usersByEmail.values().forEach(row -> found.add(row.getUserId()));
+        Set<Long> alreadyEnrolled = new HashSet<>();
+        for (List<Long> batch : batches(new ArrayList<>(found))) {
+            alreadyEnrolled.addAll(enrollmentRepository.findEnrolledUserIds(courseId, batch));
+        }
+
+        List<BulkEnrollmentResultDTO.Row> rows = new ArrayList<>();
+        List<Long> toEnroll = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (Long userId : userIds) {
+            rows.add(resultRow(usersById.get(userId), null, alreadyEnrolled, seen, toEnroll));
+        }
+        for (String email : emails) {
+            rows.add(resultRow(email != null ? usersByEmail.get(normalizeEmail(email)) : null, email, alreadyEnrolled, seen, toEnroll));
+        }
+
+        enrollmentBatchRepository.insertAll(courseId, toEnroll, Status.PENDING, LocalDateTime.now());
+        if (!toEnroll.isEmpty()) {
+            courseStatsService.enrollmentsAdded(courseId, toEnroll.size());
+        }
+        return new BulkEnrollmentResultDTO(courseId, toEnroll.size(), rows.size() - toEnroll.size(), rows);
+    }
+
+    private static BulkEnrollmentResultDTO.Row resultRow(EnrollmentUserRow user, String email, Set<Long> alreadyEnrolled,
+                                                         Set<Long> seen, List<Long> toEnroll) {
+        if (user == null) {
+            return new BulkEnrollmentResultDTO.Row(null, email, BulkEnrollmentStatus.USER_NOT_FOUND);
+        }
+        BulkEnrollmentStatus status;
+        if (user.getRole() != Role.LEARNER) {
+            status = BulkEnrollmentStatus.NOT_A_LEARNER;
+        } else if (!seen.add(user.getUserId())) {
+            status = BulkEnrollmentStatus.DUPLICATE_IN_REQUEST;
+        } else if (alreadyEnrolled.contains(user.getUserId())) {
+            status = BulkEnrollmentStatus.ALREADY_ENROLLED;
+        } else {
+            toEnroll.add(user.getUserId());
+            status = BulkEnrollmentStatus.ENROLLED;
+        }
+        return new BulkEnrollmentResultDTO.Row(user.getUserId(), email, status);
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static <T> List<List<T>> batches(List<T> values) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += ID_BATCH_SIZE) {
+            batches.add(values.subList(from, Math.min(from + ID_BATCH_SIZE, values.size())));
+        }
+        return batches;
     }
 
     @Override
@@ -72,7 +200,9 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         enrollment.setEnrollmentDate(LocalDateTime.now());
         enrollment.setStatus(Status.ACTIVE); // Assuming payment is complete
         
-        return enrollmentRepository.save(enrollment);
+        Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        courseStatsService.enrollmentAdded(courseId);
+        return savedEnrollment;
     }
 
     @Override
@@ -149,6 +279,10 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     @Transactional
     public void deleteEnrollment(Long id) {
         Enrollment enrollment = getEnrollmentById(id);
+        Long courseId = enrollment.getCourse() != null ? enrollment.getCourse().getCourseId() : null;
         enrollmentRepository.delete(enrollment);
+        if (courseId != null) {
+            courseStatsService.enrollmentRemoved(courseId);
+        }
     }
 }
@@ -1,12 +1,15 @@
 package com.plasturgie.app.service.impl;
 
+import com.plasturgie.app.event.SearchableEntityChangedEvent;
 import com.plasturgie.app.exception.ResourceNotFoundException;
 import com.plasturgie.app.model.Company;
 import com.plasturgie.app.model.Event;
+import com.plasturgie.app.model.enums.SearchDocumentType;
 import com.plasturgie.app.repository.EventRepository;
 import com.plasturgie.app.service.CompanyService;
 import com.plasturgie.app.service.EventService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +25,9 @@ public class EventServiceImpl implements EventService {
     @Autowired
     private CompanyService companyService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional
     public Event createEvent(Event event, Long companyId) {
@@ -33,7 +39,9 @@ public class EventServiceImpl implements EventService {
             event.setCurrentParticipants(0);
         }
         
-        return eventRepository.save(event);
+        Event savedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(new SearchableEntityChangedEvent(SearchDocumentType.EVENT, savedEvent.getEventId()));
+        return savedEvent;
     }
 
     @Override
@@ -100,6 +108,7 @@ public class EventServiceImpl implements EventService {
             event.setMaxParticipants(eventDetails.getMaxParticipants());
         }
         
+        eventPublisher.publishEvent(new SearchableEntityChangedEvent(SearchDocumentType.EVENT, id));
         return eventRepository.save(event);
     }
 
@@ -118,6 +127,8 @@ public class EventServiceImpl implements EventService {
             currentCount = 0;
         }
         event.setCurrentParticipants(currentCount + 1);
+        // Participants count towards the company's typeahead ranking
+        eventPublisher.publishEvent(new SearchableEntityChangedEvent(SearchDocumentType.EVENT, id));
         
         return eventRepository.save(event);
     }
@@ -132,6 +143,7 @@ public class EventServiceImpl implements EventService {
             currentCount = 0;
         } else if (currentCount > 0) {
             event.setCurrentParticipants(currentCount - 1);
+            eventPublisher.publishEvent(new SearchableEntityChangedEvent(SearchDocumentType.EVENT, id));
         }
         
         return eventRepository.save(event);
@@ -151,5 +163,6 @@ public class EventServiceImpl implements EventService {
     public void deleteEvent(Long id) {
         Event event = getEventById(id);
         eventRepository.delete(event);
+        eventPublisher.publishEvent(new SearchableEntityChangedEvent(SearchDocumentType.EVENT, id));
     }
 }
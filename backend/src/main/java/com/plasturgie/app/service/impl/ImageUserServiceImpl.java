@@ -2,8 +2,10 @@ package com.plasturgie.app.service.impl;
 
 import com.plasturgie.app.model.ImageUser;
 import com.plasturgie.app.repository.ImageUserRepository;
+import com.plasturgie.app.repository.MediaRepository.MediaSlot;
 // Removed: import com.plasturgie.app.service.ImageUserService; // No need to import self-interface in impl
 import com.plasturgie.app.service.ImageUserService;
+import com.plasturgie.app.service.MediaService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +24,9 @@ public class ImageUserServiceImpl implements ImageUserService { // Implements th
     @Autowired
     private ImageUserRepository imageUserRepository;
 
+    @Autowired
+    private MediaService mediaService;
+
     @Override
     @Transactional(readOnly = true)
     public List<ImageUser> getAllImageUsers() {
@@ -43,7 +48,7 @@ public class ImageUserServiceImpl implements ImageUserService { // Implements th
         log.debug("Saving image user for user id: {}", imageUser.getUser() != null ? imageUser.getUser().getUserId() : "null");
 
         // This line should also compile if Lombok is working
-        if (imageUser.getUser() == null || imageUser.getImageData() == null || imageUser.getImageData().length == 0) {
+        if (imageUser.getUser() == null || imageUser.getImageBlobKey() == null || imageUser.getImageSize() == null || imageUser.getImageSize() == 0) {
             throw new IllegalArgumentException("ImageUser must have associated User and non-empty image data.");
         }
         return imageUserRepository.save(imageUser);
@@ -56,6 +61,7 @@ public class ImageUserServiceImpl implements ImageUserService { // Implements th
         if (!imageUserRepository.existsById(id)) {
              log.warn("Attempted to delete non-existent ImageUser with id: {}", id);
         }
+        mediaService.clearLegacy(MediaSlot.USER_IMAGE, id);
         imageUserRepository.deleteById(id);
     }
 
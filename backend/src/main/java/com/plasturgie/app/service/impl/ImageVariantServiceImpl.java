@@ -0,0 +1,184 @@
+package com.plasturgie.app.service.impl;
+
+import com.plasturgie.app.media.ImageVariantGenerator;
+import com.plasturgie.app.media.ImageVariantGenerator.Rendition;
+import com.plasturgie.app.media.MediaDescriptor;
+import com.plasturgie.app.model.ImageVariant;
+import com.plasturgie.app.model.enums.ImageVariantSize;
+import com.plasturgie.app.repository.ImageVariantRepository;
+import com.plasturgie.app.service.ImageVariantService;
+import com.plasturgie.app.storage.BlobStore;
+import com.plasturgie.app.storage.StoredBlob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders image variants off the request path. Uploads queue their image as soon as the blob is stored,
+ * a request for a missing variant queues it too (and is answered with the original meanwhile), and a
+ * periodic backfill picks up anything else, e.g. images uploaded before variants existed.
+ */
+@Service
+public class ImageVariantServiceImpl implements ImageVariantService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantServiceImpl.class);
+
+    private final ImageVariantRepository imageVariantRepository;
+    private final ImageVariantGenerator generator;
+    private final BlobStore blobStore;
+    private final int backfillBatchSize;
+    private final ThreadPoolExecutor executor;
+
+    // Sources queued or being rendered, and sources ImageIO could not decode (not retried until restart)
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Set<String> failed = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public ImageVariantServiceImpl(ImageVariantRepository imageVariantRepository,
+                                   ImageVariantGenerator generator,
+                                   BlobStore blobStore,
+                                   @Value("${app.media.variants.worker-threads:1}") int workerThreads,
+                                   @Value("${app.media.variants.queue-capacity:1000}") int queueCapacity,
+                                   @Value("${app.media.variants.backfill-batch-size:100}") int backfillBatchSize) {
+        this.imageVariantRepository = imageVariantRepository;
+        this.generator = generator;
+        this.blobStore = blobStore;
+        this.backfillBatchSize = backfillBatchSize;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<MediaDescriptor> describeVariant(MediaDescriptor original, ImageVariantSize size) {
+        String sourceKey = original.getStorageKey();
+        if (sourceKey == null) {
+            // Still in a legacy LOB column; variants are rendered once it has been migrated
+            return Optional.empty();
+        }
+        Optional<ImageVariant> variant = imageVariantRepository.findBySourceKeyAndVariant(sourceKey, size);
+        if (!variant.isPresent()) {
+            generateAsync(sourceKey);
+            return Optional.empty();
+        }
+        ImageVariant found = variant.get();
+        return Optional.of(new MediaDescriptor(null, found.getContentType(), found.getByteSize(),
+                original.getLastModified(), "\"" + found.getBlobKey() + "\"", found.getBlobKey()));
+    }
+
+    @Override
+    public void generateAsync(String sourceKey) {
+        if (sourceKey == null || failed.contains(sourceKey) || !pending.add(sourceKey)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(sourceKey);
+                } finally {
+                    pending.remove(sourceKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(sourceKey);
+            logger.debug("Image variant queue full, {} left for the next backfill", sourceKey);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.media.variants.backfill-interval-ms:600000}",
+               initialDelayString = "${app.media.variants.backfill-initial-delay-ms:60000}")
+    public int backfillMissingVariants() {
+        int free = executor.getQueue().remainingCapacity();
+        if (free == 0) {
+            return 0;
+        }
+        int queued = 0;
+        List<String> missing = imageVariantRepository.findSourceKeysMissingVariants(
+                ImageVariantSize.values().length, PageRequest.of(0, Math.min(free, backfillBatchSize + failed.size())));
+        for (String sourceKey : missing) {
+            if (!failed.contains(sourceKey) && !pending.contains(sourceKey)) {
+                generateAsync(sourceKey);
+                queued++;
+            }
+        }
+        if (queued > 0) {
+            logger.info("Queued {} images for variant backfill", queued);
+        }
+        return queued;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void generate(String sourceKey) {
+        try {
+            if (!blobStore.exists(sourceKey)) {
+                return;
+            }
+            Map<ImageVariantSize, Rendition> renditions;
+            try (InputStream in = blobStore.open(sourceKey)) {
+                renditions = generator.render(in);
+            }
+            for (Map.Entry<ImageVariantSize, Rendition> entry : renditions.entrySet()) {
+                save(sourceKey, entry.getKey(), entry.getValue());
+            }
+            logger.debug("Rendered {} variants of image {}", renditions.size(), sourceKey);
+        } catch (IllegalArgumentException | IOException e) {
+            failed.add(sourceKey);
+            logger.warn("Could not render variants of image {}: {}", sourceKey, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Unexpected error rendering variants of image {}", sourceKey, e);
+        }
+    }
+
+    private void save(String sourceKey, ImageVariantSize size, Rendition rendition) throws IOException {
+        if (imageVariantRepository.findBySourceKeyAndVariant(sourceKey, size).isPresent()) {
+            return;
+        }
+        StoredBlob blob = blobStore.put(new ByteArrayInputStream(rendition.getContent()));
+        ImageVariant variant = new ImageVariant();
+        variant.setSourceKey(sourceKey);
+        variant.setVariant(size);
+        variant.setBlobKey(blob.getKey());
+        variant.setContentType(ImageVariantGenerator.CONTENT_TYPE);
+        variant.setByteSize(blob.getSize());
+        variant.setWidth(rendition.getWidth());
+        variant.setHeight(rendition.getHeight());
+        try {
+            imageVariantRepository.save(variant);
+        } catch (DataIntegrityViolationException e) {
+            // Rendered concurrently by another node; its row wins
+            logger.debug("Variant {} of image {} already recorded", size, sourceKey);
+        }
+    }
+}
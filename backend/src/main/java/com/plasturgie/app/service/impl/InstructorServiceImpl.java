@@ -2,15 +2,18 @@ package com.plasturgie.app.service.impl;
 
 import com.plasturgie.app.dto.InstructorInputDTO;
 import com.plasturgie.app.dto.InstructorListDTO;
+import com.plasturgie.app.event.SearchableEntityChangedEvent;
 import com.plasturgie.app.exception.ResourceNotFoundException;
 import com.plasturgie.app.model.Instructor;
 import com.plasturgie.app.model.Review;
 import com.plasturgie.app.model.User;
+import com.plasturgie.app.model.enums.SearchDocumentType;
 import com.plasturgie.app.repository.InstructorRepository;
 import com.plasturgie.app.repository.ReviewRepository;
 import com.plasturgie.app.repository.UserRepository;
 import com.plasturgie.app.service.InstructorService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +34,9 @@ public class InstructorServiceImpl implements InstructorService {
     @Autowired
     private ReviewRepository reviewRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // --- DTO Conversion Helper ---
     private InstructorListDTO convertToInstructorListDTO(Instructor instructor){
         if (instructor == null) return null;
@@ -91,9 +97,8 @@ public class InstructorServiceImpl implements InstructorService {
     @Override
     @Transactional(readOnly = true)
     public List<InstructorListDTO> getAllInstructorsForList() {
-        // Ensure repository method fetches User eagerly for DTO conversion, or use a dedicated query
-        // e.g., instructorRepository.findAllWithUserDetails()
-        List<Instructor> instructors = instructorRepository.findAll(); // Standard findAll might lazy load User
+        // Users are fetched in the same query; a plain findAll loaded each instructor's user separately
+        List<Instructor> instructors = instructorRepository.findAllWithUserDetails();
         return instructors.stream()
                 .map(this::convertToInstructorListDTO)
                 .collect(Collectors.toList());
@@ -116,6 +121,7 @@ public class InstructorServiceImpl implements InstructorService {
         newInstructor.setRating(BigDecimal.ZERO); // Initial rating
         
         Instructor savedInstructor = instructorRepository.save(newInstructor);
+        eventPublisher.publishEvent(new SearchableEntityChangedEvent(SearchDocumentType.INSTRUCTOR, savedInstructor.getInstructorId()));
         return convertToInstructorListDTO(savedInstructor);
     }
 
@@ -140,6 +146,7 @@ public class InstructorServiceImpl implements InstructorService {
         // instructor.setRating(...); // Rating is calculated, not set from input DTO directly typically
         
         Instructor updatedInstructor = instructorRepository.save(instructor);
+        eventPublisher.publishEvent(new SearchableEntityChangedEvent(SearchDocumentType.INSTRUCTOR, instructorId));
         return convertToInstructorListDTO(updatedInstructor);
     }
 
@@ -164,6 +171,7 @@ public class InstructorServiceImpl implements InstructorService {
             instructor.setRating(BigDecimal.valueOf(average).setScale(2, RoundingMode.HALF_UP));
         }
         instructorRepository.save(instructor);
+        eventPublisher.publishEvent(new SearchableEntityChangedEvent(SearchDocumentType.INSTRUCTOR, instructorId));
     }
 
     @Override
@@ -174,6 +182,7 @@ public class InstructorServiceImpl implements InstructorService {
         }
         // Consider what happens to courses taught by this instructor (e.g., disassociate, reassign, or block deletion if active).
         instructorRepository.deleteById(instructorId);
+        eventPublisher.publishEvent(new SearchableEntityChangedEvent(SearchDocumentType.INSTRUCTOR, instructorId));
     }
 
      @Override
@@ -0,0 +1,221 @@
+package com.plasturgie.app.service.impl;
+
+import com.plasturgie.app.media.MediaCache;
+import com.plasturgie.app.media.MediaDescriptor;
+import com.plasturgie.app.repository.MediaRepository;
+import com.plasturgie.app.repository.MediaRepository.MediaSlot;
+import com.plasturgie.app.service.MediaService;
+import com.plasturgie.app.storage.BlobStore;
+import com.plasturgie.app.storage.StoredBlob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class MediaServiceImpl implements MediaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaServiceImpl.class);
+
+    private final MediaRepository mediaRepository;
+    private final BlobStore blobStore;
+    private final MediaCache mediaCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration orphanGracePeriod;
+
+    @Autowired
+    public MediaServiceImpl(MediaRepository mediaRepository, BlobStore blobStore, MediaCache mediaCache,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.storage.orphan-grace-period:PT24H}") Duration orphanGracePeriod) {
+        this.mediaRepository = mediaRepository;
+        this.blobStore = blobStore;
+        this.mediaCache = mediaCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.orphanGracePeriod = orphanGracePeriod;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<MediaDescriptor> describe(MediaSlot slot, Long id, Long parentId) {
+        return mediaRepository.findDescriptor(slot, id, parentId);
+    }
+
+    /**
+     * Media small enough for the {@link MediaCache} is served through it; everything else is copied directly.
+     */
+    @Override
+    public void stream(MediaSlot slot, Long id, MediaDescriptor media, long offset, long length, OutputStream out) throws IOException {
+        if (mediaCache.accepts(media.getLength())) {
+            mediaCache.write(cacheKey(slot, id, media), media, offset, length, out,
+                    content -> copy(slot, id, media, 0, media.getLength(), content),
+                    (rangeOffset, rangeLength, target) -> copy(slot, id, media, rangeOffset, rangeLength, target));
+            return;
+        }
+        copy(slot, id, media, offset, length, out);
+    }
+
+    /**
+     * Cacheable media is kept off the sendfile path so that hot items are served from memory.
+     */
+    @Override
+    public Optional<Path> localFile(MediaDescriptor media) {
+        if (media.getStorageKey() == null || mediaCache.accepts(media.getLength())) {
+            return Optional.empty();
+        }
+        return blobStore.localPath(media.getStorageKey());
+    }
+
+    /**
+     * Blob-store content is transferred without a database connection; only legacy LOB content
+     * needs one, for the duration of the copy.
+     */
+    private void copy(MediaSlot slot, Long id, MediaDescriptor media, long offset, long length, OutputStream out) throws IOException {
+        if (media.getStorageKey() != null) {
+            blobStore.transferTo(media.getStorageKey(), offset, length, Channels.newChannel(out));
+            out.flush();
+            return;
+        }
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        try {
+            readOnly.executeWithoutResult(status -> {
+                try {
+                    mediaRepository.copyLegacyRange(slot, id, offset, length, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public StoredBlob store(MultipartFile file) throws IOException {
+        StoredBlob blob = blobStore.put(file.getInputStream());
+        logger.debug("Stored {} ({} bytes) as blob {}", file.getOriginalFilename(), blob.getSize(), blob.getKey());
+        return blob;
+    }
+
+    /**
+     * A mismatching upload is left in the store unreferenced; the orphan purge reclaims it.
+     */
+    @Override
+    public StoredBlob store(InputStream content, String expectedSha256) throws IOException {
+        StoredBlob blob = blobStore.put(content);
+        if (StringUtils.hasText(expectedSha256) && !expectedSha256.trim().equalsIgnoreCase(blob.getSha256())) {
+            logger.warn("Checksum mismatch for uploaded blob {}: expected {}", blob.getSha256(), expectedSha256);
+            throw new IllegalArgumentException("Uploaded content does not match the expected SHA-256 checksum.");
+        }
+        logger.debug("Stored streamed upload ({} bytes) as blob {}", blob.getSize(), blob.getKey());
+        return blob;
+    }
+
+    @Override
+    @Transactional
+    public void clearLegacy(MediaSlot slot, Long id) {
+        // Called whenever the media of a row is replaced or removed, before the entity change is flushed,
+        // so the descriptor still names the content being dropped.
+        mediaRepository.findDescriptor(slot, id, null)
+                .map(MediaDescriptor::getStorageKey)
+                .ifPresent(mediaCache::invalidate);
+        mediaCache.invalidate(legacyCacheKey(slot, id));
+        mediaRepository.clearLegacy(slot, id);
+    }
+
+    /**
+     * Each row is migrated in its own transaction so the command can be interrupted and re-run;
+     * rows already pointing at a blob only have their leftover LOB dropped.
+     */
+    @Override
+    public Map<String, Integer> migrateLegacyLobs() {
+        Map<String, Integer> report = new LinkedHashMap<>();
+        for (MediaSlot slot : MediaSlot.values()) {
+            List<Long> ids = mediaRepository.findIdsWithLegacyData(slot);
+            int migrated = 0;
+            int failed = 0;
+            for (Long id : ids) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> migrateRow(slot, id));
+                    migrated++;
+                } catch (RuntimeException e) {
+                    failed++;
+                    logger.error("Failed to migrate {} for id {}: {}", slot, id, e.getMessage(), e);
+                }
+            }
+            logger.info("Legacy LOB migration for {}: {} migrated, {} failed", slot, migrated, failed);
+            report.put(slot.name() + ".migrated", migrated);
+            report.put(slot.name() + ".failed", failed);
+        }
+        return report;
+    }
+
+    @Override
+    public int purgeUnreferencedBlobs() {
+        try {
+            Set<String> referenced = mediaRepository.findReferencedBlobKeys();
+            int purged = 0;
+            for (String key : blobStore.keysStoredBefore(Instant.now().minus(orphanGracePeriod))) {
+                if (!referenced.contains(key)) {
+                    mediaRepository.deleteImageVariants(key);
+                    blobStore.delete(key);
+                    mediaCache.invalidate(key);
+                    purged++;
+                }
+            }
+            logger.info("Purged {} unreferenced blobs", purged);
+            return purged;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String cacheKey(MediaSlot slot, Long id, MediaDescriptor media) {
+        return media.getStorageKey() != null ? media.getStorageKey() : legacyCacheKey(slot, id);
+    }
+
+    // Legacy LOB content is mutable in place, so it is cached per row (and checked against Last-Modified)
+    private static String legacyCacheKey(MediaSlot slot, Long id) {
+        return slot.name() + ":" + id;
+    }
+
+    private void migrateRow(MediaSlot slot, Long id) {
+        mediaCache.invalidate(legacyCacheKey(slot, id));
+        MediaDescriptor current = mediaRepository.findDescriptor(slot, id, null).orElse(null);
+        if (current == null) {
+            return;
+        }
+        if (current.getStorageKey() != null) {
+            mediaRepository.clearLegacy(slot, id);
+            return;
+        }
+        try {
+            StoredBlob blob = mediaRepository.readLegacy(slot, id, (in, length) -> blobStore.put(in));
+            if (blob != null) {
+                mediaRepository.attachBlob(slot, id, blob);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
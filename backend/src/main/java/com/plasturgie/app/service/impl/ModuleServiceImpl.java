@@ -2,13 +2,18 @@ package com.plasturgie.app.service.impl;
 
 import com.plasturgie.app.dto.ModuleRequestDTO;
 import com.plasturgie.app.dto.ModuleResponseDTO;
+import com.plasturgie.app.event.CourseChangedEvent;
 import com.plasturgie.app.exception.ResourceNotFoundException;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.Module;
 import com.plasturgie.app.repository.CourseRepository;
+import com.plasturgie.app.repository.MediaRepository.MediaSlot;
 import com.plasturgie.app.repository.ModuleRepository;
+import com.plasturgie.app.service.MediaService;
 import com.plasturgie.app.service.ModuleService;
+import com.plasturgie.app.storage.StoredBlob;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -16,18 +21,22 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ModuleServiceImpl implements ModuleService {
 
     private final ModuleRepository moduleRepository;
     private final CourseRepository courseRepository;
+    private final MediaService mediaService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ModuleServiceImpl(ModuleRepository moduleRepository, CourseRepository courseRepository) {
+    public ModuleServiceImpl(ModuleRepository moduleRepository, CourseRepository courseRepository,
+                             MediaService mediaService, ApplicationEventPublisher eventPublisher) {
         this.moduleRepository = moduleRepository;
         this.courseRepository = courseRepository;
+        this.mediaService = mediaService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -46,27 +55,24 @@ public class ModuleServiceImpl implements ModuleService {
         // module.setVideoUrl(requestDTO.getVideoUrl()); // Removed
 
         if (pdfFile != null && !pdfFile.isEmpty()) {
-            module.setPdfData(pdfFile.getBytes());
-            module.setPdfFilename(StringUtils.cleanPath(pdfFile.getOriginalFilename()));
-            module.setPdfContentType(pdfFile.getContentType());
+            attachPdf(module, pdfFile);
         }
 
         if (videoFile != null && !videoFile.isEmpty()) {
-            module.setVideoData(videoFile.getBytes());
-            module.setVideoFilename(StringUtils.cleanPath(videoFile.getOriginalFilename()));
-            module.setVideoContentType(videoFile.getContentType());
+            attachVideo(module, videoFile);
         }
 
         Module savedModule = moduleRepository.save(module);
+        // Module summaries are part of the course listings
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getCourseId()));
         return mapToResponseDTO(savedModule);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ModuleResponseDTO getModuleById(Long moduleId) {
-        Module module = moduleRepository.findById(moduleId)
+        return moduleRepository.findSummaryById(moduleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Module not found with id: " + moduleId));
-        return mapToResponseDTO(module);
     }
 
     @Override
@@ -75,8 +81,7 @@ public class ModuleServiceImpl implements ModuleService {
         if (!courseRepository.existsById(courseId)) {
             throw new ResourceNotFoundException("Course not found with id: " + courseId);
         }
-        List<Module> modules = moduleRepository.findByCourseCourseIdOrderByModuleOrderAsc(courseId);
-        return modules.stream().map(this::mapToResponseDTO).collect(Collectors.toList());
+        return moduleRepository.findSummariesByCourseId(courseId);
     }
 
     @Override
@@ -88,6 +93,7 @@ public class ModuleServiceImpl implements ModuleService {
 
         Course course = courseRepository.findById(requestDTO.getCourseId())
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + requestDTO.getCourseId()));
+        Course previousCourse = module.getCourse();
 
         module.setTitle(requestDTO.getTitle());
         module.setDescription(requestDTO.getDescription());
@@ -96,28 +102,32 @@ public class ModuleServiceImpl implements ModuleService {
         // module.setVideoUrl(requestDTO.getVideoUrl()); // Removed
 
         if (pdfFile != null && !pdfFile.isEmpty()) {
-            module.setPdfData(pdfFile.getBytes());
-            module.setPdfFilename(StringUtils.cleanPath(pdfFile.getOriginalFilename()));
-            module.setPdfContentType(pdfFile.getContentType());
+            attachPdf(module, pdfFile);
+            mediaService.clearLegacy(MediaSlot.MODULE_PDF, moduleId);
         } // Consider logic if pdfFile is null but user wants to remove existing PDF (add a flag or separate endpoint)
 
         if (videoFile != null && !videoFile.isEmpty()) {
-            module.setVideoData(videoFile.getBytes());
-            module.setVideoFilename(StringUtils.cleanPath(videoFile.getOriginalFilename()));
-            module.setVideoContentType(videoFile.getContentType());
+            attachVideo(module, videoFile);
+            mediaService.clearLegacy(MediaSlot.MODULE_VIDEO, moduleId);
         } // Same consideration for video removal
 
         Module updatedModule = moduleRepository.save(module);
+        if (previousCourse != null && !previousCourse.getCourseId().equals(course.getCourseId())) {
+            eventPublisher.publishEvent(new CourseChangedEvent(previousCourse.getCourseId()));
+        }
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getCourseId()));
         return mapToResponseDTO(updatedModule);
     }
 
     @Override
     @Transactional
     public void deleteModule(Long moduleId) {
-        if (!moduleRepository.existsById(moduleId)) {
-            throw new ResourceNotFoundException("Module not found with id: " + moduleId);
-        }
+        Module module = moduleRepository.findById(moduleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Module not found with id: " + moduleId));
+        mediaService.clearLegacy(MediaSlot.MODULE_PDF, moduleId);
+        mediaService.clearLegacy(MediaSlot.MODULE_VIDEO, moduleId);
         moduleRepository.deleteById(moduleId);
+        publishCourseChanged(module);
     }
 
     @Override
@@ -134,16 +144,42 @@ public class ModuleServiceImpl implements ModuleService {
                 .orElseThrow(() -> new ResourceNotFoundException("Module not found with id: " + moduleId));
     }
 
+    @Override
+    @Transactional
+    public ModuleResponseDTO attachPdf(Long moduleId, StoredBlob blob, String filename, String contentType) {
+        Module module = moduleRepository.findById(moduleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Module not found with id: " + moduleId));
+        applyPdf(module, blob, filename, contentType);
+        mediaService.clearLegacy(MediaSlot.MODULE_PDF, moduleId);
+        publishCourseChanged(module);
+        return mapToResponseDTO(moduleRepository.save(module));
+    }
+
+    @Override
+    @Transactional
+    public ModuleResponseDTO attachVideo(Long moduleId, StoredBlob blob, String filename, String contentType) {
+        Module module = moduleRepository.findById(moduleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Module not found with id: " + moduleId));
+        applyVideo(module, blob, filename, contentType);
+        mediaService.clearLegacy(MediaSlot.MODULE_VIDEO, moduleId);
+        publishCourseChanged(module);
+        return mapToResponseDTO(moduleRepository.save(module));
+    }
+
     @Override
     @Transactional
     public void deletePdfFromModule(Long moduleId) {
         Module module = moduleRepository.findById(moduleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Module not found with id: " + moduleId));
         
-        module.setPdfData(null);
+        module.setPdfBlobKey(null);
+        module.setPdfSize(null);
+        module.setPdfSha256(null);
         module.setPdfFilename(null);
         module.setPdfContentType(null);
+        mediaService.clearLegacy(MediaSlot.MODULE_PDF, moduleId);
         moduleRepository.save(module);
+        publishCourseChanged(module);
     }
 
     @Override
@@ -152,10 +188,44 @@ public class ModuleServiceImpl implements ModuleService {
         Module module = moduleRepository.findById(moduleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Module not found with id: " + moduleId));
         
-        module.setVideoData(null);
+        module.setVideoBlobKey(null);
+        module.setVideoSize(null);
+        module.setVideoSha256(null);
         module.setVideoFilename(null);
         module.setVideoContentType(null);
+        mediaService.clearLegacy(MediaSlot.MODULE_VIDEO, moduleId);
         moduleRepository.save(module);
+        publishCourseChanged(module);
+    }
+
+    private void attachPdf(Module module, MultipartFile pdfFile) throws IOException {
+        applyPdf(module, mediaService.store(pdfFile), StringUtils.cleanPath(pdfFile.getOriginalFilename()), pdfFile.getContentType());
+    }
+
+    private void attachVideo(Module module, MultipartFile videoFile) throws IOException {
+        applyVideo(module, mediaService.store(videoFile), StringUtils.cleanPath(videoFile.getOriginalFilename()), videoFile.getContentType());
+    }
+
+    private void applyPdf(Module module, StoredBlob blob, String filename, String contentType) {
+        module.setPdfBlobKey(blob.getKey());
+        module.setPdfSize(blob.getSize());
+        module.setPdfSha256(blob.getSha256());
+        module.setPdfFilename(filename);
+        module.setPdfContentType(contentType);
+    }
+
+    private void applyVideo(Module module, StoredBlob blob, String filename, String contentType) {
+        module.setVideoBlobKey(blob.getKey());
+        module.setVideoSize(blob.getSize());
+        module.setVideoSha256(blob.getSha256());
+        module.setVideoFilename(filename);
+        module.setVideoContentType(contentType);
+    }
+
+    private void publishCourseChanged(Module module) {
+        if (module.getCourse() != null) {
+            eventPublisher.publishEvent(new CourseChangedEvent(module.getCourse().getCourseId()));
+        }
     }
 
     private ModuleResponseDTO mapToResponseDTO(Module module) {
@@ -171,10 +241,15 @@ public class ModuleServiceImpl implements ModuleService {
         // dto.setVideoUrl(module.getVideoUrl()); // Removed
 
         dto.setPdfFilename(module.getPdfFilename());
-        dto.setHasPdf(module.getPdfData() != null && module.getPdfData().length > 0);
+        // Legacy rows (content still in the pdf_data LOB) have a filename but no blob key yet
+        dto.setHasPdf(module.getPdfBlobKey() != null || module.getPdfFilename() != null);
+        dto.setPdfSize(module.getPdfSize());
+        dto.setPdfSha256(module.getPdfSha256());
 
         dto.setVideoFilename(module.getVideoFilename());
-        dto.setHasVideo(module.getVideoData() != null && module.getVideoData().length > 0);
+        dto.setHasVideo(module.getVideoBlobKey() != null || module.getVideoFilename() != null);
+        dto.setVideoSize(module.getVideoSize());
+        dto.setVideoSha256(module.getVideoSha256());
         return dto;
     }
 }
\ No newline at end of file
@@ -16,6 +16,7 @@ import com.plasturgie.app.repository.InstructorRepository;
 import com.plasturgie.app.repository.PracticalSessionRepository;
 // import com.plasturgie.app.repository.UserRepository; // Keep if you need to fetch full User for other reasons
 import com.plasturgie.app.security.UserPrincipal;
+import com.plasturgie.app.service.CourseMembershipService;
 import com.plasturgie.app.service.PracticalSessionService;
 
 import org.slf4j.Logger;
@@ -38,6 +39,7 @@ public class PracticalSessionServiceImpl implements PracticalSessionService {
     private final CourseRepository courseRepository;
     private final InstructorRepository instructorRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final CourseMembershipService courseMembershipService;
     // private final UserRepository userRepository; // Uncomment if needed
 
     // Formatter for DTO output - matches your UI image format
@@ -48,12 +50,14 @@ public class PracticalSessionServiceImpl implements PracticalSessionService {
     public PracticalSessionServiceImpl(PracticalSessionRepository practicalSessionRepository,
                                        CourseRepository courseRepository,
                                        InstructorRepository instructorRepository,
-                                       EnrollmentRepository enrollmentRepository
+                                       EnrollmentRepository enrollmentRepository,
+                                       CourseMembershipService courseMembershipService
                                        /*, UserRepository userRepository */) { // Uncomment if userRepository is used
         this.practicalSessionRepository = practicalSessionRepository;
         this.courseRepository = courseRepository;
         this.instructorRepository = instructorRepository;
         this.enrollmentRepository = enrollmentRepository;
+        this.courseMembershipService = courseMembershipService;
         // this.userRepository = userRepository; // Uncomment if needed
     }
 
@@ -214,8 +218,7 @@ public class PracticalSessionServiceImpl implements PracticalSessionService {
         }
 
         // Check if the current user is an instructor for the given course
-        boolean isInstructorForCourse = course.getInstructors().stream()
-                .anyMatch(instructor -> instructor.getUser() != null && instructor.getUser().getUserId().equals(currentUser.getId()));
+        boolean isInstructorForCourse = courseMembershipService.isInstructorOf(currentUser.getId(), course.getCourseId());
 
         if (!isInstructorForCourse) {
             logger.warn("SERVICE - User {} (ID: {}) is NOT an authorized instructor for course ID: {} to {}.",
@@ -8,6 +8,7 @@ import com.plasturgie.app.model.User;
 import com.plasturgie.app.model.enums.Role; // For authorization
 import com.plasturgie.app.repository.ReviewRepository;
 import com.plasturgie.app.service.CourseService;
+import com.plasturgie.app.service.CourseStatsService;
 import com.plasturgie.app.service.InstructorService;
 import com.plasturgie.app.service.ReviewService;
 import com.plasturgie.app.service.UserService;
@@ -35,6 +36,9 @@ public class ReviewServiceImpl implements ReviewService {
     @Autowired
     private InstructorService instructorService; // To fetch Instructor and update rating
 
+    @Autowired
+    private CourseStatsService courseStatsService; // Denormalized review count / rating sum on the course
+
     @Override
     @Transactional
     public Review createCourseReview(Review reviewInput, Long userId, Long courseId) {
@@ -52,7 +56,9 @@ public class ReviewServiceImpl implements ReviewService {
         newReview.setComment(reviewInput.getComment());
         // newReview.setCreatedAt will be set by @CreationTimestamp
         
-        return reviewRepository.save(newReview);
+        Review savedReview = reviewRepository.save(newReview);
+        courseStatsService.reviewAdded(courseId, savedReview.getRating());
+        return savedReview;
     }
 
     @Override
@@ -144,6 +150,7 @@ public class ReviewServiceImpl implements ReviewService {
             throw new AccessDeniedException("User not authorized to update this review");
         }
         
+        int previousRating = review.getRating();
         review.setRating(reviewDetails.getRating());
         review.setComment(reviewDetails.getComment());
         
@@ -152,7 +159,9 @@ public class ReviewServiceImpl implements ReviewService {
         if (review.getInstructor() != null) {
             instructorService.updateInstructorRating(review.getInstructor().getInstructorId());
         }
-        // If you also want to update course average rating, do it here or in CourseService
+        if (review.getCourse() != null) {
+            courseStatsService.reviewRatingChanged(review.getCourse().getCourseId(), previousRating, savedReview.getRating());
+        }
         
         return savedReview;
     }
@@ -173,13 +182,17 @@ public class ReviewServiceImpl implements ReviewService {
         if (review.getInstructor() != null) {
             instructorIdToUpdate = review.getInstructor().getInstructorId();
         }
+        Long courseIdToUpdate = review.getCourse() != null ? review.getCourse().getCourseId() : null;
+        int removedRating = review.getRating();
         
         reviewRepository.delete(review);
         
         if (instructorIdToUpdate != null) {
             instructorService.updateInstructorRating(instructorIdToUpdate);
         }
-        // If you also want to update course average rating, do it here
+        if (courseIdToUpdate != null) {
+            courseStatsService.reviewRemoved(courseIdToUpdate, removedRating);
+        }
     }
 
     @Override
@@ -0,0 +1,220 @@
+package com.plasturgie.app.service.impl;
+
+import com.plasturgie.app.dto.CourseCatalogRow;
+import com.plasturgie.app.dto.SearchHitDTO;
+import com.plasturgie.app.dto.SearchResultsDTO;
+import com.plasturgie.app.event.CourseChangedEvent;
+import com.plasturgie.app.event.SearchableEntityChangedEvent;
+import com.plasturgie.app.model.Company;
+import com.plasturgie.app.model.Event;
+import com.plasturgie.app.model.Instructor;
+import com.plasturgie.app.model.Service;
+import com.plasturgie.app.model.User;
+import com.plasturgie.app.model.enums.SearchDocumentType;
+import com.plasturgie.app.repository.CompanyRepository;
+import com.plasturgie.app.repository.CourseRepository;
+import com.plasturgie.app.repository.EventRepository;
+import com.plasturgie.app.repository.InstructorRepository;
+import com.plasturgie.app.repository.ServiceRepository;
+import com.plasturgie.app.search.FullTextIndex;
+import com.plasturgie.app.search.SearchDocument;
+import com.plasturgie.app.service.SearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Feeds the in-memory {@link FullTextIndex} from the database and answers {@code /api/search}.
+ * The index is loaded at startup, updated per entity after each committed write (the services publish
+ * {@link CourseChangedEvent} / {@link SearchableEntityChangedEvent}), and fully reloaded periodically to
+ * pick up changes made elsewhere, such as a user renaming themselves.
+ */
+@org.springframework.stereotype.Service
+public class SearchServiceImpl implements SearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchServiceImpl.class);
+
+    private static final int SUMMARY_LENGTH = 200;
+
+    private final FullTextIndex fullTextIndex;
+    private final CourseRepository courseRepository;
+    private final EventRepository eventRepository;
+    private final ServiceRepository serviceRepository;
+    private final CompanyRepository companyRepository;
+    private final InstructorRepository instructorRepository;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    @Autowired
+    public SearchServiceImpl(FullTextIndex fullTextIndex, CourseRepository courseRepository,
+                             EventRepository eventRepository, ServiceRepository serviceRepository,
+                             CompanyRepository companyRepository, InstructorRepository instructorRepository,
+                             @Value("${app.search.default-limit:20}") int defaultLimit,
+                             @Value("${app.search.max-limit:100}") int maxLimit) {
+        this.fullTextIndex = fullTextIndex;
+        this.courseRepository = courseRepository;
+        this.eventRepository = eventRepository;
+        this.serviceRepository = serviceRepository;
+        this.companyRepository = companyRepository;
+        this.instructorRepository = instructorRepository;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    @Override
+    public SearchResultsDTO search(String query, Set<SearchDocumentType> types, Integer limit) {
+        int size = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+        FullTextIndex.Result result = fullTextIndex.search(query, types, size);
+        List<SearchHitDTO> hits = result.getHits().stream()
+                .map(hit -> new SearchHitDTO(
+                        hit.getDocument().getType().name().toLowerCase(Locale.ROOT),
+                        hit.getDocument().getId(),
+                        hit.getDocument().getTitle(),
+                        hit.getDocument().getSummary(),
+                        Math.round(hit.getScore() * 1000.0) / 1000.0))
+                .collect(Collectors.toList());
+        return new SearchResultsDTO(query, result.getTotal(), hits);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int rebuildIndex() {
+        return loadAll();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void initializeIndex() {
+        loadAll();
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.full-rebuild-interval-ms:3600000}",
+               initialDelayString = "${app.search.full-rebuild-interval-ms:3600000}")
+    @Transactional(readOnly = true)
+    public void scheduledRebuild() {
+        loadAll();
+    }
+
+    // After commit, so only committed data is indexed; the entity is re-read in a fresh transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        Optional<CourseCatalogRow> row = courseRepository.findCatalogRowById(event.getCourseId());
+        if (row.isPresent()) {
+            fullTextIndex.put(toDocument(row.get()));
+        } else {
+            fullTextIndex.remove(SearchDocumentType.COURSE, event.getCourseId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onEntityChanged(SearchableEntityChangedEvent event) {
+        Optional<SearchDocument> document;
+        switch (event.getType()) {
+            case EVENT:
+                document = eventRepository.findById(event.getId()).map(this::toDocument);
+                break;
+            case SERVICE:
+                document = serviceRepository.findById(event.getId()).map(this::toDocument);
+                break;
+            case COMPANY:
+                document = companyRepository.findById(event.getId()).map(this::toDocument);
+                break;
+            case INSTRUCTOR:
+                document = instructorRepository.findById(event.getId()).map(this::toDocument);
+                break;
+            default:
+                return;
+        }
+        if (document.isPresent()) {
+            fullTextIndex.put(document.get());
+        } else {
+            fullTextIndex.remove(event.getType(), event.getId());
+        }
+    }
+
+    private int loadAll() {
+        long start = System.currentTimeMillis();
+        List<SearchDocument> documents = new ArrayList<>();
+        courseRepository.findCatalogRows().forEach(row -> documents.add(toDocument(row)));
+        eventRepository.findAllWithDetails().forEach(event -> documents.add(toDocument(event)));
+        serviceRepository.findAll().forEach(service -> documents.add(toDocument(service)));
+        companyRepository.findAll().forEach(company -> documents.add(toDocument(company)));
+        instructorRepository.findAllWithUserDetails().forEach(instructor -> documents.add(toDocument(instructor)));
+        fullTextIndex.replaceAll(documents);
+        logger.info("Search index loaded with {} documents in {} ms", documents.size(), System.currentTimeMillis() - start);
+        return documents.size();
+    }
+
+    private SearchDocument toDocument(CourseCatalogRow course) {
+        return new SearchDocument(SearchDocumentType.COURSE, course.getCourseId(), course.getTitle(), summary(course.getDescription()))
+                .field(course.getTitle(), 3f)
+                .field(course.getCategory(), 2f)
+                .field(course.getDescription(), 1f);
+    }
+
+    private SearchDocument toDocument(Event event) {
+        Company company = event.getCompany();
+        return new SearchDocument(SearchDocumentType.EVENT, event.getEventId(), event.getTitle(), summary(event.getDescription()))
+                .field(event.getTitle(), 3f)
+                .field(event.getLocation(), 1f)
+                .field(company != null ? company.getName() : null, 1f)
+                .field(event.getDescription(), 1f);
+    }
+
+    private SearchDocument toDocument(Service service) {
+        Company company = service.getCompany();
+        return new SearchDocument(SearchDocumentType.SERVICE, service.getServiceId(), service.getName(), summary(service.getDescription()))
+                .field(service.getName(), 3f)
+                .field(service.getCategory(), 2f)
+                .field(company != null ? company.getName() : null, 1f)
+                .field(service.getDescription(), 1f);
+    }
+
+    private SearchDocument toDocument(Company company) {
+        return new SearchDocument(SearchDocumentType.COMPANY, company.getCompanyId(), company.getName(), summary(company.getDescription()))
+                .field(company.getName(), 3f)
+                .field(company.getCity(), 1f)
+                .field(company.getDescription(), 1f);
+    }
+
+    private SearchDocument toDocument(Instructor instructor) {
+        String name = instructorName(instructor.getUser());
+        return new SearchDocument(SearchDocumentType.INSTRUCTOR, instructor.getInstructorId(), name, summary(instructor.getExpertise()))
+                .field(name, 3f)
+                .field(instructor.getExpertise(), 2f)
+                .field(instructor.getBio(), 1f);
+    }
+
+    private static String instructorName(User user) {
+        if (user == null) {
+            return "Instructeur";
+        }
+        String fullName = ((user.getFirstName() != null ? user.getFirstName().trim() : "") +
+                (user.getLastName() != null ? " " + user.getLastName().trim() : "")).trim();
+        return fullName.isEmpty() ? user.getUsername() : fullName;
+    }
+
+    private static String summary(String text) {
+        if (text == null || text.length() <= SUMMARY_LENGTH) {
+            return text;
+        }
+        int cut = text.lastIndexOf(' ', SUMMARY_LENGTH);
+        return text.substring(0, cut > 0 ? cut : SUMMARY_LENGTH) + "…";
+    }
+}
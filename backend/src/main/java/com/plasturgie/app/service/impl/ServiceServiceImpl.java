@@ -1,12 +1,15 @@
 package com.plasturgie.app.service.impl;
 
+import com.plasturgie.app.event.SearchableEntityChangedEvent;
 import com.plasturgie.app.exception.ResourceNotFoundException;
 import com.plasturgie.app.model.Company;
 import com.plasturgie.app.model.Service;
+import com.plasturgie.app.model.enums.SearchDocumentType;
 import com.plasturgie.app.repository.ServiceRepository;
 import com.plasturgie.app.service.CompanyService;
 import com.plasturgie.app.service.ServiceService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -20,13 +23,18 @@ public class ServiceServiceImpl implements ServiceService {
     @Autowired
     private CompanyService companyService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional
     public Service createService(Service service, Long companyId) {
         Company company = companyService.getCompanyById(companyId);
         service.setCompany(company);
         
-        return serviceRepository.save(service);
+        Service savedService = serviceRepository.save(service);
+        eventPublisher.publishEvent(new SearchableEntityChangedEvent(SearchDocumentType.SERVICE, savedService.getServiceId()));
+        return savedService;
     }
 
     @Override
@@ -65,6 +73,7 @@ public class ServiceServiceImpl implements ServiceService {
         service.setCategory(serviceDetails.getCategory());
         service.setPriceRange(serviceDetails.getPriceRange());
         
+        eventPublisher.publishEvent(new SearchableEntityChangedEvent(SearchDocumentType.SERVICE, id));
         return serviceRepository.save(service);
     }
 
@@ -73,5 +82,6 @@ public class ServiceServiceImpl implements ServiceService {
     public void deleteService(Long id) {
         Service service = getServiceById(id);
         serviceRepository.delete(service);
+        eventPublisher.publishEvent(new SearchableEntityChangedEvent(SearchDocumentType.SERVICE, id));
     }
 }
@@ -0,0 +1,206 @@
+package com.plasturgie.app.service.impl;
+
+import com.plasturgie.app.dto.CourseCatalogRow;
+import com.plasturgie.app.dto.CourseInstructorRow;
+import com.plasturgie.app.dto.PopularityRow;
+import com.plasturgie.app.dto.SuggestionDTO;
+import com.plasturgie.app.event.CourseChangedEvent;
+import com.plasturgie.app.event.SearchableEntityChangedEvent;
+import com.plasturgie.app.model.Company;
+import com.plasturgie.app.model.Event;
+import com.plasturgie.app.model.enums.SuggestionType;
+import com.plasturgie.app.repository.CompanyRepository;
+import com.plasturgie.app.repository.CourseRepository;
+import com.plasturgie.app.repository.EventRepository;
+import com.plasturgie.app.repository.InstructorRepository;
+import com.plasturgie.app.repository.ServiceRepository;
+import com.plasturgie.app.search.PrefixTrie;
+import com.plasturgie.app.search.TextNormalizer;
+import com.plasturgie.app.service.SuggestionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Typeahead over course titles, instructor names, company names and service categories, ranked by
+ * popularity: enrollments for courses and (summed over their courses) instructors, event participants
+ * for companies, number of services for categories. Suggestions live in a {@link PrefixTrie}; the
+ * services' change events update the affected entries after commit, and a periodic reload corrects
+ * counters that changed without an event.
+ */
+@Service
+public class SuggestionServiceImpl implements SuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionServiceImpl.class);
+
+    private final PrefixTrie trie;
+    private final CourseRepository courseRepository;
+    private final InstructorRepository instructorRepository;
+    private final CompanyRepository companyRepository;
+    private final EventRepository eventRepository;
+    private final ServiceRepository serviceRepository;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    @Autowired
+    public SuggestionServiceImpl(CourseRepository courseRepository, InstructorRepository instructorRepository,
+                                 CompanyRepository companyRepository, EventRepository eventRepository,
+                                 ServiceRepository serviceRepository,
+                                 @Value("${app.suggest.default-limit:8}") int defaultLimit,
+                                 @Value("${app.suggest.cached-per-prefix:32}") int cachedPerPrefix) {
+        this.courseRepository = courseRepository;
+        this.instructorRepository = instructorRepository;
+        this.companyRepository = companyRepository;
+        this.eventRepository = eventRepository;
+        this.serviceRepository = serviceRepository;
+        this.trie = new PrefixTrie(cachedPerPrefix);
+        this.maxLimit = Math.max(1, cachedPerPrefix);
+        this.defaultLimit = Math.min(defaultLimit, maxLimit);
+    }
+
+    @Override
+    public List<SuggestionDTO> suggest(String query, Set<SuggestionType> types, Integer limit) {
+        List<String> words = TextNormalizer.tokens(query);
+        if (words.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int size = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+        // The last word is being typed; earlier words must each start one of the suggestion's words
+        List<String> previousWords = words.subList(0, words.size() - 1);
+        // Filtered inside the trie so that suggestions of other types cannot crowd the matches out of its cache
+        Predicate<PrefixTrie.Suggestion> matches = suggestion ->
+                (types.isEmpty() || types.contains(suggestion.getType()))
+                        && previousWords.stream().allMatch(word ->
+                                suggestion.getWords().stream().anyMatch(candidate -> candidate.startsWith(word)));
+        return trie.complete(words.get(words.size() - 1), matches, size).stream()
+                .map(suggestion -> new SuggestionDTO(suggestion.getType().name().toLowerCase(Locale.ROOT),
+                        suggestion.getId(), suggestion.getText()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int rebuild() {
+        return loadAll();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void initialize() {
+        loadAll();
+    }
+
+    @Scheduled(fixedDelayString = "${app.suggest.full-rebuild-interval-ms:900000}",
+               initialDelayString = "${app.suggest.full-rebuild-interval-ms:900000}")
+    @Transactional(readOnly = true)
+    public void scheduledRebuild() {
+        loadAll();
+    }
+
+    // Title or enrollment count changed: the course and the popularity of its instructors
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        Optional<CourseCatalogRow> row = courseRepository.findCatalogRowById(event.getCourseId());
+        if (row.isPresent()) {
+            trie.put(toSuggestion(row.get()));
+        } else {
+            trie.remove(SuggestionType.COURSE, event.getCourseId());
+        }
+        Set<Long> instructorIds = courseRepository.findInstructorRows(Collections.singletonList(event.getCourseId())).stream()
+                .map(CourseInstructorRow::getInstructorId)
+                .collect(Collectors.toSet());
+        if (!instructorIds.isEmpty()) {
+            instructorRepository.findPopularityRowsByIds(instructorIds)
+                    .forEach(instructor -> trie.put(toSuggestion(SuggestionType.INSTRUCTOR, instructor)));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onEntityChanged(SearchableEntityChangedEvent event) {
+        switch (event.getType()) {
+            case INSTRUCTOR:
+                List<PopularityRow> instructor = instructorRepository.findPopularityRowsByIds(Collections.singletonList(event.getId()));
+                if (instructor.isEmpty()) {
+                    trie.remove(SuggestionType.INSTRUCTOR, event.getId());
+                } else {
+                    trie.put(toSuggestion(SuggestionType.INSTRUCTOR, instructor.get(0)));
+                }
+                break;
+            case COMPANY:
+                refreshCompany(event.getId());
+                break;
+            case EVENT:
+                // Participants count towards the organizing company
+                eventRepository.findById(event.getId())
+                        .map(Event::getCompany)
+                        .map(Company::getCompanyId)
+                        .ifPresent(this::refreshCompany);
+                break;
+            case SERVICE:
+                refreshServiceCategories();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void refreshCompany(Long companyId) {
+        Optional<PopularityRow> company = companyRepository.findPopularityRowById(companyId);
+        if (company.isPresent()) {
+            trie.put(toSuggestion(SuggestionType.COMPANY, company.get()));
+        } else {
+            trie.remove(SuggestionType.COMPANY, companyId);
+        }
+    }
+
+    // A service may have moved between categories, so every category count is reloaded (one GROUP BY)
+    private void refreshServiceCategories() {
+        Set<String> current = new HashSet<>();
+        for (PopularityRow category : serviceRepository.findCategoryPopularityRows()) {
+            trie.put(toSuggestion(SuggestionType.SERVICE_CATEGORY, category));
+            current.add(PrefixTrie.keyOf(SuggestionType.SERVICE_CATEGORY, category.getName()));
+        }
+        trie.retain(SuggestionType.SERVICE_CATEGORY, current);
+    }
+
+    private int loadAll() {
+        long start = System.currentTimeMillis();
+        List<PrefixTrie.Suggestion> suggestions = new ArrayList<>();
+        courseRepository.findCatalogRows().forEach(course -> suggestions.add(toSuggestion(course)));
+        instructorRepository.findPopularityRows().forEach(row -> suggestions.add(toSuggestion(SuggestionType.INSTRUCTOR, row)));
+        companyRepository.findPopularityRows().forEach(row -> suggestions.add(toSuggestion(SuggestionType.COMPANY, row)));
+        serviceRepository.findCategoryPopularityRows().forEach(row -> suggestions.add(toSuggestion(SuggestionType.SERVICE_CATEGORY, row)));
+        trie.replaceAll(suggestions);
+        logger.info("Typeahead loaded with {} suggestions in {} ms", suggestions.size(), System.currentTimeMillis() - start);
+        return suggestions.size();
+    }
+
+    private static PrefixTrie.Suggestion toSuggestion(CourseCatalogRow course) {
+        long enrollments = course.getEnrollmentCount() != null ? course.getEnrollmentCount() : 0;
+        return new PrefixTrie.Suggestion(SuggestionType.COURSE, course.getCourseId(), course.getTitle(), enrollments);
+    }
+
+    private static PrefixTrie.Suggestion toSuggestion(SuggestionType type, PopularityRow row) {
+        return new PrefixTrie.Suggestion(type, row.getId(), row.getName(), row.getPopularity());
+    }
+}
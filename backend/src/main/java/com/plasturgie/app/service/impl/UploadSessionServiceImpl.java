@@ -0,0 +1,325 @@
+package com.plasturgie.app.service.impl;
+
+import com.plasturgie.app.dto.ModuleResponseDTO;
+import com.plasturgie.app.dto.UploadSessionDTO;
+import com.plasturgie.app.dto.UploadSessionRequestDTO;
+import com.plasturgie.app.exception.ResourceNotFoundException;
+import com.plasturgie.app.exception.UploadOffsetConflictException;
+import com.plasturgie.app.exception.UploadTooLargeException;
+import com.plasturgie.app.model.UploadSession;
+import com.plasturgie.app.model.enums.UploadTarget;
+import com.plasturgie.app.repository.UploadSessionRepository;
+import com.plasturgie.app.security.UserPrincipal;
+import com.plasturgie.app.service.CourseMembershipService;
+import com.plasturgie.app.service.ModuleService;
+import com.plasturgie.app.service.UploadSessionService;
+import com.plasturgie.app.storage.BlobStore;
+import com.plasturgie.app.storage.StoredBlob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Resumable uploads: the bytes of each session are appended to a staging file and flushed to disk after
+ * every chunk, so the offset survives a dropped connection or a restart (the staging file size is the
+ * source of truth). When the last byte arrives the file is moved into the {@link BlobStore} and attached
+ * to the module. Database work is kept out of the copy so no connection is held while bytes flow.
+ */
+@Service
+public class UploadSessionServiceImpl implements UploadSessionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadSessionServiceImpl.class);
+
+    private static final String PART_SUFFIX = ".part";
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final ModuleService moduleService;
+    private final CourseMembershipService courseMembershipService;
+    private final BlobStore blobStore;
+    private final Path stagingDir;
+    private final Duration sessionTtl;
+    private final int bufferSize;
+    private final long maxUploadBytes;
+
+    // One writer per session at a time on this node
+    private final ConcurrentHashMap<String, ReentrantLock> sessionLocks = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UploadSessionServiceImpl(UploadSessionRepository uploadSessionRepository,
+                                    ModuleService moduleService,
+                                    CourseMembershipService courseMembershipService,
+                                    BlobStore blobStore,
+                                    @Value("${app.upload.staging-dir:./data/uploads}") String stagingDir,
+                                    @Value("${app.upload.session-ttl:PT24H}") Duration sessionTtl,
+                                    @Value("${app.storage.upload-buffer-size:65536}") int bufferSize,
+                                    @Value("${app.upload.max-size:5000MB}") DataSize maxUploadSize) throws IOException {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.moduleService = moduleService;
+        this.courseMembershipService = courseMembershipService;
+        this.blobStore = blobStore;
+        this.stagingDir = Paths.get(stagingDir).toAbsolutePath().normalize();
+        this.sessionTtl = sessionTtl;
+        this.bufferSize = bufferSize;
+        this.maxUploadBytes = maxUploadSize.toBytes();
+        Files.createDirectories(this.stagingDir);
+    }
+
+    @Override
+    public UploadSessionDTO createSession(Long courseId, Long moduleId, UploadSessionRequestDTO request, UserPrincipal currentUser) {
+        // Completing the session replaces the module's media, so opening one needs the same rights
+        if (!courseMembershipService.canManageCourse(currentUser, courseId)) {
+            throw new AccessDeniedException("Not authorized to upload media for this course.");
+        }
+        // totalSize bounds the staging file, so this also caps the disk a session can reserve
+        if (request.getTotalSize() > maxUploadBytes) {
+            throw new UploadTooLargeException(maxUploadBytes);
+        }
+        ModuleResponseDTO module = moduleService.getModuleById(moduleId);
+        if (!Objects.equals(module.getCourseId(), courseId)) {
+            throw new ResourceNotFoundException("Module with id " + moduleId + " not found under course " + courseId);
+        }
+
+        UploadSession session = new UploadSession();
+        session.setUploadId(UUID.randomUUID().toString());
+        session.setCourseId(courseId);
+        session.setModuleId(moduleId);
+        session.setTarget(request.getTarget());
+        String filename = StringUtils.hasText(request.getFilename())
+                ? StringUtils.getFilename(StringUtils.cleanPath(request.getFilename()))
+                : "module-" + moduleId + (request.getTarget() == UploadTarget.PDF ? ".pdf" : "");
+        session.setFilename(filename);
+        session.setContentType(request.getContentType());
+        session.setTotalSize(request.getTotalSize());
+        session.setReceivedBytes(0L);
+        session.setExpectedSha256(request.getSha256() != null ? request.getSha256().toLowerCase() : null);
+        session.setUserId(currentUser != null ? currentUser.getId() : null);
+        session.setExpiresAt(LocalDateTime.now().plus(sessionTtl));
+        UploadSession saved = uploadSessionRepository.save(session);
+        logger.info("Upload session {} created for module {} ({} bytes, {})", saved.getUploadId(), moduleId,
+                saved.getTotalSize(), saved.getTarget());
+        return toDTO(saved, 0L, null);
+    }
+
+    @Override
+    public UploadSessionDTO getSession(Long courseId, Long moduleId, String uploadId, UserPrincipal currentUser) {
+        UploadSession session = loadSession(courseId, moduleId, uploadId, currentUser);
+        return toDTO(session, currentOffset(uploadId), null);
+    }
+
+    @Override
+    public UploadSessionDTO appendChunk(Long courseId, Long moduleId, String uploadId, long offset, long contentLength,
+                                        InputStream content, UserPrincipal currentUser) throws IOException {
+        UploadSession session = loadSession(courseId, moduleId, uploadId, currentUser);
+        ReentrantLock lock = sessionLocks.computeIfAbsent(uploadId, id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw new UploadOffsetConflictException("Another chunk is being written for this upload.", currentOffset(uploadId));
+        }
+        try {
+            long received = writeChunk(session, offset, contentLength, content);
+            session.setReceivedBytes(received);
+            session.setExpiresAt(LocalDateTime.now().plus(sessionTtl));
+            uploadSessionRepository.save(session);
+
+            if (received < session.getTotalSize()) {
+                return toDTO(session, received, null);
+            }
+            return toDTO(session, received, complete(session));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void cancelSession(Long courseId, Long moduleId, String uploadId, UserPrincipal currentUser) {
+        UploadSession session = loadSession(courseId, moduleId, uploadId, currentUser);
+        discard(session);
+        logger.info("Upload session {} cancelled", uploadId);
+    }
+
+    /**
+     * Removes expired sessions with their staging files, and staging files left without a session
+     * (e.g. a crash between creating the file and recording the session).
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.upload.cleanup-interval-ms:3600000}",
+               initialDelayString = "${app.upload.cleanup-interval-ms:3600000}")
+    public int purgeExpiredSessions() {
+        List<UploadSession> expired = uploadSessionRepository.findByExpiresAtBefore(LocalDateTime.now());
+        expired.forEach(this::discard);
+
+        int strays = 0;
+        Instant cutoff = Instant.now().minus(sessionTtl);
+        try (Stream<Path> files = Files.list(stagingDir)) {
+            List<Path> parts = files.filter(path -> path.getFileName().toString().endsWith(PART_SUFFIX))
+                    .collect(Collectors.toList());
+            Set<String> known = uploadSessionRepository.findAllById(parts.stream()
+                            .map(path -> uploadIdOf(path))
+                            .collect(Collectors.toList()))
+                    .stream().map(UploadSession::getUploadId).collect(Collectors.toSet());
+            for (Path part : parts) {
+                if (!known.contains(uploadIdOf(part)) && Files.getLastModifiedTime(part).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(part);
+                    strays++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not scan upload staging directory {}: {}", stagingDir, e.getMessage());
+        }
+        if (!expired.isEmpty() || strays > 0) {
+            logger.info("Purged {} expired upload sessions and {} stray staging files", expired.size(), strays);
+        }
+        return expired.size();
+    }
+
+    /**
+     * A chunk that would run past the declared total size is rejected as a whole and leaves the offset where
+     * it was, so the client can retry it with the right length. With a Content-Length this is checked before
+     * anything is written; a chunk of unknown length is rolled back when the excess byte arrives.
+     */
+    private long writeChunk(UploadSession session, long offset, long contentLength, InputStream content) throws IOException {
+        Path part = stagingFile(session.getUploadId());
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long current = channel.size();
+            if (offset != current) {
+                throw new UploadOffsetConflictException("Chunk offset " + offset + " does not match upload offset " + current + ".", current);
+            }
+            long remaining = session.getTotalSize() - current;
+            if (contentLength > remaining) {
+                throw new IllegalArgumentException(oversizedChunkMessage(session));
+            }
+            channel.position(current);
+            byte[] buffer = new byte[bufferSize];
+            try {
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    if (read > remaining) {
+                        channel.truncate(current);
+                        throw new IllegalArgumentException(oversizedChunkMessage(session));
+                    }
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        channel.write(chunk);
+                    }
+                    remaining -= read;
+                }
+            } finally {
+                // Whatever arrived before a dropped connection is kept; the client resumes from channel.size()
+                channel.force(false);
+            }
+            return channel.size();
+        }
+    }
+
+    private static String oversizedChunkMessage(UploadSession session) {
+        return "Chunk exceeds the declared upload size of " + session.getTotalSize() + " bytes.";
+    }
+
+    private ModuleResponseDTO complete(UploadSession session) throws IOException {
+        Path part = stagingFile(session.getUploadId());
+        StoredBlob blob = blobStore.putFile(part);
+        if (session.getExpectedSha256() != null && !session.getExpectedSha256().equals(blob.getSha256())) {
+            uploadSessionRepository.delete(session);
+            sessionLocks.remove(session.getUploadId());
+            logger.warn("Upload session {} failed checksum verification: expected {}, got {}",
+                    session.getUploadId(), session.getExpectedSha256(), blob.getSha256());
+            throw new IllegalArgumentException("Uploaded content does not match the expected SHA-256 checksum.");
+        }
+        ModuleResponseDTO module = session.getTarget() == UploadTarget.PDF
+                ? moduleService.attachPdf(session.getModuleId(), blob, session.getFilename(), session.getContentType())
+                : moduleService.attachVideo(session.getModuleId(), blob, session.getFilename(), session.getContentType());
+        uploadSessionRepository.delete(session);
+        sessionLocks.remove(session.getUploadId());
+        logger.info("Upload session {} completed: module {} {} is blob {} ({} bytes)", session.getUploadId(),
+                session.getModuleId(), session.getTarget(), blob.getKey(), blob.getSize());
+        return module;
+    }
+
+    private void discard(UploadSession session) {
+        try {
+            Files.deleteIfExists(stagingFile(session.getUploadId()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        uploadSessionRepository.delete(session);
+        sessionLocks.remove(session.getUploadId());
+    }
+
+    private UploadSession loadSession(Long courseId, Long moduleId, String uploadId, UserPrincipal currentUser) {
+        UploadSession session = uploadSessionRepository.findById(uploadId)
+                .filter(s -> Objects.equals(s.getCourseId(), courseId) && Objects.equals(s.getModuleId(), moduleId))
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session", "id", uploadId));
+        if (session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            discard(session);
+            throw new ResourceNotFoundException("Upload session", "id", uploadId);
+        }
+        boolean isAdmin = currentUser != null && currentUser.getAuthorities().stream()
+                .anyMatch(auth -> "ROLE_ADMIN".equals(auth.getAuthority()));
+        if (session.getUserId() != null && !isAdmin
+                && (currentUser == null || !session.getUserId().equals(currentUser.getId()))) {
+            throw new AccessDeniedException("Upload session belongs to another user.");
+        }
+        return session;
+    }
+
+    private long currentOffset(String uploadId) {
+        try {
+            Path part = stagingFile(uploadId);
+            return Files.exists(part) ? Files.size(part) : 0L;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path stagingFile(String uploadId) {
+        // uploadId is always a server-generated UUID; reject anything else before it reaches the file system
+        UUID.fromString(uploadId);
+        return stagingDir.resolve(uploadId + PART_SUFFIX);
+    }
+
+    private static String uploadIdOf(Path part) {
+        String name = part.getFileName().toString();
+        return name.substring(0, name.length() - PART_SUFFIX.length());
+    }
+
+    private UploadSessionDTO toDTO(UploadSession session, long offset, ModuleResponseDTO module) {
+        UploadSessionDTO dto = new UploadSessionDTO();
+        dto.setUploadId(session.getUploadId());
+        dto.setCourseId(session.getCourseId());
+        dto.setModuleId(session.getModuleId());
+        dto.setTarget(session.getTarget());
+        dto.setFilename(session.getFilename());
+        dto.setTotalSize(session.getTotalSize());
+        dto.setOffset(offset);
+        dto.setExpiresAt(session.getExpiresAt());
+        dto.setCompleted(module != null);
+        dto.setModule(module);
+        return dto;
+    }
+}
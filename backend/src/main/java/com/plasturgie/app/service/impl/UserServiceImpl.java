@@ -2,23 +2,29 @@ package com.plasturgie.app.service.impl;
 
 import com.plasturgie.app.dto.UserListDTO;
 import com.plasturgie.app.dto.UserDTO;
+import com.plasturgie.app.event.SearchableEntityChangedEvent;
+import com.plasturgie.app.event.UserTokensRevokedEvent;
 // import com.plasturgie.app.dto.ChangePasswordRequestDTO; // Not directly used in changePassword method signature now
 import com.plasturgie.app.exception.ResourceNotFoundException;
 import com.plasturgie.app.exception.UserAlreadyExistsException;
 import com.plasturgie.app.model.User;
 import com.plasturgie.app.model.enums.Role;
+import com.plasturgie.app.model.enums.SearchDocumentType;
+import com.plasturgie.app.repository.InstructorRepository;
 import com.plasturgie.app.repository.UserRepository;
 import com.plasturgie.app.service.UserService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -29,9 +35,15 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private InstructorRepository instructorRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // --- Methods from your existing UserServiceImpl (ensure they match the interface) ---
     @Override
     @Transactional(readOnly = true)
@@ -105,6 +117,9 @@ public class UserServiceImpl implements UserService {
     public User updateUser(Long id, UserDTO userDTO) {
         User user = findById(id);
         logger.info("Updating user: {}", user.getUsername());
+        String previousUsername = user.getUsername();
+        String previousFirstName = user.getFirstName();
+        String previousLastName = user.getLastName();
 
         if (StringUtils.hasText(userDTO.getUsername()) && !user.getUsername().equals(userDTO.getUsername())) {
             if (userRepository.existsByUsername(userDTO.getUsername())) {
@@ -127,6 +142,14 @@ public class UserServiceImpl implements UserService {
 
         User updatedUser = userRepository.save(user);
         logger.info("User {} updated successfully.", updatedUser.getUsername());
+        boolean renamed = !Objects.equals(previousUsername, updatedUser.getUsername())
+                || !Objects.equals(previousFirstName, updatedUser.getFirstName())
+                || !Objects.equals(previousLastName, updatedUser.getLastName());
+        if (renamed) {
+            // Instructor names are shown in the catalog, search and typeahead; refresh them after commit
+            instructorRepository.findInstructorIdByUserId(id).ifPresent(instructorId -> eventPublisher.publishEvent(
+                    new SearchableEntityChangedEvent(SearchDocumentType.INSTRUCTOR, instructorId)));
+        }
         return updatedUser;
     }
     @Override
@@ -147,7 +170,12 @@ public class UserServiceImpl implements UserService {
         // user.setRole(roleEnum);
 
         // If newRole is already the correct type (e.g., Role enum directly from DTO)
+        boolean roleChanged = user.getRole() != newRole;
         user.setRole(newRole);
+        if (roleChanged) {
+            // Tokens carry the role, so the ones issued with the old role must stop working
+            revokeTokens(user);
+        }
 
         userRepository.save(user);
         logger.info("Role updated successfully for user: {} to {}", user.getUsername(), newRole);
@@ -162,6 +190,7 @@ public class UserServiceImpl implements UserService {
         }
         logger.info("Deleting user with ID: {}", id);
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserTokensRevokedEvent(id));
     }
     
     @Override
@@ -204,8 +233,15 @@ public class UserServiceImpl implements UserService {
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         user.setJwtToken(null); 
         user.setTokenExpiry(null); 
+        revokeTokens(user);
         
         userRepository.save(user);
         logger.info("Password changed successfully for user: {}", user.getUsername());
     }
-}
\ No newline at end of file
+
+    private void revokeTokens(User user) {
+        int version = user.getTokenVersion() != null ? user.getTokenVersion() : 0;
+        user.setTokenVersion(version + 1);
+        eventPublisher.publishEvent(new UserTokensRevokedEvent(user.getUserId()));
+    }
+}
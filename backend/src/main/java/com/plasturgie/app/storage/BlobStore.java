@@ -0,0 +1,59 @@
+package com.plasturgie.app.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for large binaries (module PDFs and videos, course and user images).
+ * Keys are the lowercase hex SHA-256 of the content, so identical uploads are stored once and
+ * a key never changes meaning. Rows in the database only keep the key, the size and the content type.
+ */
+public interface BlobStore {
+
+    /**
+     * Streams {@code content} into the store, hashing it on the way. The stream is consumed and closed.
+     */
+    StoredBlob put(InputStream content) throws IOException;
+
+    /**
+     * Stores the content of a local file, taking ownership of it: the file no longer exists afterwards.
+     * Implementations on the same file system can move it into place instead of copying.
+     */
+    default StoredBlob putFile(Path file) throws IOException {
+        StoredBlob blob = put(Files.newInputStream(file));
+        Files.deleteIfExists(file);
+        return blob;
+    }
+
+    InputStream open(String key) throws IOException;
+
+    boolean exists(String key);
+
+    long size(String key) throws IOException;
+
+    /**
+     * Copies {@code length} bytes starting at {@code offset} to {@code target}, using zero-copy
+     * transfer where the implementation supports it.
+     */
+    void transferTo(String key, long offset, long length, WritableByteChannel target) throws IOException;
+
+    /**
+     * Local file holding the blob, when the store is backed by the local file system.
+     * Lets the servlet container serve it with sendfile.
+     */
+    Optional<Path> localPath(String key);
+
+    void delete(String key) throws IOException;
+
+    /**
+     * Keys of blobs written before {@code cutoff}; used to sweep blobs no row references any more
+     * without racing uploads whose row is not committed yet.
+     */
+    List<String> keysStoredBefore(Instant cutoff) throws IOException;
+}
@@ -0,0 +1,210 @@
+package com.plasturgie.app.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link BlobStore} on the local file system. Blobs are written to a temporary file while being
+ * hashed, then atomically moved to {@code <root>/ab/cd/abcd...}; readers therefore never observe
+ * a partially written blob.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+public class FileSystemBlobStore implements BlobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSystemBlobStore.class);
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path tmpDir;
+    private final int bufferSize;
+
+    public FileSystemBlobStore(@Value("${app.storage.local.root:./data/blobs}") String root,
+                               @Value("${app.storage.upload-buffer-size:65536}") int bufferSize) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.tmpDir = this.root.resolve("tmp");
+        this.bufferSize = bufferSize;
+        Files.createDirectories(tmpDir);
+        logger.info("Blob store rooted at {}", this.root);
+    }
+
+    /**
+     * Copies through a single buffer of {@code app.storage.upload-buffer-size} bytes, so memory per upload
+     * stays constant whatever the content size; the SHA-256 is computed on the same pass.
+     */
+    @Override
+    public StoredBlob put(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        try {
+            long size = 0;
+            try (InputStream in = new DigestInputStream(content, digest);
+                 OutputStream out = Files.newOutputStream(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                byte[] buffer = new byte[bufferSize];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    size += read;
+                }
+            }
+            String key = HexFormat.of().formatHex(digest.digest());
+            Path target = pathFor(key);
+            if (Files.exists(target)) {
+                // Refresh the timestamp so an orphan sweep does not reclaim content that was just referenced again.
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Same content stored concurrently; the existing file is identical.
+                    logger.debug("Blob {} already stored concurrently", key);
+                }
+            }
+            return new StoredBlob(key, size, key);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Hashes the file in place and renames it into the store, so assembling a multi-GB upload does not
+     * copy it a second time. Falls back to a copy when the file is on another file system.
+     */
+    @Override
+    public StoredBlob putFile(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        long size = 0;
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            byte[] buffer = new byte[bufferSize];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                size += read;
+            }
+        }
+        String key = HexFormat.of().formatHex(digest.digest());
+        Path target = pathFor(key);
+        if (Files.exists(target)) {
+            Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            Files.delete(file);
+        } else {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                StoredBlob copied = put(Files.newInputStream(file));
+                Files.delete(file);
+                return copied;
+            } catch (FileAlreadyExistsException e) {
+                logger.debug("Blob {} already stored concurrently", key);
+                Files.deleteIfExists(file);
+            }
+        }
+        return new StoredBlob(key, size, key);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(pathFor(key));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(pathFor(key));
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        return Files.size(pathFor(key));
+    }
+
+    @Override
+    public void transferTo(String key, long offset, long length, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(pathFor(key), StandardOpenOption.READ)) {
+            long position = offset;
+            long remaining = Math.min(length, channel.size() - offset);
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        Path path = pathFor(key);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(pathFor(key));
+    }
+
+    @Override
+    public List<String> keysStoredBefore(Instant cutoff) throws IOException {
+        try (Stream<Path> files = Files.walk(root, 3)) {
+            return files.filter(path -> !path.startsWith(tmpDir))
+                    .filter(Files::isRegularFile)
+                    .filter(path -> KEY_PATTERN.matcher(path.getFileName().toString()).matches())
+                    .filter(path -> modifiedBefore(path, cutoff))
+                    .map(path -> path.getFileName().toString())
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path pathFor(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private static boolean modifiedBefore(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
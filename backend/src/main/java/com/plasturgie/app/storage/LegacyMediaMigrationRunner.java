@@ -0,0 +1,40 @@
+package com.plasturgie.app.storage;
+
+import com.plasturgie.app.repository.MediaRepository;
+import com.plasturgie.app.service.MediaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prepares the legacy LOB columns for rows written through the {@link BlobStore} and, when
+ * {@code app.storage.migrate-legacy-on-startup=true}, moves the remaining LOB content out of the database.
+ * The same migration can be triggered at any time from {@code POST /api/admin/media/migrate}.
+ */
+@Component
+public class LegacyMediaMigrationRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LegacyMediaMigrationRunner.class);
+
+    private final MediaRepository mediaRepository;
+    private final MediaService mediaService;
+    private final boolean migrateOnStartup;
+
+    public LegacyMediaMigrationRunner(MediaRepository mediaRepository, MediaService mediaService,
+                                      @Value("${app.storage.migrate-legacy-on-startup:false}") boolean migrateOnStartup) {
+        this.mediaRepository = mediaRepository;
+        this.mediaService = mediaService;
+        this.migrateOnStartup = migrateOnStartup;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        mediaRepository.relaxLegacyConstraints();
+        if (migrateOnStartup) {
+            logger.info("Migrating legacy media LOBs to the blob store: {}", mediaService.migrateLegacyLobs());
+        }
+    }
+}
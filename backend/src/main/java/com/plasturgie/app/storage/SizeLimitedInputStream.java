@@ -0,0 +1,59 @@
+package com.plasturgie.app.storage;
+
+import com.plasturgie.app.exception.UploadTooLargeException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Fails the copy as soon as more than {@code maxBytes} have been read, for request bodies whose
+ * Content-Length is absent or cannot be trusted. The blob store deletes its temporary file on the failure.
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private long count;
+
+    public SizeLimitedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            counted(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read > 0) {
+            counted(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        counted(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void counted(long bytes) {
+        count += bytes;
+        if (count > maxBytes) {
+            throw new UploadTooLargeException(maxBytes);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.plasturgie.app.storage;
+
+/**
+ * Result of writing content to a {@link BlobStore}.
+ */
+public class StoredBlob {
+
+    private final String key;
+    private final long size;
+    private final String sha256;
+
+    public StoredBlob(String key, long size, String sha256) {
+        this.key = key;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+}